@@ -16,10 +16,12 @@ import android.content.Context;
 import android.text.TextUtils;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.kaltura.netkit.connect.executor.APIOkRequestsExecutor;
 import com.kaltura.netkit.connect.executor.RequestQueue;
 import com.kaltura.netkit.connect.request.RequestBuilder;
 import com.kaltura.netkit.connect.response.ResponseElement;
+import com.kaltura.netkit.utils.ErrorElement;
 import com.kaltura.playkit.BuildConfig;
 import com.kaltura.playkit.MessageBus;
 import com.kaltura.playkit.PKError;
@@ -31,13 +33,12 @@ import com.kaltura.playkit.PKPlugin;
 import com.kaltura.playkit.Player;
 import com.kaltura.playkit.PlayerEvent;
 import com.kaltura.playkit.plugins.ads.AdEvent;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
 import com.kaltura.playkit.providers.api.phoenix.APIDefines;
+import com.kaltura.playkit.providers.api.phoenix.PhoenixParser;
 import com.kaltura.playkit.providers.api.phoenix.services.BookmarkService;
 import com.kaltura.playkit.utils.Consts;
 
-import org.json.JSONException;
-import org.json.JSONObject;
-
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -419,8 +420,9 @@ public class PhoenixAnalyticsPlugin extends PKPlugin {
             if (response.getError() != null) { // in case of error from server side
                 sendGenericErrorEvent(response, eventType);
             } else {
-                if (response.isSuccess() && response.getError() == null && response.getResponse() != null && response.getResponse().contains("KalturaAPIException")) {
-                    sendAPIExceptionErrorEvent(response, eventType);
+                ErrorElement apiExceptionError = response.isSuccess() ? getAPIExceptionError(response) : null;
+                if (apiExceptionError != null) {
+                    sendAPIExceptionErrorEvent(apiExceptionError, eventType);
                     messageBus.post(new PhoenixAnalyticsEvent.PhoenixAnalyticsReport(eventType.toString() + " Failed"));
                 } else {
                     messageBus.post(new PhoenixAnalyticsEvent.PhoenixAnalyticsReport(eventType.toString()));
@@ -479,28 +481,29 @@ public class PhoenixAnalyticsPlugin extends PKPlugin {
         }
     }
 
-    private void sendAPIExceptionErrorEvent(ResponseElement response, PhoenixActionType eventType) {
+    // the error of a KalturaAPIException result, null if the response is not one
+    private ErrorElement getAPIExceptionError(ResponseElement response) {
+        if (response.getResponse() == null) {
+            return null;
+        }
         try {
-            JSONObject apiException = new JSONObject(response.getResponse());
-            if (apiException != null) {
-                if (apiException.has("result")) {
-                    JSONObject result = (JSONObject) apiException.get("result");
-                    if (result != null && result.has("error")) {
-                        JSONObject error = (JSONObject) result.get("error");
-                        if (error != null) {
-                            String errorCode = error.getString("code");
-                            String errorMessage = error.getString("message");
-
-                            if (TextUtils.equals(errorCode, CONCURRENCY_ERROR_CODE) || TextUtils.equals(errorCode, CONCURRENCY_ERROR_STRING) ) {
-                                sendConcurrencyErrorEvent(errorMessage);
-                            } else {
-                                messageBus.post(new PhoenixAnalyticsEvent.BookmarkErrorEvent(Integer.parseInt(errorCode), errorMessage));
-                            }
-                        }
-                    }
-                }
+            return KalturaAPIException.findError(PhoenixParser.parse(response.getResponse()));
+        } catch (JsonParseException ex) {
+            log.e("failed parsing bookmark response: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void sendAPIExceptionErrorEvent(ErrorElement error, PhoenixActionType eventType) {
+        String errorCode = error.getCode();
+        String errorMessage = error.getMessage();
+        try {
+            if (TextUtils.equals(errorCode, CONCURRENCY_ERROR_CODE) || TextUtils.equals(errorCode, CONCURRENCY_ERROR_STRING) ) {
+                sendConcurrencyErrorEvent(errorMessage);
+            } else {
+                messageBus.post(new PhoenixAnalyticsEvent.BookmarkErrorEvent(Integer.parseInt(errorCode), errorMessage));
             }
-        } catch (JSONException | NumberFormatException ex ) {
+        } catch (NumberFormatException ex ) {
             return;
         }
     }
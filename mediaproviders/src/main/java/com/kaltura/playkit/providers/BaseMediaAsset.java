@@ -30,6 +30,10 @@ public class BaseMediaAsset {
         return this;
     }
 
+    public boolean hasKs() {
+        return ks != null && ks.length() > 0;
+    }
+
     public String getReferrer() {
         return referrer;
     }
@@ -2,9 +2,14 @@ package com.kaltura.playkit.providers;
 
 import com.kaltura.netkit.utils.ErrorElement;
 import com.kaltura.playkit.PKDrmParams;
+import com.kaltura.playkit.PKMediaEntry;
 import com.kaltura.playkit.PKMediaSource;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.PKSubtitleFormat;
+import com.kaltura.playkit.player.PKExternalSubtitle;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -58,6 +63,90 @@ public class MediaProvidersUtils {
         }
     }
 
+    /**
+     * Creates a deep copy of an entry, covering the fields the providers set: the entry details, its
+     * sources with their DRM data, and its external subtitles.
+     *
+     * @param mediaEntry - entry to copy.
+     * @return - new entry, shares no mutable object with the copied one.
+     */
+    public static PKMediaEntry copyMediaEntry(PKMediaEntry mediaEntry) {
+        PKMediaEntry copy = new PKMediaEntry();
+        copy.setId(mediaEntry.getId());
+        copy.setName(mediaEntry.getName());
+        copy.setDuration(mediaEntry.getDuration());
+        copy.setMediaType(mediaEntry.getMediaType());
+        copy.setIsVRMediaType(mediaEntry.isVRMediaType());
+        if (mediaEntry.getMetadata() != null) {
+            copy.setMetadata(new HashMap<>(mediaEntry.getMetadata()));
+        }
+
+        if (mediaEntry.getSources() != null) {
+            List<PKMediaSource> sources = new ArrayList<>(mediaEntry.getSources().size());
+            for (PKMediaSource source : mediaEntry.getSources()) {
+                sources.add(source != null ? copyMediaSource(source) : null);
+            }
+            copy.setSources(sources);
+        }
+
+        if (mediaEntry.getExternalSubtitleList() != null) {
+            List<PKExternalSubtitle> subtitles = new ArrayList<>(mediaEntry.getExternalSubtitleList().size());
+            for (PKExternalSubtitle subtitle : mediaEntry.getExternalSubtitleList()) {
+                subtitles.add(subtitle != null ? copyExternalSubtitle(subtitle) : null);
+            }
+            copy.setExternalSubtitleList(subtitles);
+        }
+        return copy;
+    }
+
+    public static PKPlaylistMedia copyPlaylistMedia(PKPlaylistMedia playlistMedia) {
+        return new PKPlaylistMedia().
+                setId(playlistMedia.getId()).
+                setName(playlistMedia.getName()).
+                setDescription(playlistMedia.getDescription()).
+                setType(playlistMedia.getType()).
+                setDataUrl(playlistMedia.getDataUrl()).
+                setMsDuration(playlistMedia.getMsDuration()).
+                setThumbnailUrl(playlistMedia.getThumbnailUrl()).
+                setFlavorParamsIds(playlistMedia.getFlavorParamsIds()).
+                setMetadata(playlistMedia.getMetadata() != null ? new HashMap<>(playlistMedia.getMetadata()) : null).
+                setTags(playlistMedia.getTags());
+    }
+
+    public static PKMediaSource copyMediaSource(PKMediaSource source) {
+        PKMediaSource copy = new PKMediaSource()
+                .setId(source.getId())
+                .setUrl(source.getUrl())
+                .setMediaFormat(source.getMediaFormat());
+
+        if (source.getDrmData() != null) {
+            List<PKDrmParams> drmParams = new ArrayList<>(source.getDrmData().size());
+            for (PKDrmParams drm : source.getDrmData()) {
+                drmParams.add(drm != null ? new PKDrmParams(drm.getLicenseUri(), drm.getScheme()) : null);
+            }
+            copy.setDrmData(drmParams);
+        }
+        return copy;
+    }
+
+    private static PKExternalSubtitle copyExternalSubtitle(PKExternalSubtitle subtitle) {
+        PKExternalSubtitle copy = new PKExternalSubtitle()
+                .setUrl(subtitle.getUrl())
+                .setLabel(subtitle.getLabel())
+                .setLanguage(subtitle.getLanguage());
+
+        for (PKSubtitleFormat subtitleFormat : PKSubtitleFormat.values()) {
+            if (subtitleFormat.mimeType.equals(subtitle.getMimeType())) {
+                copy.setMimeType(subtitleFormat);
+                break;
+            }
+        }
+        if (subtitle.isDefault()) {
+            copy.setDefault();
+        }
+        return copy;
+    }
+
     public static ErrorElement buildGeneralErrorElement(String message) {
         return new ErrorElement(ErrorElement.GeneralError.getName(), message, ErrorElement.ErrorCode.GeneralErrorCode);
     }
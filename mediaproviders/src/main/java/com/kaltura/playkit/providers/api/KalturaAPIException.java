@@ -1,10 +1,10 @@
 /*
  * ============================================================================
  * Copyright (C) 2017 Kaltura Inc.
- * 
+ *
  * Licensed under the AGPLv3 license, unless a different license for a
  * particular library is specified in the applicable library path.
- * 
+ *
  * You may obtain a copy of the License at
  * https://www.gnu.org/licenses/agpl-3.0.html
  * ============================================================================
@@ -12,11 +12,52 @@
 
 package com.kaltura.playkit.providers.api;
 
+import androidx.annotation.Nullable;
+
 import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.utils.ErrorElement;
+
+import java.util.List;
 
 /**
+ * Result of a request the BE failed with a "KalturaAPIException" error object. Created by the providers
+ * parsers when they meet the error object, the exception details are available from {@link BaseResult#error}.
+ *
  * @hide
  */
 
 public class KalturaAPIException extends BaseResult {
+
+    public static final String ObjectType = "KalturaAPIException";
+
+    public KalturaAPIException() {
+    }
+
+    /**
+     * @param error - the parsed error object.
+     * @param name - name of the created error element (e.g "OTTError").
+     */
+    public KalturaAPIException(ErrorElement error, String name) {
+        super(new ErrorElement(error.getMessage(), error.getCode(), ObjectType).setName(name));
+    }
+
+    /**
+     * @param parsedResponse - a parsed response, a single result or a list of results.
+     * @return - the error of the first {@link KalturaAPIException} result, or null if there is none.
+     */
+    @Nullable
+    public static ErrorElement findError(Object parsedResponse) {
+        if (parsedResponse instanceof KalturaAPIException) {
+            return ((KalturaAPIException) parsedResponse).error;
+        }
+
+        if (parsedResponse instanceof List) {
+            for (Object result : (List) parsedResponse) {
+                if (result instanceof KalturaAPIException) {
+                    return ((KalturaAPIException) result).error;
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.base.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.kaltura.playkit.providers.api.base.model.BasePlaybackContext.KalturaAccessControlMessage;
+import com.kaltura.playkit.providers.api.base.model.BasePlaybackContext.KalturaRuleAction;
+
+import java.io.IOException;
+
+/**
+ * Readers of the fields of the playback models shared by the OVP and Phoenix providers, used by the
+ * {@link ModelTypeAdapter}s of the extending models.
+ *
+ * @hide
+ */
+public class BaseModelAdapters {
+
+    /**
+     * Rule actions bound to the base {@link KalturaRuleAction} only.
+     */
+    public static final TypeAdapter<KalturaRuleAction> RuleAction = new Gson().getAdapter(KalturaRuleAction.class);
+
+    /**
+     * Rule actions bound to their subtypes, see {@link RuleActionAdapterFactory}.
+     */
+    public static final TypeAdapter<KalturaRuleAction> RuleActionSubtypes = new GsonBuilder()
+            .registerTypeAdapterFactory(new RuleActionAdapterFactory()).create().getAdapter(KalturaRuleAction.class);
+
+    // the nested models are bound by Gson
+    private static final TypeAdapter<KalturaDrmPlaybackPluginData> drmPlaybackPluginDataAdapter = new Gson().getAdapter(KalturaDrmPlaybackPluginData.class);
+    private static final TypeAdapter<KalturaAccessControlMessage> accessControlMessageAdapter = new Gson().getAdapter(KalturaAccessControlMessage.class);
+
+    private BaseModelAdapters() {
+    }
+
+    /**
+     * Reads the {@link BasePlaybackSource} fields.
+     *
+     * @return - false if the field is not one of them.
+     */
+    public static boolean readPlaybackSourceField(JsonReader in, String name, BasePlaybackSource target) throws IOException {
+        switch (name) {
+            case "format":
+                target.format = ModelTypeAdapter.readString(in);
+                return true;
+            case "url":
+                target.url = ModelTypeAdapter.readString(in);
+                return true;
+            case "protocols":
+                target.protocols = ModelTypeAdapter.readString(in);
+                return true;
+            case "drm":
+                target.drm = ModelTypeAdapter.readList(in, drmPlaybackPluginDataAdapter);
+                return true;
+            default:
+                return ModelTypeAdapter.readResultField(in, name, target);
+        }
+    }
+
+    /**
+     * Reads the {@link BasePlaybackContext} fields.
+     *
+     * @param ruleActionAdapter - adapter of the "actions" items.
+     * @return - false if the field is not one of them.
+     */
+    public static boolean readPlaybackContextField(JsonReader in, String name, BasePlaybackContext target, TypeAdapter<KalturaRuleAction> ruleActionAdapter) throws IOException {
+        switch (name) {
+            case "actions":
+                target.actions = ModelTypeAdapter.readList(in, ruleActionAdapter);
+                return true;
+            case "messages":
+                target.messages = ModelTypeAdapter.readList(in, accessControlMessageAdapter);
+                return true;
+            default:
+                return ModelTypeAdapter.readResultField(in, name, target);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.base.model;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.utils.ErrorElement;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming, reflection free adapter of a provider model class. Each field is read with an explicit
+ * assignment instead of Gson's reflective binding, so parsing doesn't pay class introspection on the
+ * first response nor field reflection on every object. Fields the adapter doesn't know are skipped.
+ * The read values follow Gson's default binding rules (null keeps the field default, numbers may be
+ * quoted, booleans may be strings).
+ *
+ * Writing is not on the parsing path and is left to Gson's reflective binding. A field redeclared by
+ * a subclass (e.g KalturaRecordingAsset "enableTrickPlay"), which the reflective binding rejects, is
+ * written once, with the value of the superclass field the adapters keep in sync with it.
+ *
+ * @hide
+ */
+public abstract class ModelTypeAdapter<T> extends TypeAdapter<T> {
+
+    private static final Gson plainGson = new Gson();
+    private static final TypeAdapter<JsonElement> elementAdapter = plainGson.getAdapter(JsonElement.class);
+    private static final TypeAdapter<ErrorElement> errorAdapter = plainGson.getAdapter(ErrorElement.class);
+    private static final Gson writerGson = new GsonBuilder().setExclusionStrategies(new ExclusionStrategy() {
+        @Override
+        public boolean shouldSkipField(FieldAttributes field) {
+            return isRedeclared(field.getDeclaringClass(), field.getName());
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> clazz) {
+            return false;
+        }
+    }).create();
+
+    private final Class<T> type;
+
+    protected ModelTypeAdapter(Class<T> type) {
+        this.type = type;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return - a new, empty instance of the model class.
+     */
+    public abstract T newInstance();
+
+    /**
+     * @param name - the field name, the reader is positioned on its value.
+     * @return - false if the field is unknown, its value is skipped.
+     */
+    protected abstract boolean readField(JsonReader in, String name, T target) throws IOException;
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        T target = newInstance();
+        in.beginObject();
+        readFields(in, target);
+        in.endObject();
+        return target;
+    }
+
+    /**
+     * Binds the rest of the current object, for a streaming parser that already consumed its leading
+     * "objectType" field. The object end is not consumed.
+     */
+    public T readRemaining(JsonReader in, String objectType) throws IOException {
+        T target = newInstance();
+        setObjectType(target, objectType);
+        readFields(in, target);
+        return target;
+    }
+
+    // models that keep their objectType override this
+    protected void setObjectType(T target, String objectType) {
+    }
+
+    private void readFields(JsonReader in, T target) throws IOException {
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!readField(in, name, target)) {
+                in.skipValue();
+            }
+        }
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        writerGson.getAdapter(type).write(out, value);
+    }
+
+    // true if a superclass of the declaring class has an instance field of the same name
+    private static boolean isRedeclared(Class<?> declaringClass, String name) {
+        for (Class<?> superclass = declaringClass.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+            try {
+                if (!Modifier.isStatic(superclass.getDeclaredField(name).getModifiers())) {
+                    return true;
+                }
+            } catch (NoSuchFieldException ignored) {
+                // not declared by this class
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return - a factory of the adapters, to register on the Gson instances that bind the model classes.
+     */
+    public static TypeAdapterFactory factoryOf(ModelTypeAdapter<?>... adapters) {
+        final Map<Class, ModelTypeAdapter<?>> adaptersByType = new HashMap<>();
+        for (ModelTypeAdapter<?> adapter : adapters) {
+            adaptersByType.put(adapter.getType(), adapter);
+        }
+
+        return new TypeAdapterFactory() {
+            @Override
+            public <A> TypeAdapter<A> create(Gson gson, TypeToken<A> typeToken) {
+                return (TypeAdapter<A>) adaptersByType.get(typeToken.getRawType());
+            }
+        };
+    }
+
+    // reads the BaseResult fields, common to the result models
+    protected static boolean readResultField(JsonReader in, String name, BaseResult target) throws IOException {
+        if ("error".equals(name)) {
+            target.error = errorAdapter.read(in);
+            return true;
+        }
+        return false;
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+
+    protected static int readInt(JsonReader in, int current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    protected static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return readInt(in, 0);
+    }
+
+    protected static long readLong(JsonReader in, long current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    protected static boolean readBoolean(JsonReader in, boolean current) throws IOException {
+        Boolean value = readBooleanObject(in);
+        return value != null ? value : current;
+    }
+
+    protected static Boolean readBooleanObject(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case STRING:
+                return Boolean.parseBoolean(in.nextString());
+            default:
+                return in.nextBoolean();
+        }
+    }
+
+    protected static JsonObject readJsonObject(JsonReader in) throws IOException {
+        JsonElement element = elementAdapter.read(in);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (!element.isJsonObject()) {
+            throw new JsonSyntaxException("Expected a JsonObject but was " + element.getClass().getSimpleName());
+        }
+        return element.getAsJsonObject();
+    }
+
+    protected static <E> ArrayList<E> readList(JsonReader in, TypeAdapter<E> itemAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        ArrayList<E> items = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            items.add(itemAdapter.read(in));
+        }
+        in.endArray();
+        return items;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.base.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import com.kaltura.playkit.providers.api.base.model.BasePlaybackContext.KalturaAccessControlDrmPolicyAction;
+import com.kaltura.playkit.providers.api.base.model.BasePlaybackContext.KalturaAccessControlLimitDeliveryProfilesAction;
+import com.kaltura.playkit.providers.api.base.model.BasePlaybackContext.KalturaRuleAction;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binds the {@link KalturaRuleAction} items of a playback context to their subtype, by the item
+ * "objectType". Unlike RuntimeTypeAdapterFactory, actions of unregistered types don't fail the parsing,
+ * they are bound to the base {@link KalturaRuleAction}, and the objectType is kept on the parsed item.
+ *
+ * @hide
+ */
+public class RuleActionAdapterFactory implements TypeAdapterFactory {
+
+    private static final Map<String, Class<? extends KalturaRuleAction>> subtypes = new HashMap<>();
+
+    static {
+        subtypes.put("KalturaAccessControlDrmPolicyAction", KalturaAccessControlDrmPolicyAction.class);
+        subtypes.put("KalturaAccessControlLimitDeliveryProfilesAction", KalturaAccessControlLimitDeliveryProfilesAction.class);
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != KalturaRuleAction.class) {
+            return null;
+        }
+
+        final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+        final TypeAdapter<KalturaRuleAction> baseAdapter = gson.getDelegateAdapter(this, TypeToken.get(KalturaRuleAction.class));
+        final Map<String, TypeAdapter<? extends KalturaRuleAction>> subtypeAdapters = new HashMap<>();
+        final Map<Class, TypeAdapter> adaptersByClass = new HashMap<>();
+        for (Map.Entry<String, Class<? extends KalturaRuleAction>> subtype : subtypes.entrySet()) {
+            TypeAdapter<? extends KalturaRuleAction> adapter = gson.getAdapter(subtype.getValue());
+            subtypeAdapters.put(subtype.getKey(), adapter);
+            adaptersByClass.put(subtype.getValue(), adapter);
+        }
+
+        return (TypeAdapter<T>) new TypeAdapter<KalturaRuleAction>() {
+            @Override
+            public void write(JsonWriter out, KalturaRuleAction value) throws IOException {
+                TypeAdapter adapter = adaptersByClass.get(value.getClass());
+                (adapter != null ? adapter : baseAdapter).write(out, value);
+            }
+
+            @Override
+            public KalturaRuleAction read(JsonReader in) throws IOException {
+                JsonElement element = elementAdapter.read(in);
+                if (element == null || !element.isJsonObject()) {
+                    return baseAdapter.fromJsonTree(element);
+                }
+
+                JsonObject action = element.getAsJsonObject();
+                TypeAdapter<? extends KalturaRuleAction> adapter = null;
+                if (action.has("objectType") && action.get("objectType").isJsonPrimitive()) {
+                    adapter = subtypeAdapters.get(action.get("objectType").getAsString());
+                }
+                return (adapter != null ? adapter : baseAdapter).fromJsonTree(action);
+            }
+        }.nullSafe();
+    }
+}
@@ -22,7 +22,8 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.kaltura.netkit.connect.response.BaseResult;
 import com.kaltura.netkit.utils.GsonParser;
-import com.kaltura.netkit.utils.RuntimeTypeAdapterFactory;
+import com.kaltura.playkit.providers.api.base.model.RuleActionAdapterFactory;
+import com.kaltura.playkit.providers.api.ovp.model.OvpModelAdapters;
 import com.kaltura.playkit.providers.api.ovp.model.OvpResultAdapter;
 
 
@@ -32,10 +33,17 @@ import com.kaltura.playkit.providers.api.ovp.model.OvpResultAdapter;
 
 public class KalturaOvpParser {
 
+    // built once and shared, Gson instances are immutable and thread safe and cache their type adapters
+    private static final Gson gson = new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OvpResultAdapter()).create();
+    private static final Gson runtimeGson = new GsonBuilder()
+            .registerTypeAdapterFactory(OvpModelAdapters.factory())
+            .registerTypeAdapterFactory(new RuleActionAdapterFactory())
+            .create();
+
     public static Object parse(String response, Class... types) throws JsonSyntaxException {
         JsonParser parser = new JsonParser();
         JsonElement resultElement = parser.parse(response);
-        return GsonParser.parse(resultElement, new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OvpResultAdapter()).create(), types);
+        return GsonParser.parse(resultElement, gson, types);
     }
 
     public static <T> T parse(JsonReader reader) throws JsonSyntaxException {
@@ -62,29 +70,16 @@ public class KalturaOvpParser {
 
     @NonNull
     public static Gson getGson() {
-        return new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OvpResultAdapter()).create();
+        return gson;
     }
 
+    /**
+     * @return - the Gson result objects are bound with. The entry, playback context and metadata models are
+     * bound with the reflection free {@link OvpModelAdapters}, rule actions are bound to their subtypes
+     * (see {@link RuleActionAdapterFactory}).
+     */
     public static Gson getRuntimeGson(Class clz) {
-        RuntimeTypeAdapterFactory adapterFactory = null;
-        switch (clz.getSimpleName()){
-            case "BasePlaybackContext":
-                /*!! for now - since we are not using the parsed action objects, there's no need to use this runtime factory
-                  !! all items in the "actions" list will be of the base class type "KalturaRuleAction"
-                  !! once needed - set adapterFactory to the commented code and make sure to register each of the subclasses that may
-                  !! return in the response */
-                adapterFactory = null;
-                        /*RuntimeTypeAdapterFactory
-                        .of(BasePlaybackContext.KalturaRuleAction.class, "objectType")
-                        .registerSubtype(BasePlaybackContext.KalturaAccessControlDrmPolicyAction.class, "KalturaAccessControlDrmPolicyAction")
-                        .registerSubtype(BasePlaybackContext.KalturaAccessControlDrmPolicyAction.class, "KalturaAccessControlLimitDeliveryProfilesAction");*/
-        }
-
-        GsonBuilder gsonBuilder = new GsonBuilder();
-        if(adapterFactory != null){
-            gsonBuilder.registerTypeAdapterFactory(adapterFactory);
-        }
-        return gsonBuilder.create();
+        return runtimeGson;
     }
 
     //public static void registerRuntimeAdapter()
@@ -24,20 +24,20 @@ import java.util.List;
 
 public class KalturaMediaEntry extends BaseResult {
 
-    private int msDuration;
-    private Integer dvrStatus; // 1-LIVE DVR  0-LIVE
+    int msDuration;
+    Integer dvrStatus; // 1-LIVE DVR  0-LIVE
 
-    private String id;
-    private String name;
-    private String tags;
-    private String dataUrl;
-    private String description;
-    private String thumbnailUrl;
-    private String flavorParamsIds;
+    String id;
+    String name;
+    String tags;
+    String dataUrl;
+    String description;
+    String thumbnailUrl;
+    String flavorParamsIds;
 
     /** indicate the media type: {@link KalturaEntryType} **/
-    private KalturaEntryType type;
-    private KalturaMediaType mediaType;
+    KalturaEntryType type;
+    KalturaMediaType mediaType;
 
     public int getMsDuration() {
         return msDuration;
@@ -19,5 +19,6 @@ import com.kaltura.netkit.connect.response.BaseResult;
  */
 
 public class KalturaMetadata extends BaseResult {
+    public String objectId;
     public String xml;
 }
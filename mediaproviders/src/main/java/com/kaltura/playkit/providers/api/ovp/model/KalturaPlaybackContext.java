@@ -26,9 +26,9 @@ import com.kaltura.playkit.providers.api.ovp.KalturaOvpErrorHelper;
 
 public class KalturaPlaybackContext extends BasePlaybackContext {
 
-    private ArrayList<KalturaPlaybackSource> sources;
-    private ArrayList<KalturaFlavorAsset> flavorAssets;
-    private ArrayList<KalturaPlaybackCaption> playbackCaptions;
+    ArrayList<KalturaPlaybackSource> sources;
+    ArrayList<KalturaFlavorAsset> flavorAssets;
+    ArrayList<KalturaPlaybackCaption> playbackCaptions;
 
     public KalturaPlaybackContext() {
     }
@@ -25,8 +25,8 @@ import com.kaltura.playkit.providers.api.ovp.OvpConfigs;
 
 public class KalturaPlaybackSource extends BasePlaybackSource {
 
-    private int deliveryProfileId;
-    private String flavorIds; //not clear if should be list<String> or string, currently list of KalturaString objects
+    int deliveryProfileId;
+    String flavorIds; //not clear if should be list<String> or string, currently list of KalturaString objects
 
     public int getDeliveryProfileId() {
         return deliveryProfileId;
@@ -0,0 +1,176 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.ovp.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.kaltura.playkit.providers.api.base.model.BaseModelAdapters;
+import com.kaltura.playkit.providers.api.base.model.ModelTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * {@link ModelTypeAdapter}s of the OVP entry, playback source and playback context models, the types
+ * parsed on every playlist and media load. Other models (e.g. metadata) are bound by Gson.
+ *
+ * @hide
+ */
+public class OvpModelAdapters {
+
+    // enum constants and the nested models are bound by Gson, their adapters are created once
+    private static final Gson gson = new Gson();
+    private static final TypeAdapter<KalturaEntryType> entryTypeAdapter = gson.getAdapter(KalturaEntryType.class);
+    private static final TypeAdapter<KalturaMediaType> mediaTypeAdapter = gson.getAdapter(KalturaMediaType.class);
+    private static final TypeAdapter<KalturaFlavorAsset> flavorAssetAdapter = gson.getAdapter(KalturaFlavorAsset.class);
+    private static final TypeAdapter<KalturaPlaybackCaption> playbackCaptionAdapter = gson.getAdapter(KalturaPlaybackCaption.class);
+
+    public static final ModelTypeAdapter<KalturaMediaEntry> MediaEntry = new MediaEntryAdapter<KalturaMediaEntry>(KalturaMediaEntry.class) {
+        @Override
+        public KalturaMediaEntry newInstance() {
+            return new KalturaMediaEntry();
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaLiveStreamEntry> LiveStreamEntry = new MediaEntryAdapter<KalturaLiveStreamEntry>(KalturaLiveStreamEntry.class) {
+        @Override
+        public KalturaLiveStreamEntry newInstance() {
+            return new KalturaLiveStreamEntry();
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaBaseEntryListResponse> BaseEntryListResponse = new ModelTypeAdapter<KalturaBaseEntryListResponse>(KalturaBaseEntryListResponse.class) {
+        @Override
+        public KalturaBaseEntryListResponse newInstance() {
+            return new KalturaBaseEntryListResponse();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaBaseEntryListResponse target) throws IOException {
+            switch (name) {
+                case "objects":
+                    target.objects = readList(in, MediaEntry);
+                    return true;
+                case "totalCount":
+                    target.totalCount = readInt(in, target.totalCount);
+                    return true;
+                default:
+                    return readResultField(in, name, target);
+            }
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaPlaybackSource> PlaybackSource = new ModelTypeAdapter<KalturaPlaybackSource>(KalturaPlaybackSource.class) {
+        @Override
+        public KalturaPlaybackSource newInstance() {
+            return new KalturaPlaybackSource();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaPlaybackSource target) throws IOException {
+            switch (name) {
+                case "deliveryProfileId":
+                    target.deliveryProfileId = readInt(in, target.deliveryProfileId);
+                    return true;
+                case "flavorIds":
+                    target.flavorIds = readString(in);
+                    return true;
+                default:
+                    return BaseModelAdapters.readPlaybackSourceField(in, name, target);
+            }
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaPlaybackContext> PlaybackContext = new ModelTypeAdapter<KalturaPlaybackContext>(KalturaPlaybackContext.class) {
+        @Override
+        public KalturaPlaybackContext newInstance() {
+            return new KalturaPlaybackContext();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaPlaybackContext target) throws IOException {
+            switch (name) {
+                case "sources":
+                    target.sources = readList(in, PlaybackSource);
+                    return true;
+                case "flavorAssets":
+                    target.flavorAssets = readList(in, flavorAssetAdapter);
+                    return true;
+                case "playbackCaptions":
+                    target.playbackCaptions = readList(in, playbackCaptionAdapter);
+                    return true;
+                default:
+                    return BaseModelAdapters.readPlaybackContextField(in, name, target, BaseModelAdapters.RuleActionSubtypes);
+            }
+        }
+    };
+
+    private abstract static class MediaEntryAdapter<T extends KalturaMediaEntry> extends ModelTypeAdapter<T> {
+
+        MediaEntryAdapter(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, T target) throws IOException {
+            switch (name) {
+                case "msDuration":
+                    target.msDuration = readInt(in, target.msDuration);
+                    return true;
+                case "dvrStatus":
+                    target.dvrStatus = readInteger(in);
+                    return true;
+                case "id":
+                    target.id = readString(in);
+                    return true;
+                case "name":
+                    target.name = readString(in);
+                    return true;
+                case "tags":
+                    target.tags = readString(in);
+                    return true;
+                case "dataUrl":
+                    target.dataUrl = readString(in);
+                    return true;
+                case "description":
+                    target.description = readString(in);
+                    return true;
+                case "thumbnailUrl":
+                    target.thumbnailUrl = readString(in);
+                    return true;
+                case "flavorParamsIds":
+                    target.flavorParamsIds = readString(in);
+                    return true;
+                case "type":
+                    target.type = entryTypeAdapter.read(in);
+                    return true;
+                case "mediaType":
+                    target.mediaType = mediaTypeAdapter.read(in);
+                    return true;
+                default:
+                    return readResultField(in, name, target);
+            }
+        }
+    }
+
+    private OvpModelAdapters() {
+    }
+
+    /**
+     * @return - a factory of all the adapters above.
+     */
+    public static TypeAdapterFactory factory() {
+        return ModelTypeAdapter.factoryOf(MediaEntry, LiveStreamEntry, BaseEntryListResponse, PlaybackSource, PlaybackContext);
+    }
+}
@@ -12,7 +12,6 @@
 
 package com.kaltura.playkit.providers.api.ovp.model;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -22,8 +21,10 @@ import com.google.gson.JsonSyntaxException;
 import com.kaltura.netkit.connect.response.BaseResult;
 import com.kaltura.netkit.connect.response.PrimitiveResult;
 import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.kaltura.playkit.providers.api.ovp.KalturaOvpParser;
 
@@ -37,6 +38,10 @@ import com.kaltura.playkit.providers.api.ovp.KalturaOvpParser;
  * @hide
  */
 public class OvpResultAdapter implements JsonDeserializer<BaseResult> {
+
+    // result classes by objectType, resolved once
+    private static final ConcurrentHashMap<String, Class> resultClasses = new ConcurrentHashMap<>();
+
     @Override
     public BaseResult deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
 
@@ -50,12 +55,11 @@ public class OvpResultAdapter implements JsonDeserializer<BaseResult> {
 
         if(result != null && result.has("objectType")){
             String objectType=  result.getAsJsonPrimitive("objectType").getAsString();
-            if(objectType.equals("KalturaAPIException")) {
-                baseResult = new BaseResult(new Gson().fromJson(result, ErrorElement.class));
+            if(objectType.equals(KalturaAPIException.ObjectType)) {
+                baseResult = new KalturaAPIException(KalturaOvpParser.getRuntimeGson(ErrorElement.class).fromJson(result, ErrorElement.class), "OVPError");
             } else {
                 try {
-                    String clzName  = getClass().getPackage().getName()+"."+objectType;
-                    Class clz = Class.forName(clzName);
+                    Class clz = getResultClass(objectType);
 
                     baseResult = (BaseResult) KalturaOvpParser.getRuntimeGson(clz).fromJson(json, clz);
 
@@ -69,4 +73,13 @@ public class OvpResultAdapter implements JsonDeserializer<BaseResult> {
         }
         return baseResult;
     }
+
+    private Class getResultClass(String objectType) throws ClassNotFoundException {
+        Class clz = resultClasses.get(objectType);
+        if (clz == null) {
+            clz = Class.forName(getClass().getPackage().getName() + "." + objectType);
+            resultClasses.put(objectType, clz);
+        }
+        return clz;
+    }
 }
@@ -20,6 +20,8 @@ import com.google.gson.JsonObject;
 import com.kaltura.playkit.providers.api.ovp.APIDefines;
 import com.kaltura.playkit.providers.api.ovp.OvpRequestBuilder;
 
+import java.util.List;
+
 import static com.kaltura.playkit.utils.Consts.HTTP_METHOD_POST;
 
 
@@ -29,6 +31,8 @@ import static com.kaltura.playkit.utils.Consts.HTTP_METHOD_POST;
 
 public class BaseEntryService extends OvpService {
 
+    private static final String EntryListFields = "id,name,description,thumbnailUrl,dataUrl,duration,msDuration,flavorParamsIds,mediaType,type,tags,dvrStatus";
+
     /*public static RequestBuilder entryInfo(String baseUrl, String ks, int partnerId, String entryId) {
 
         MultiRequestBuilder multiRequestBuilder = (MultiRequestBuilder) OvpService.getMultirequest(baseUrl, ks, partnerId)
@@ -68,7 +72,33 @@ public class BaseEntryService extends OvpService {
         } else if (!TextUtils.isEmpty(referenceId)) {
             baseEntryListParams.filter.referenceIdEqual = referenceId;
         }
-        baseEntryListParams.responseProfile.fields = "id,name,description,thumbnailUrl,dataUrl,duration,msDuration,flavorParamsIds,mediaType,type,tags,dvrStatus";
+        baseEntryListParams.responseProfile.fields = EntryListFields;
+        baseEntryListParams.responseProfile.type = APIDefines.ResponseProfileType.IncludeFields;
+
+        return new Gson().toJsonTree(baseEntryListParams).getAsJsonObject();
+    }
+
+    /**
+     * Lists several entries by id in a single call. The entries are returned in no specific order,
+     * and entries that don't exist or can't be accessed are missing from the result.
+     */
+    public static OvpRequestBuilder list(String baseUrl, String ks, List<String> entryIds) {
+        return new OvpRequestBuilder()
+                .service("baseEntry")
+                .action("list")
+                .method(HTTP_METHOD_POST)
+                .url(baseUrl)
+                .tag("baseEntry-list")
+                .params(getEntryIdInListReqParams(ks, entryIds));
+    }
+
+    private static JsonObject getEntryIdInListReqParams(String ks, List<String> entryIds) {
+
+        BaseEntryListParams baseEntryListParams = new BaseEntryListParams(ks);
+
+        baseEntryListParams.filter.idIn = TextUtils.join(",", entryIds);
+        baseEntryListParams.pager = new PlaylistService.KalturaFilterPager(entryIds.size(), 1);
+        baseEntryListParams.responseProfile.fields = EntryListFields;
         baseEntryListParams.responseProfile.type = APIDefines.ResponseProfileType.IncludeFields;
 
         return new Gson().toJsonTree(baseEntryListParams).getAsJsonObject();
@@ -119,6 +149,7 @@ public class BaseEntryService extends OvpService {
         String ks;
         Filter filter;
         ResponseProfile responseProfile;
+        PlaylistService.KalturaFilterPager pager;
 
         public BaseEntryListParams(String ks) {
             this.ks = ks;
@@ -128,6 +159,7 @@ public class BaseEntryService extends OvpService {
 
         class Filter {
             String idEqual;
+            String idIn;
             String redirectFromEntryId;
             String referenceIdEqual;
         }
@@ -12,9 +12,13 @@
 
 package com.kaltura.playkit.providers.api.ovp.services;
 
+import android.text.TextUtils;
+
 import com.google.gson.JsonObject;
 import com.kaltura.playkit.providers.api.ovp.OvpRequestBuilder;
 
+import java.util.List;
+
 import static com.kaltura.playkit.utils.Consts.HTTP_METHOD_POST;
 
 
@@ -23,6 +27,9 @@ import static com.kaltura.playkit.utils.Consts.HTTP_METHOD_POST;
  */
 public class MetaDataService extends OvpService {
 
+    // the max page size the server allows
+    public static final int MaxPageSize = 500;
+
     public static OvpRequestBuilder list(String baseUrl, String ks, String entryId) {
         JsonObject filter = new JsonObject();
         filter.addProperty("objectType", "KalturaMetadataFilter");
@@ -40,4 +47,31 @@ public class MetaDataService extends OvpService {
                 .tag("metadata_metadata-list")
                 .params(params);
     }
+
+    /**
+     * Lists the custom metadata of several entries in a single call, {@link com.kaltura.playkit.providers.api.ovp.model.KalturaMetadata#objectId}
+     * tells the entry each metadata object belongs to.
+     */
+    public static OvpRequestBuilder list(String baseUrl, String ks, List<String> entryIds) {
+        JsonObject filter = new JsonObject();
+        filter.addProperty("objectType", "KalturaMetadataFilter");
+        filter.addProperty("objectIdIn", TextUtils.join(",", entryIds));
+        filter.addProperty("metadataObjectTypeEqual", "1");
+
+        JsonObject pager = new JsonObject();
+        pager.addProperty("pageSize", MaxPageSize);
+        pager.addProperty("pageIndex", 1);
+
+        JsonObject params = new JsonObject();
+        params.add("filter", filter);
+        params.add("pager", pager);
+        params.addProperty("ks", ks);
+
+        return new OvpRequestBuilder().service("metadata_metadata")
+                .action("list")
+                .method(HTTP_METHOD_POST)
+                .url(baseUrl)
+                .tag("metadata_metadata-list")
+                .params(params);
+    }
 }
@@ -62,7 +62,7 @@ public class PlaylistService extends OvpService {
         playlistParams.responseProfile.fields = "id,referenceId,name,description,thumbnailUrl,dataUrl,msDuration,flavorParamsIds,mediaType,type,tags,dvrStatus,externalSourceType,searchText";
         playlistParams.responseProfile.type = APIDefines.ResponseProfileType.IncludeFields;
         KalturaFilterPager pager = null;
-        if (pageSize != null && pageIndex != null && pageIndex <= pageSize) {
+        if (pageSize != null && pageIndex != null && pageSize > 0 && pageIndex > 0) {
             playlistParams.pager = new KalturaFilterPager(pageSize,pageIndex);
         }
         return new Gson().toJsonTree(playlistParams).getAsJsonObject();
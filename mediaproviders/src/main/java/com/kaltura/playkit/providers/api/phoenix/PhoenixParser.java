@@ -12,23 +12,45 @@
 
 package com.kaltura.playkit.providers.api.phoenix;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.kaltura.netkit.connect.response.BaseResult;
 import com.kaltura.netkit.utils.GsonParser;
 import com.kaltura.playkit.providers.api.phoenix.model.OttResultAdapter;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @hide
  */
 
 public class PhoenixParser {
 
+    // Gson instances are immutable and thread safe, built once and shared by all the parse calls
+    static final Gson resultGson = new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OttResultAdapter()).create();
+    private static final Map<Class, Gson> objectGsons = new HashMap<>();
+
     public static <T> T parseObject(String json, Class type) throws JsonSyntaxException {
-        return (T) new GsonBuilder().registerTypeHierarchyAdapter(type, new OttResultAdapter()).create().fromJson(json, type);
+        return (T) getObjectGson(type).fromJson(json, type);
+    }
+
+    private static Gson getObjectGson(Class type) {
+        synchronized (objectGsons) {
+            Gson gson = objectGsons.get(type);
+            if (gson == null) {
+                gson = new GsonBuilder().registerTypeHierarchyAdapter(type, new OttResultAdapter()).create();
+                objectGsons.put(type, gson);
+            }
+            return gson;
+        }
     }
 
     public static Object parse(String response, Class...types) throws JsonSyntaxException {
@@ -38,17 +60,28 @@ public class PhoenixParser {
         if(resultElement.isJsonObject() && resultElement.getAsJsonObject().has("result")) {
             resultElement = resultElement.getAsJsonObject().get("result");
         }
-        return GsonParser.parse(resultElement, new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OttResultAdapter()).create(), types);
+        return GsonParser.parse(resultElement, resultGson, types);
     }
 
+    /**
+     * Reads the response in a single pass, see {@link PhoenixResponseReader}.
+     */
     public static <T> T parse(JsonReader reader) throws JsonSyntaxException {
-        JsonParser parser = new JsonParser();
-        return parse(parser.parse(reader));
+        return (T) PhoenixResponseReader.read(reader);
     }
 
     public static <T> T parse(String response) throws JsonSyntaxException {
-        JsonParser parser = new JsonParser();
-        return parse(parser.parse(response));
+        JsonReader reader = new JsonReader(new StringReader(response));
+        reader.setLenient(true);
+        T result = parse(reader);
+        try {
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+        } catch (IOException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+        return result;
     }
 
     public static <T> T parse(JsonElement resultElement) throws JsonSyntaxException {
@@ -58,9 +91,9 @@ public class PhoenixParser {
         }
 
         if(resultElement.isJsonObject()){
-            return (T) GsonParser.parseObject(resultElement, BaseResult.class, new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OttResultAdapter()).create());
+            return (T) GsonParser.parseObject(resultElement, BaseResult.class, resultGson);
         } else if (resultElement.isJsonArray()){
-            return (T) GsonParser.parseArray(resultElement, new GsonBuilder().registerTypeHierarchyAdapter(BaseResult.class, new OttResultAdapter()).create(), BaseResult.class);
+            return (T) GsonParser.parseArray(resultElement, resultGson, BaseResult.class);
         } else if (resultElement.isJsonPrimitive()){
             return (T) resultElement.getAsJsonPrimitive().getAsString();
         }
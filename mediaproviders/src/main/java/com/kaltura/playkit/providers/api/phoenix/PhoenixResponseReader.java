@@ -0,0 +1,171 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.phoenix;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
+import com.kaltura.playkit.providers.api.base.model.ModelTypeAdapter;
+import com.kaltura.playkit.providers.api.phoenix.model.OttResultAdapter;
+import com.kaltura.playkit.providers.api.phoenix.model.OttResultTypes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single pass reader of Phoenix responses, the streaming counterpart of {@link OttResultAdapter}.
+ * The "result" value is read once from the stream: result objects that start with their "objectType"
+ * (the way the BE writes them) and have a {@link ModelTypeAdapter} are bound directly, without building
+ * a {@link JsonElement} tree first. Objects of other types are read into a tree and bound by Gson. Other
+ * values (error wrappers, primitives, objects without a leading objectType) are read into a tree and
+ * passed to {@link OttResultAdapter}, as before.
+ *
+ * @hide
+ */
+class PhoenixResponseReader {
+
+    private static final Gson gson = OttResultTypes.getGson();
+    private static final Gson resultGson = PhoenixParser.resultGson;
+    private static final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+    private PhoenixResponseReader() {
+    }
+
+    /**
+     * @return - same as {@link PhoenixParser#parse(JsonElement)}: a {@link BaseResult}, a list of
+     * {@link BaseResult} or a String.
+     */
+    static Object read(JsonReader reader) throws JsonSyntaxException {
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return PhoenixParser.parse(elementAdapter.read(reader));
+            }
+
+            // fields preceding "result" (executionTime) are kept in case there is no "result" at all
+            JsonObject response = new JsonObject();
+            Object result = null;
+            boolean hasResult = false;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (hasResult) {
+                    reader.skipValue();
+                } else if ("result".equals(name)) {
+                    result = readResult(reader);
+                    hasResult = true;
+                } else {
+                    response.add(name, elementAdapter.read(reader));
+                }
+            }
+            reader.endObject();
+
+            return hasResult ? result : PhoenixParser.parse(response);
+
+        } catch (IOException | IllegalStateException | NumberFormatException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    private static Object readResult(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                List<BaseResult> results = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    results.add(reader.peek() == JsonToken.BEGIN_OBJECT ? readResultObject(reader) : resultGson.fromJson(elementAdapter.read(reader), BaseResult.class));
+                }
+                reader.endArray();
+                return results;
+
+            case BEGIN_OBJECT:
+                return readResultObject(reader);
+
+            case NULL:
+                reader.nextNull();
+                return null;
+
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+
+            default:
+                return reader.nextString();
+        }
+    }
+
+    private static BaseResult readResultObject(JsonReader reader) throws IOException {
+        JsonObject object = new JsonObject();
+
+        reader.beginObject();
+        if (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("objectType".equals(name) && reader.peek() == JsonToken.STRING) {
+                String objectType = reader.nextString();
+                if (!KalturaAPIException.ObjectType.equals(objectType)) {
+                    TypeAdapter<? extends BaseResult> adapter = OttResultTypes.getAdapter(objectType);
+                    if (adapter == null) { // unknown types were already reported once by OttResultTypes
+                        skipRemaining(reader);
+                        return null;
+                    }
+                    return bindRemaining(reader, adapter, objectType);
+                }
+                object.addProperty(name, objectType);
+            } else {
+                object.add(name, elementAdapter.read(reader));
+            }
+
+            while (reader.hasNext()) {
+                name = reader.nextName();
+                object.add(name, elementAdapter.read(reader));
+            }
+        }
+        reader.endObject();
+
+        return resultGson.fromJson(object, BaseResult.class);
+    }
+
+    // reads the rest of the current object with the adapter of its objectType
+    private static BaseResult bindRemaining(JsonReader reader, TypeAdapter<? extends BaseResult> adapter, String objectType) throws IOException {
+        if (adapter instanceof ModelTypeAdapter) {
+            BaseResult result = ((ModelTypeAdapter<? extends BaseResult>) adapter).readRemaining(reader, objectType);
+            reader.endObject();
+            return result;
+        }
+
+        // types without a model adapter are bound by Gson, from the object tree
+        JsonObject object = new JsonObject();
+        object.addProperty("objectType", objectType);
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            object.add(name, elementAdapter.read(reader));
+        }
+        reader.endObject();
+
+        return adapter.fromJsonTree(object);
+    }
+
+    private static void skipRemaining(JsonReader reader) throws IOException {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+        reader.endObject();
+    }
+}
@@ -13,32 +13,34 @@
 package com.kaltura.playkit.providers.api.phoenix.model;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.kaltura.netkit.connect.response.BaseResult;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  */
 
-public class KalturaMediaAsset extends BaseResult {
+public class KalturaMediaAsset extends BaseResult implements Cloneable {
 
-    private int id;
-    private String entryId;
-    private int type;
+    int id;
+    String entryId;
+    int type;
 
-    private long endDate;
-    private long startDate;
-    private String externalIds;
+    long endDate;
+    long startDate;
+    String externalIds;
 
-    private String name;
-    private JsonObject tags;
-    private JsonObject metas;
-    private String objectType;
-    private String description;
-    private boolean enableTrickPlay;
+    String name;
+    JsonObject tags;
+    JsonObject metas;
+    String objectType;
+    String description;
+    boolean enableTrickPlay;
 
-    private List<KalturaThumbnail> images;
-    private List<KalturaMediaFile> mediaFiles;
+    List<KalturaThumbnail> images;
+    List<KalturaMediaFile> mediaFiles;
 
 
     public int getId() {
@@ -96,4 +98,29 @@ public class KalturaMediaAsset extends BaseResult {
     public List<KalturaMediaFile> getMediaFiles() {
         return mediaFiles;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return - a deep copy of the asset, of the same asset class. The tags, metas and media files
+     * are copied, the immutable {@link KalturaThumbnail} images are shared.
+     */
+    public KalturaMediaAsset copy() {
+        KalturaMediaAsset copy;
+        try {
+            copy = (KalturaMediaAsset) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        JsonParser parser = new JsonParser();
+        copy.tags = tags != null ? parser.parse(tags.toString()).getAsJsonObject() : null;
+        copy.metas = metas != null ? parser.parse(metas.toString()).getAsJsonObject() : null;
+        copy.images = images != null ? new ArrayList<>(images) : null;
+        if (mediaFiles != null) {
+            copy.mediaFiles = new ArrayList<>(mediaFiles.size());
+            for (KalturaMediaFile mediaFile : mediaFiles) {
+                copy.mediaFiles.add(mediaFile != null ? mediaFile.copy() : null);
+            }
+        }
+        return copy;
+    }
+}
@@ -18,7 +18,7 @@ import com.kaltura.netkit.connect.response.BaseResult;
  * @hide
  */
 
-public class KalturaMediaFile extends BaseResult {
+public class KalturaMediaFile extends BaseResult implements Cloneable {
 
     long duration;
     int id;
@@ -65,4 +65,12 @@ public class KalturaMediaFile extends BaseResult {
     public void setType(String type) {
         this.type = type;
     }
+
+    public KalturaMediaFile copy() {
+        try {
+            return (KalturaMediaFile) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -28,8 +28,8 @@ import com.kaltura.playkit.providers.api.phoenix.PhoenixErrorHelper;
 
 public class KalturaPlaybackContext extends BasePlaybackContext {
 
-    private ArrayList<KalturaPlaybackSource> sources;
-    private ArrayList<KalturaPlaybackCaption> playbackCaptions;
+    ArrayList<KalturaPlaybackSource> sources;
+    ArrayList<KalturaPlaybackCaption> playbackCaptions;
 
     public ArrayList<KalturaPlaybackSource> getSources() {
         return sources;
@@ -19,11 +19,11 @@ import com.kaltura.playkit.providers.api.base.model.BasePlaybackSource;
  */
 
 public class KalturaPlaybackSource extends BasePlaybackSource {
-    private int assetId;
-    private int id;
-    private String type; //Device types as defined in the system (MediaFileFormat)
-    private long duration;
-    private String externalId;
+    int assetId;
+    int id;
+    String type; //Device types as defined in the system (MediaFileFormat)
+    long duration;
+    String externalId;
 
     public int getId() {
         return id;
@@ -13,15 +13,15 @@
 package com.kaltura.playkit.providers.api.phoenix.model;
 
 public class KalturaRecordingAsset extends KalturaMediaAsset {
-    private String recordingId;
-    private KalturaRecordingType recordingType;
-    private boolean enableCatchUp;
-    private boolean enableCdvr;
-    private String epgId;
-    private long epgChannelId;
-    private long linearAssetId;
-    private boolean enableStartOver;
-    private boolean enableTrickPlay;
+    String recordingId;
+    KalturaRecordingType recordingType;
+    boolean enableCatchUp;
+    boolean enableCdvr;
+    String epgId;
+    long epgChannelId;
+    long linearAssetId;
+    boolean enableStartOver;
+    boolean enableTrickPlay;
 
     public String getRecordingId() {
         return recordingId;
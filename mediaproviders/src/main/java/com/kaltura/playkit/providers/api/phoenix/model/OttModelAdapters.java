@@ -0,0 +1,225 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.phoenix.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.kaltura.playkit.providers.api.base.model.BaseModelAdapters;
+import com.kaltura.playkit.providers.api.base.model.ModelTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * {@link ModelTypeAdapter}s of the Phoenix asset, playback source and playback context models, the
+ * types parsed on every playlist and media load. Other models are bound by Gson.
+ *
+ * @hide
+ */
+public class OttModelAdapters {
+
+    // enum constants and the nested models are bound by Gson, their adapters are created once
+    private static final Gson gson = new Gson();
+    private static final TypeAdapter<KalturaRecordingType> recordingTypeAdapter = gson.getAdapter(KalturaRecordingType.class);
+    private static final TypeAdapter<KalturaThumbnail> thumbnailAdapter = gson.getAdapter(KalturaThumbnail.class);
+    private static final TypeAdapter<KalturaMediaFile> mediaFileAdapter = gson.getAdapter(KalturaMediaFile.class);
+    private static final TypeAdapter<KalturaPlaybackCaption> playbackCaptionAdapter = gson.getAdapter(KalturaPlaybackCaption.class);
+
+    public static final ModelTypeAdapter<KalturaMediaAsset> MediaAsset = new MediaAssetAdapter<KalturaMediaAsset>(KalturaMediaAsset.class) {
+        @Override
+        public KalturaMediaAsset newInstance() {
+            return new KalturaMediaAsset();
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaLiveAsset> LiveAsset = new MediaAssetAdapter<KalturaLiveAsset>(KalturaLiveAsset.class) {
+        @Override
+        public KalturaLiveAsset newInstance() {
+            return new KalturaLiveAsset();
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaProgramAsset> ProgramAsset = new MediaAssetAdapter<KalturaProgramAsset>(KalturaProgramAsset.class) {
+        @Override
+        public KalturaProgramAsset newInstance() {
+            return new KalturaProgramAsset();
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaRecordingAsset> RecordingAsset = new MediaAssetAdapter<KalturaRecordingAsset>(KalturaRecordingAsset.class) {
+        @Override
+        public KalturaRecordingAsset newInstance() {
+            return new KalturaRecordingAsset();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaRecordingAsset target) throws IOException {
+            switch (name) {
+                case "recordingId":
+                    target.recordingId = readString(in);
+                    return true;
+                case "recordingType":
+                    target.recordingType = recordingTypeAdapter.read(in);
+                    return true;
+                case "enableCatchUp":
+                    target.enableCatchUp = readBoolean(in, target.enableCatchUp);
+                    return true;
+                case "enableCdvr":
+                    target.enableCdvr = readBoolean(in, target.enableCdvr);
+                    return true;
+                case "epgId":
+                    target.epgId = readString(in);
+                    return true;
+                case "epgChannelId":
+                    target.epgChannelId = readLong(in, target.epgChannelId);
+                    return true;
+                case "linearAssetId":
+                    target.linearAssetId = readLong(in, target.linearAssetId);
+                    return true;
+                case "enableStartOver":
+                    target.enableStartOver = readBoolean(in, target.enableStartOver);
+                    return true;
+                case "enableTrickPlay": // declared by both classes, Gson's reflective binding rejects the class for it
+                    target.enableTrickPlay = readBoolean(in, target.enableTrickPlay);
+                    ((KalturaMediaAsset) target).enableTrickPlay = target.enableTrickPlay;
+                    return true;
+                default:
+                    return super.readField(in, name, target);
+            }
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaPlaybackSource> PlaybackSource = new ModelTypeAdapter<KalturaPlaybackSource>(KalturaPlaybackSource.class) {
+        @Override
+        public KalturaPlaybackSource newInstance() {
+            return new KalturaPlaybackSource();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaPlaybackSource target) throws IOException {
+            switch (name) {
+                case "assetId":
+                    target.assetId = readInt(in, target.assetId);
+                    return true;
+                case "id":
+                    target.id = readInt(in, target.id);
+                    return true;
+                case "type":
+                    target.type = readString(in);
+                    return true;
+                case "duration":
+                    target.duration = readLong(in, target.duration);
+                    return true;
+                case "externalId":
+                    target.externalId = readString(in);
+                    return true;
+                default:
+                    return BaseModelAdapters.readPlaybackSourceField(in, name, target);
+            }
+        }
+    };
+
+    public static final ModelTypeAdapter<KalturaPlaybackContext> PlaybackContext = new ModelTypeAdapter<KalturaPlaybackContext>(KalturaPlaybackContext.class) {
+        @Override
+        public KalturaPlaybackContext newInstance() {
+            return new KalturaPlaybackContext();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, KalturaPlaybackContext target) throws IOException {
+            switch (name) {
+                case "sources":
+                    target.sources = readList(in, PlaybackSource);
+                    return true;
+                case "playbackCaptions":
+                    target.playbackCaptions = readList(in, playbackCaptionAdapter);
+                    return true;
+                default:
+                    return BaseModelAdapters.readPlaybackContextField(in, name, target, BaseModelAdapters.RuleAction);
+            }
+        }
+    };
+
+    private abstract static class MediaAssetAdapter<T extends KalturaMediaAsset> extends ModelTypeAdapter<T> {
+
+        MediaAssetAdapter(Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        protected void setObjectType(T target, String objectType) {
+            target.objectType = objectType;
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, T target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.id = readInt(in, target.id);
+                    return true;
+                case "entryId":
+                    target.entryId = readString(in);
+                    return true;
+                case "type":
+                    target.type = readInt(in, target.type);
+                    return true;
+                case "endDate":
+                    target.endDate = readLong(in, target.endDate);
+                    return true;
+                case "startDate":
+                    target.startDate = readLong(in, target.startDate);
+                    return true;
+                case "externalIds":
+                    target.externalIds = readString(in);
+                    return true;
+                case "name":
+                    target.name = readString(in);
+                    return true;
+                case "tags":
+                    target.tags = readJsonObject(in);
+                    return true;
+                case "metas":
+                    target.metas = readJsonObject(in);
+                    return true;
+                case "objectType":
+                    target.objectType = readString(in);
+                    return true;
+                case "description":
+                    target.description = readString(in);
+                    return true;
+                case "enableTrickPlay":
+                    target.enableTrickPlay = readBoolean(in, target.enableTrickPlay);
+                    return true;
+                case "images":
+                    target.images = readList(in, thumbnailAdapter);
+                    return true;
+                case "mediaFiles":
+                    target.mediaFiles = readList(in, mediaFileAdapter);
+                    return true;
+                default:
+                    return readResultField(in, name, target);
+            }
+        }
+    }
+
+    private OttModelAdapters() {
+    }
+
+    /**
+     * @return - a factory of all the adapters above.
+     */
+    public static TypeAdapterFactory factory() {
+        return ModelTypeAdapter.factoryOf(MediaAsset, LiveAsset, ProgramAsset, RecordingAsset, PlaybackSource, PlaybackContext);
+    }
+}
@@ -12,18 +12,16 @@
 
 package com.kaltura.playkit.providers.api.phoenix.model;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
 import com.kaltura.netkit.connect.response.BaseResult;
 import com.kaltura.netkit.utils.ErrorElement;
-import com.kaltura.playkit.PKLog;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 
 /**
@@ -36,6 +34,9 @@ import java.lang.reflect.Type;
  * @hide
  */
 public class OttResultAdapter implements JsonDeserializer<BaseResult> {
+
+    private static final String OTTError = "OTTError";
+
     @Override
     public BaseResult deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
 
@@ -48,48 +49,33 @@ public class OttResultAdapter implements JsonDeserializer<BaseResult> {
 
         if(result != null && result.has("error")){
 
-            ErrorElement error = new Gson().fromJson(result.get("error"), ErrorElement.class);
-
-            // trying to find constructor that excepts ErrorElement in order to return an object of type "typeOfT" even on error.
-            try {
-                Constructor<? extends Type> constructor = typeOfT.getClass().getConstructor(ErrorElement.class);
-
-                if (constructor != null) {
-                    baseResult = (BaseResult) constructor.newInstance(error);
-                }
-            } catch (NoSuchMethodException e) {
-                // do nothing
-            } catch (IllegalAccessException e) {
-                // do nothing
-            } catch (InstantiationException e) {
-                // do nothing
-            } catch (InvocationTargetException e) {
-                // do nothing - next code section will handle this
-            }
-
-            if (baseResult == null) {
-                baseResult = new BaseResult(error);
-            }
+            JsonElement errorJson = result.get("error");
+            ErrorElement error = OttResultTypes.getGson().fromJson(errorJson, ErrorElement.class);
+            baseResult = isAPIException(errorJson) ? new KalturaAPIException(error, OTTError) : new BaseResult(error);
 
         } else if(result != null && result.has("objectType")){
 
             String objectType=  result.getAsJsonPrimitive("objectType").getAsString();
-            if(objectType.equals("KalturaAPIException")) {
-                baseResult = new BaseResult(new Gson().fromJson(result, ErrorElement.class));
+            if(objectType.equals(KalturaAPIException.ObjectType)) {
+                baseResult = new KalturaAPIException(OttResultTypes.getGson().fromJson(result, ErrorElement.class), OTTError);
             } else {
-                try {
-                    String clzName = getClass().getPackage().getName() + "." + objectType;
-                    Class clz = Class.forName(clzName);
-                    baseResult = (BaseResult) new Gson().fromJson(result, clz);
-                } catch (ClassNotFoundException e) {
-                    PKLog.e("OttResultAdapter","can't find class "+objectType+ " in the provided package\n ");
-                    e.printStackTrace();
+                TypeAdapter<? extends BaseResult> adapter = OttResultTypes.getAdapter(objectType);
+                if (adapter != null) { // unknown types were already reported once by OttResultTypes
+                    baseResult = adapter.fromJsonTree(result);
                 }
             }
         } else {
-            baseResult = new Gson().fromJson(result, typeOfT);
+            baseResult = OttResultTypes.getGson().fromJson(result, typeOfT);
         }
 
         return baseResult;
     }
+
+    private static boolean isAPIException(JsonElement error) {
+        if (error == null || !error.isJsonObject()) {
+            return false;
+        }
+        JsonElement objectType = error.getAsJsonObject().get("objectType");
+        return objectType != null && objectType.isJsonPrimitive() && KalturaAPIException.ObjectType.equals(objectType.getAsString());
+    }
 }
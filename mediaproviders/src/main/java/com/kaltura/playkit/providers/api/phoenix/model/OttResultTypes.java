@@ -0,0 +1,136 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.api.phoenix.model;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.playkit.PKLog;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the Phoenix result types by their objectType, shared by {@link OttResultAdapter} and the
+ * Phoenix response parsing. The known result types are registered once with their prebuilt adapters,
+ * the assets and playback context types are bound with the reflection free {@link OttModelAdapters}.
+ * Other objectTypes are resolved once by class name in this package, objectTypes that don't match a
+ * class are remembered as unknown, so their results are dropped without a class lookup.
+ *
+ * @hide
+ */
+public class OttResultTypes {
+
+    private static final PKLog log = PKLog.get("OttResultTypes");
+
+    private static final Gson gson = new GsonBuilder().registerTypeAdapterFactory(OttModelAdapters.factory()).create();
+
+    private static final ResultType Unknown = new ResultType(null, null);
+    private static final ConcurrentHashMap<String, ResultType> resultTypes = new ConcurrentHashMap<>();
+
+    static {
+        register(KalturaMediaAsset.class);
+        register(KalturaLiveAsset.class);
+        register(KalturaProgramAsset.class);
+        register(KalturaRecordingAsset.class);
+        register(KalturaPlaybackContext.class);
+        register(KalturaPlaybackSource.class);
+        register(KalturaMediaFile.class);
+        register(KalturaLicensedUrl.class);
+        register(KalturaLoginSession.class);
+        register(KalturaLoginResponse.class);
+        register(KalturaOTTUser.class);
+        register(KalturaSession.class);
+    }
+
+    private static class ResultType {
+
+        final Class<? extends BaseResult> type;
+        final TypeAdapter<? extends BaseResult> adapter;
+
+        ResultType(Class<? extends BaseResult> type, TypeAdapter<? extends BaseResult> adapter) {
+            this.type = type;
+            this.adapter = adapter;
+        }
+    }
+
+    private OttResultTypes() {
+    }
+
+    /**
+     * @return - the Gson instance result objects are bound with, shared and immutable.
+     */
+    public static Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * @return - the class of the objectType, or null if unknown.
+     */
+    @Nullable
+    public static Class<? extends BaseResult> getType(String objectType) {
+        return getResultType(objectType).type;
+    }
+
+    /**
+     * @return - the adapter of the objectType, or null if unknown.
+     */
+    @Nullable
+    public static TypeAdapter<? extends BaseResult> getAdapter(String objectType) {
+        return getResultType(objectType).adapter;
+    }
+
+    static <T extends BaseResult> void register(Class<T> type, TypeAdapter<T> adapter) {
+        resultTypes.put(type.getSimpleName(), new ResultType(type, adapter));
+    }
+
+    private static <T extends BaseResult> void register(Class<T> type) {
+        try {
+            register(type, gson.getAdapter(type));
+        } catch (IllegalArgumentException e) { // Gson can't bind the class (e.g. a field name declared twice in its hierarchy)
+            log.e("can't bind " + type.getSimpleName() + ": " + e.getMessage());
+            resultTypes.put(type.getSimpleName(), Unknown);
+        }
+    }
+
+    private static ResultType getResultType(String objectType) {
+        if (objectType == null) {
+            return Unknown;
+        }
+
+        ResultType resultType = resultTypes.get(objectType);
+        if (resultType == null) {
+            resultType = resolve(objectType);
+            ResultType current = resultTypes.putIfAbsent(objectType, resultType);
+            resultType = current != null ? current : resultType;
+        }
+        return resultType;
+    }
+
+    private static ResultType resolve(String objectType) {
+        try {
+            Class<?> clz = Class.forName(OttResultTypes.class.getPackage().getName() + "." + objectType);
+            if (BaseResult.class.isAssignableFrom(clz)) {
+                Class<? extends BaseResult> type = clz.asSubclass(BaseResult.class);
+                return new ResultType(type, gson.getAdapter(type));
+            }
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            // unknown, or a class Gson can't bind
+        }
+
+        log.e("can't find class " + objectType + " in the provided package");
+        return Unknown;
+    }
+}
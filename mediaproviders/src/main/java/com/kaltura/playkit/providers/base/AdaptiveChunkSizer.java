@@ -0,0 +1,102 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import com.kaltura.playkit.PKLog;
+
+/**
+ * Decides how many items to pack in a single request, when a large list of items is fetched in
+ * several requests. The size starts from the initial value and follows the measured latency and
+ * response size per item, aiming at requests that end within the target latency and don't exceed
+ * the target response size. The size changes by a factor of 2 at most per measurement.
+ */
+public class AdaptiveChunkSizer {
+
+    private static final PKLog log = PKLog.get("AdaptiveChunkSizer");
+
+    public static final int DefaultMinChunkSize = 10;
+    public static final int DefaultMaxChunkSize = 200;
+    public static final long DefaultTargetLatencyMs = 2000;
+    public static final long DefaultTargetResponseSize = 1024 * 1024;
+
+    // weight of the last measurement in the per item averages
+    private static final double Smoothing = 0.3;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetLatencyMs;
+    private final long targetResponseSize;
+
+    private int chunkSize;
+    private double latencyPerItemMs = -1;
+    private double responseSizePerItem = -1;
+
+    public AdaptiveChunkSizer(int initialChunkSize) {
+        this(initialChunkSize, Math.min(DefaultMinChunkSize, initialChunkSize), Math.max(DefaultMaxChunkSize, initialChunkSize), DefaultTargetLatencyMs, DefaultTargetResponseSize);
+    }
+
+    /**
+     * @param initialChunkSize - size to use until the first measurement.
+     * @param minChunkSize - lower bound of the size.
+     * @param maxChunkSize - upper bound of the size.
+     * @param targetLatencyMs - desired time of a single request.
+     * @param targetResponseSize - desired response length (characters) of a single request.
+     */
+    public AdaptiveChunkSizer(int initialChunkSize, int minChunkSize, int maxChunkSize, long targetLatencyMs, long targetResponseSize) {
+        if (minChunkSize <= 0 || minChunkSize > maxChunkSize || initialChunkSize < minChunkSize || initialChunkSize > maxChunkSize || targetLatencyMs <= 0 || targetResponseSize <= 0) {
+            throw new IllegalArgumentException("invalid chunk size configuration: initial = " + initialChunkSize + ", min = " + minChunkSize + ", max = " + maxChunkSize);
+        }
+
+        this.chunkSize = initialChunkSize;
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetLatencyMs = targetLatencyMs;
+        this.targetResponseSize = targetResponseSize;
+    }
+
+    public synchronized int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Updates the size according to a completed request.
+     *
+     * @param itemsCount - number of items the request fetched.
+     * @param latencyMs - time from sending the request until the response arrived.
+     * @param responseSize - response length.
+     */
+    public synchronized void onChunkLoaded(int itemsCount, long latencyMs, long responseSize) {
+        if (itemsCount <= 0) {
+            return;
+        }
+
+        latencyPerItemMs = average(latencyPerItemMs, (double) latencyMs / itemsCount);
+        responseSizePerItem = average(responseSizePerItem, (double) responseSize / itemsCount);
+
+        double byLatency = targetLatencyMs / Math.max(latencyPerItemMs, 0.01);
+        double byResponseSize = targetResponseSize / Math.max(responseSizePerItem, 1);
+        int nextChunkSize = (int) Math.min(byLatency, byResponseSize);
+
+        nextChunkSize = Math.max(chunkSize / 2, Math.min(chunkSize * 2, nextChunkSize));
+        nextChunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, nextChunkSize));
+
+        if (nextChunkSize != chunkSize) {
+            log.d("chunk size changed: " + chunkSize + " -> " + nextChunkSize);
+            chunkSize = nextChunkSize;
+        }
+    }
+
+    private static double average(double current, double sample) {
+        return current < 0 ? sample : current + Smoothing * (sample - current);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.kaltura.netkit.utils.SessionProvider;
+import com.kaltura.playkit.PKLog;
+
+/**
+ * Process-wide cache of anonymous session tokens, per server and partner.
+ * Loads that run without a ks start their multirequest with an anonymous login (Phoenix
+ * ottUser.anonymousLogin, OVP session.startWidgetSession). Once enabled, the ks such a login
+ * returned is kept, and the following loads of the partner use it directly, without the login step.
+ *
+ * Disabled by default. Entries are reused up to {@link #DefaultTimeToLiveMs} since the login (or until the
+ * ks expiry, when it can be decoded locally),
+ * and can be dropped with {@link #invalidate(SessionProvider)}. The loaders invalidate a reused session
+ * once the BE rejected it (see {@link BECallableLoader#onRemoteError(com.kaltura.netkit.utils.ErrorElement)}).
+ * Loads results are cached under the provider ks ("" for anonymous loads), not the reused ks, see
+ * {@link BECallableLoader#getCacheKs()}.
+ */
+public class AnonymousSessionCache {
+
+    private static final PKLog log = PKLog.get("AnonymousSessionCache");
+
+    public static final long DefaultTimeToLiveMs = 60 * 60 * 1000;
+
+    // one entry per server and partner, the bound is only a safety net
+    private static final int MaxEntries = 20;
+
+    private static final Object lock = new Object();
+    private static final TtlLruCache<String> sessions = new TtlLruCache<>(MaxEntries);
+    private static boolean enabled = false;
+    private static long timeToLiveMs = DefaultTimeToLiveMs;
+
+    private AnonymousSessionCache() {
+    }
+
+    /**
+     * @param enabled - true to reuse anonymous sessions across loads.
+     * @param timeToLiveMs - time an anonymous ks is reused since the login.
+     */
+    public static void configure(boolean enabled, long timeToLiveMs) {
+        if (timeToLiveMs <= 0) {
+            throw new IllegalArgumentException("invalid cache configuration: timeToLiveMs = " + timeToLiveMs);
+        }
+
+        synchronized (lock) {
+            AnonymousSessionCache.enabled = enabled;
+            AnonymousSessionCache.timeToLiveMs = timeToLiveMs;
+            if (!enabled) {
+                sessions.clear();
+            }
+        }
+    }
+
+    /**
+     * @return - a valid anonymous ks of the session provider server and partner, or null if none.
+     */
+    @Nullable
+    public static String get(SessionProvider sessionProvider) {
+        synchronized (lock) {
+            if (!enabled || sessionProvider == null) {
+                return null;
+            }
+
+            return sessions.get(getKey(sessionProvider), null);
+        }
+    }
+
+    /**
+     * @param ks - ks returned by an anonymous login on the session provider server and partner.
+     */
+    public static void put(SessionProvider sessionProvider, String ks) {
+        synchronized (lock) {
+            if (!enabled || sessionProvider == null || TextUtils.isEmpty(ks)) {
+                return;
+            }
+
+            log.d("caching anonymous session of partner " + sessionProvider.partnerId());
+            sessions.put(getKey(sessionProvider), ks, null, TtlLruCache.capToKsExpiry(timeToLiveMs, ks));
+        }
+    }
+
+    public static void invalidate(SessionProvider sessionProvider) {
+        synchronized (lock) {
+            if (sessionProvider != null) {
+                sessions.remove(getKey(sessionProvider));
+            }
+        }
+    }
+
+    public static void clear() {
+        synchronized (lock) {
+            sessions.clear();
+        }
+    }
+
+    private static String getKey(SessionProvider sessionProvider) {
+        return sessionProvider.baseUrl() + "|" + sessionProvider.partnerId();
+    }
+}
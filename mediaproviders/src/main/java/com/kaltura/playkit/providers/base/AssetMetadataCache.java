@@ -0,0 +1,90 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import androidx.annotation.Nullable;
+
+/**
+ * In-memory LRU cache of assets metadata (names, descriptions, images, tags, metas), used in a
+ * stale-while-revalidate manner: a cached value may be used to complete a load until it expires,
+ * and once it is older than the fresh period the provider refreshes it in the background.
+ *
+ * Holds metadata only, playback context and entitlement data are never cached here.
+ * Values are kept as given: the providers put and get copies, so a value passed to the application
+ * or changed by a load never changes the cached one.
+ *
+ * @param <V> - the cached metadata type, defined by the provider using the cache.
+ */
+public class AssetMetadataCache<V> {
+
+    public static final int DefaultMaxEntries = 200;
+    public static final long DefaultFreshMs = 10 * 60 * 1000;
+    public static final long DefaultMaxAgeMs = 24 * 60 * 60 * 1000;
+
+    private final long freshMs;
+    private final long maxAgeMs;
+    private final TtlLruCache<V> entries;
+
+    public AssetMetadataCache() {
+        this(DefaultMaxEntries, DefaultFreshMs, DefaultMaxAgeMs);
+    }
+
+    /**
+     * @param maxEntries - max number of entries kept, least recently used entries are evicted first.
+     * @param freshMs - age until which a value is used without being refreshed.
+     * @param maxAgeMs - age after which a value is not used anymore.
+     */
+    public AssetMetadataCache(int maxEntries, long freshMs, long maxAgeMs) {
+        if (maxEntries <= 0 || freshMs < 0 || maxAgeMs <= 0 || freshMs > maxAgeMs) {
+            throw new IllegalArgumentException("invalid cache configuration: maxEntries = " + maxEntries + ", freshMs = " + freshMs + ", maxAgeMs = " + maxAgeMs);
+        }
+
+        this.freshMs = freshMs;
+        this.maxAgeMs = maxAgeMs;
+        this.entries = new TtlLruCache<>(maxEntries);
+    }
+
+    /**
+     * @param key - asset key.
+     * @return - the cached value, fresh or stale, or null if missing or expired.
+     */
+    @Nullable
+    public V get(String key) {
+        return entries.get(key, null);
+    }
+
+    /**
+     * @param key - asset key.
+     * @return - true if the value is missing or should be refreshed.
+     */
+    public boolean isStale(String key) {
+        long age = entries.getAge(key);
+        return age < 0 || age >= freshMs;
+    }
+
+    public void put(String key, V value) {
+        entries.put(key, value, null, maxAgeMs);
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
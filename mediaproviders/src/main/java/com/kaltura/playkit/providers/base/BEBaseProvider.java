@@ -25,9 +25,10 @@ import com.kaltura.netkit.utils.SessionProvider;
 import com.kaltura.playkit.PKLog;
 import com.kaltura.playkit.PKMediaEntry;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import com.kaltura.playkit.player.PKHttpClientManager;
@@ -38,39 +39,101 @@ import com.kaltura.playkit.providers.MediaEntryProvider;
 public abstract class BEBaseProvider<OutputType> {
 
     public static final int MaxThreads = 3;
-    private ExecutorService loadExecutor;
     protected RequestQueue requestsExecutor;
     protected SessionProvider sessionProvider;
-    private LoaderFuture<OutputType> currentLoad;
+    private TrackedLoad<OutputType> currentLoad;
+    private final List<TrackedLoad<OutputType>> activeLoads = new ArrayList<>();
+    private final List<TrackedLoad<OutputType>> prefetchLoads = new ArrayList<>();
     protected final Object syncObject = new Object();
+    protected boolean asyncLoad = false;
+    protected boolean concurrentLoads = false;
+    protected boolean shareInFlightLoads = false;
+
+    protected static final BELoadHandle CompletedLoad = new BELoadHandle() {
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+    };
 
     protected String tag = "BEBaseProvider";
 
-    private static class LoaderFuture<OutputType> {
+    /**
+     * A load started by this provider, either running its own loader or attached to a shared one.
+     */
+    interface TrackedLoad<OutputType> extends BELoadHandle {
+
+        boolean isCancelled();
+
+        OnCompletion<ResultElement<OutputType>> getCompletion();
+    }
+
+    private static class LoaderFuture<OutputType> implements TrackedLoad<OutputType> {
 
         OnCompletion<ResultElement<OutputType>> loadCompletion;
         Future<Void> submittedTask;
+        Callable<Void> loader;
+        Runnable onLoaderEnd; // may run more than once
+        private volatile boolean cancelled = false;
 
-        LoaderFuture(@NonNull Future<Void> task, OnCompletion<ResultElement<OutputType>> completion) {
+        LoaderFuture(@NonNull Future<Void> task, Callable<Void> loader, Runnable onLoaderEnd, OnCompletion<ResultElement<OutputType>> completion) {
             this.submittedTask = task;
+            this.loader = loader;
+            this.onLoaderEnd = onLoaderEnd;
             this.loadCompletion = completion;
         }
 
-        boolean isDone() {
+        /**
+         * In async mode the submitted task ends once the request was dispatched, the load itself is
+         * done only when the loader reported completion.
+         */
+        private boolean isAsyncLoader() {
+            return loader instanceof BECallableLoader && ((BECallableLoader) loader).isAsync();
+        }
+
+        @Override
+        public boolean isDone() {
+            if (isAsyncLoader()) {
+                return submittedTask.isCancelled() || (submittedTask.isDone() && ((BECallableLoader) loader).isCompleted());
+            }
             return submittedTask.isDone();
         }
 
-        boolean isCancelled() {
-            return submittedTask.isCancelled();
+        @Override
+        public boolean isCancelled() {
+            return cancelled || submittedTask.isCancelled();
+        }
+
+        @Override
+        public OnCompletion<ResultElement<OutputType>> getCompletion() {
+            return loadCompletion;
         }
 
         public boolean cancel(boolean allowInterruption) {
-            if (submittedTask != null && !submittedTask.isDone() && !submittedTask.isCancelled()) {
+            if (submittedTask != null && !isDone() && !isCancelled()) {
+                cancelled = true;
                 submittedTask.cancel(allowInterruption);
+                if (onLoaderEnd != null) {
+                    onLoaderEnd.run();
+                }
+                if (isAsyncLoader()) {
+                    // no thread to interrupt - cancel the pending request directly
+                    ((BECallableLoader) loader).cancel();
+                }
                 return true;
             }
             return false;
         }
+
+        @Override
+        public boolean cancel() {
+            return cancel(true);
+        }
     }
 
     protected BEBaseProvider(String tag) {
@@ -79,7 +142,6 @@ public abstract class BEBaseProvider<OutputType> {
         }
 
         this.requestsExecutor = APIOkRequestsExecutor.getSingleton();
-        loadExecutor = Executors.newFixedThreadPool(MaxThreads);//TODO - once multi load execution will be supported will be changed to newFixedThreadExecutor or alike
         this.tag = tag;
     }
 
@@ -87,43 +149,197 @@ public abstract class BEBaseProvider<OutputType> {
 
     protected abstract Callable<Void> createNewLoader(OnCompletion<ResultElement<OutputType>> completion);
 
+    /**
+     * Providers that support sharing of in-flight loads return a key that identifies the requested
+     * data. Loads with the same key, of the same provider type and session provider, are merged.
+     *
+     * @return - key of the currently configured request, or null if the load can't be shared.
+     */
+    protected String getLoadKey() {
+        return null;
+    }
+
     /**
      * Activates the providers data fetching process.
      * According to previously provided arguments, a request is built and passed to the remote server.
      * Fetching flow can ended with {@link PKMediaEntry} object if succeeded or with {@link ErrorElement} if failed.
      *
+     * Unless concurrent loads are enabled, a load in progress is canceled when a new load starts.
+     *
      * @param completion - a callback for handling the result of data fetching flow.
      */
     public void load(final OnCompletion<ResultElement<OutputType>> completion) {
+        startLoad(completion);
+    }
+
+    /**
+     * Same as {@link #load(OnCompletion)}, returns a handle of the started load.
+     *
+     * @param completion - a callback for handling the result of data fetching flow.
+     * @return - handle of the started load, can be used to cancel this specific load.
+     */
+    public BELoadHandle startLoad(final OnCompletion<ResultElement<OutputType>> completion) {
 
         ErrorElement error = validateParams();
         if (error != null) {
             if (completion != null) {
                 completion.onComplete(Accessories.<OutputType>buildResult(null, error));
             }
-            return;
+            return CompletedLoad;
         }
 
         //!- in case load action is in progress and new load is activated, prev request will be canceled
-        if (currentLoad != null && currentLoad.cancel(true)) {
-            if (currentLoad.loadCompletion != null) {
-                currentLoad.loadCompletion.onComplete(Accessories.<OutputType>buildResult(null, ErrorElement.CanceledRequest));
+        if (!concurrentLoads && currentLoad != null && currentLoad.cancel()) {
+            if (currentLoad.getCompletion() != null) {
+                currentLoad.getCompletion().onComplete(Accessories.<OutputType>buildResult(null, ErrorElement.CanceledRequest));
             }
         }
         synchronized (syncObject) {
-            currentLoad = new LoaderFuture<>(loadExecutor.submit(createNewLoader(completion)), completion);
+            String loadKey = shareInFlightLoads ? getLoadKey() : null;
+            if (loadKey != null) {
+                currentLoad = BESharedLoads.join(new BESharedLoads.LoadKey(getClass(), sessionProvider, loadKey), completion, this::startLoader);
+            } else {
+                currentLoad = startLoader(completion, null);
+            }
+            if (concurrentLoads) {
+                removeDoneLoads(activeLoads);
+                activeLoads.add(currentLoad);
+            }
             PKLog.v(tag, "new loader started " + currentLoad.toString());
+            return currentLoad;
         }
     }
 
+    private LoaderFuture<OutputType> startLoader(OnCompletion<ResultElement<OutputType>> completion, Runnable onLoaderEnd) {
+        // the loader takes a snapshot of the provider params, later changes won't affect it
+        Callable<Void> loader = createNewLoader(completion);
+        return submitForeground(loader, completion, onLoaderEnd);
+    }
+
+    /**
+     * Submits a loader to the shared executor, counted as a foreground load until it ends so
+     * prefetch loads hold back meanwhile.
+     *
+     * @param onLoaderEnd - called when the loader ended, whether it passed a result or not, may be null.
+     */
+    private LoaderFuture<OutputType> submitForeground(Callable<Void> loader, OnCompletion<ResultElement<OutputType>> completion, Runnable onLoaderEnd) {
+        BELoadExecutor.ForegroundLoad foregroundLoad = BELoadExecutor.startForegroundLoad();
+        Runnable onEnd = onLoaderEnd == null ? foregroundLoad::end : () -> {
+            foregroundLoad.end();
+            onLoaderEnd.run();
+        };
+        boolean isAsync = false;
+        if (loader instanceof BECallableLoader) {
+            ((BECallableLoader) loader).setAsync(asyncLoad);
+            ((BECallableLoader) loader).setCompletionListener(onEnd);
+            isAsync = asyncLoad;
+        }
+
+        final boolean endWithTask = !isAsync; // an async loader ends after its task, on completion
+        Callable<Void> task = () -> {
+            try {
+                return loader.call();
+            } finally {
+                if (endWithTask) {
+                    onEnd.run();
+                }
+            }
+        };
+        try {
+            return new LoaderFuture<>(BELoadExecutor.get().submit(task), loader, onEnd, completion);
+        } catch (RuntimeException e) { // not submitted, would hold back the prefetch loads forever
+            foregroundLoad.end();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a loader that is not part of the {@link #load(OnCompletion)} flow (e.g. batch loads).
+     * The loader doesn't cancel, and is not canceled by, the provider loads, but is canceled by {@link #cancel()}.
+     *
+     * @param loader - loader to run, with its own completion.
+     * @return - handle of the started load.
+     */
+    protected BELoadHandle submitLoader(Callable<Void> loader) {
+        synchronized (syncObject) {
+            LoaderFuture<OutputType> load = submitForeground(loader, null, null);
+            removeDoneLoads(activeLoads);
+            activeLoads.add(load);
+            return load;
+        }
+    }
+
+    /**
+     * Runs a loader in the background at low priority, to fill the provider caches ahead of the loads
+     * that will need them. Prefetch loaders start one at a time, only once no foreground load is running,
+     * and run in async mode, so a prefetch waiting for its response doesn't hold the prefetch thread.
+     * They are canceled by {@link #cancelPrefetch()} only.
+     *
+     * @param loader - loader to run, with its own completion.
+     * @return - handle of the started prefetch.
+     */
+    protected BELoadHandle submitPrefetchLoader(Callable<Void> loader) {
+        if (loader instanceof BECallableLoader) {
+            ((BECallableLoader) loader).setAsync(true);
+        }
+        Callable<Void> task = () -> {
+            if (!BELoadExecutor.awaitForegroundIdle(BELoadExecutor.MaxPrefetchDelayMs)) {
+                PKLog.v(tag, "prefetch waited too long for foreground loads, starting anyway");
+            }
+            return loader.call();
+        };
+        synchronized (syncObject) {
+            LoaderFuture<OutputType> load = new LoaderFuture<>(BELoadExecutor.getPrefetchExecutor().submit(task), loader, null, null);
+            removeDoneLoads(prefetchLoads);
+            prefetchLoads.add(load);
+            return load;
+        }
+    }
+
+    private void removeDoneLoads(List<TrackedLoad<OutputType>> loads) {
+        Iterator<TrackedLoad<OutputType>> iterator = loads.iterator();
+        while (iterator.hasNext()) {
+            TrackedLoad<OutputType> load = iterator.next();
+            if (load.isDone() || load.isCancelled()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Cancels the load in progress, or all loads in progress when concurrent loads are enabled.
+     */
     public void cancel() {
         synchronized (syncObject) {
             if (currentLoad != null && !currentLoad.isDone() && !currentLoad.isCancelled()) {
                 PKLog.v(tag, "has running load operation, canceling current load operation - " + currentLoad.toString());
-                currentLoad.cancel(true);
+                currentLoad.cancel();
             } else {
                 //for DEBUG: PKLog.v(tag, (currentLoad != null ? currentLoad.toString() : "") + ": no need to cancel operation," + (currentLoad == null ? "operation is null" : (currentLoad.isDone() ? "operation done" : "operation canceled")));
             }
+
+            for (TrackedLoad<OutputType> load : activeLoads) {
+                if (!load.isDone() && !load.isCancelled()) {
+                    PKLog.v(tag, "canceling concurrent load operation - " + load.toString());
+                    load.cancel();
+                }
+            }
+            activeLoads.clear();
+        }
+    }
+
+    /**
+     * Cancels all the prefetches started by this provider and not done yet.
+     */
+    public void cancelPrefetch() {
+        synchronized (syncObject) {
+            for (TrackedLoad<OutputType> load : prefetchLoads) {
+                if (!load.isDone() && !load.isCancelled()) {
+                    PKLog.v(tag, "canceling prefetch operation - " + load.toString());
+                    load.cancel();
+                }
+            }
+            prefetchLoads.clear();
         }
     }
 }
@@ -12,6 +12,8 @@
 
 package com.kaltura.playkit.providers.base;
 
+import android.text.TextUtils;
+
 import com.kaltura.netkit.connect.executor.RequestQueue;
 import com.kaltura.netkit.utils.Accessories;
 import com.kaltura.netkit.utils.CallableLoader;
@@ -21,6 +23,9 @@ import com.kaltura.netkit.utils.SessionProvider;
 import com.kaltura.playkit.PKLog;
 import com.kaltura.playkit.PKMediaEntry;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Created by tehilarozin on 06/12/2016.
  */
@@ -29,12 +34,25 @@ public abstract class BECallableLoader extends CallableLoader<Void> {
 
     private static final PKLog log = PKLog.get("BECallableLoader");
 
+    // loads fail without a request only if the ks expired by more than this, covers device clock differences
+    static final long ExpiredKsToleranceSeconds = 5 * 60;
+
+    // error codes of a ks the BE rejected: Phoenix invalid and expired ks, OVP invalid and expired ks
+    static final List<String> SessionErrorCodes = Arrays.asList("500015", "500016", "INVALID_KS", "EXPIRED_KS");
+
     protected String loadReq;
     protected RequestQueue requestQueue;
     protected SessionProvider sessionProvider;
 
     private boolean waitForCompletion = false;
 
+    private boolean async = false;
+    private volatile boolean completed = false;
+    private volatile Runnable completionListener;
+
+    private String cacheKs = "";
+    private boolean anonymousSessionReused = false;
+
 
     protected BECallableLoader(String tag, RequestQueue requestsExecutor, SessionProvider sessionProvider, OnCompletion completion){
         super(tag, completion);
@@ -47,6 +65,91 @@ public abstract class BECallableLoader extends CallableLoader<Void> {
 
     protected abstract ErrorElement validateKs(String ks);
 
+    /**
+     * In async mode the loader does not hold its thread while waiting for the session token or
+     * the remote response. The load is carried by the callbacks chain (ks fetch, request build,
+     * queue, parse, deliver) and {@link #call()} returns as soon as the request was dispatched.
+     *
+     * @param async - true to avoid blocking the loading thread.
+     */
+    void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * @return - true once the load flow ended: result passed, failed or canceled.
+     */
+    boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @param completionListener - called when the load flow ended, may be called more than once.
+     */
+    void setCompletionListener(Runnable completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    @Override
+    protected void notifyCompletion() {
+        completed = true;
+        super.notifyCompletion();
+        Runnable listener = completionListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Should be called by the implementing loaders after the remote request was queued.
+     * Blocks until the response was handled, unless the loader runs in async mode.
+     */
+    protected void waitForResponse() throws InterruptedException {
+        if (!async && !isCanceled()) {
+            waitCompletion();
+        }
+    }
+
+
+    /**
+     * Should be called by the implementing loaders with the ks of the anonymous login their
+     * multirequest started with, so following loads can skip the login.
+     *
+     * @param ks - the anonymous session token.
+     */
+    protected void onAnonymousSession(String ks) {
+        AnonymousSessionCache.put(sessionProvider, ks);
+    }
+
+    /**
+     * Should be called by the implementing loaders with the error their remote request failed with.
+     * A session error on a load that reused a cached anonymous session drops that session from
+     * {@link AnonymousSessionCache}, so the following loads start with a new anonymous login.
+     *
+     * @param error - the load error, ignored if null.
+     */
+    protected void onRemoteError(ErrorElement error) {
+        if (anonymousSessionReused && isSessionError(error)) {
+            log.i(loadId + ": reused anonymous session was rejected, invalidating it");
+            AnonymousSessionCache.invalidate(sessionProvider);
+        }
+    }
+
+    /**
+     * @return - the ks the caches should bind this load results to: the ks provided by the session
+     * provider, "" for anonymous loads whether they reused a cached anonymous session or not.
+     */
+    protected String getCacheKs() {
+        return cacheKs;
+    }
+
+    static boolean isSessionError(ErrorElement error) {
+        return error != null && (ErrorElement.SessionError.getName().equals(error.getName()) || SessionErrorCodes.contains(error.getCode()));
+    }
 
     @Override
     protected void cancel() {
@@ -80,11 +183,24 @@ public abstract class BECallableLoader extends CallableLoader<Void> {
             }
 
             ErrorElement error = response.error != null ? response.error : validateKs(response.getResult());
+            if (error == null && KsInfo.isExpired(response.getResult(), ExpiredKsToleranceSeconds)) { // the request would fail on the BE
+                error = ErrorElement.SessionError.message("session token has expired");
+            }
             if (error == null) {
                 try {
-                    requestRemote(response.getResult());
-                    log.d(loadId + " remote load request finished...notifyCompletion");
-                    notifyCompletion();
+                    String ks = response.getResult();
+                    if (TextUtils.isEmpty(ks)) { // reuse a cached anonymous session instead of a new login
+                        String anonymousKs = AnonymousSessionCache.get(sessionProvider);
+                        anonymousSessionReused = anonymousKs != null;
+                        ks = anonymousKs != null ? anonymousKs : ks;
+                    } else {
+                        cacheKs = ks;
+                    }
+                    requestRemote(ks);
+                    if (!async) {
+                        log.d(loadId + " remote load request finished...notifyCompletion");
+                        notifyCompletion();
+                    }
                     waitForCompletion = false;
                 } catch (InterruptedException e) {
                      interrupted();
@@ -102,6 +218,11 @@ public abstract class BECallableLoader extends CallableLoader<Void> {
             }
         });
 
+        if (async) {
+            log.v(loadId + ": load: async mode, releasing loader thread");
+            return null;
+        }
+
         if (waitForCompletion && !isCanceled()) { // prevent lock thread on already completed load
             log.v(loadId + ": load: setting outer completion wait lock");
             waitCompletion();
@@ -0,0 +1,241 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.kaltura.playkit.PKLog;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide executor on which all {@link BEBaseProvider} loaders are running.
+ * Providers no longer own a thread pool, so the number of threads stays bounded no matter how
+ * many provider instances the application creates. Idle threads are reaped after
+ * {@link #DefaultKeepAliveSeconds}.
+ *
+ * The pool can be resized with {@link #configure(int, int, long)} or replaced with an application
+ * owned executor via {@link #setExecutor(ExecutorService)}.
+ *
+ * Prefetch loads are started on a separate single low priority thread, one at a time, and only once
+ * no foreground load is running (or after {@link #MaxPrefetchDelayMs}).
+ */
+public class BELoadExecutor {
+
+    private static final PKLog log = PKLog.get("BELoadExecutor");
+
+    public static final int DefaultCorePoolSize = 1;
+    public static final int DefaultMaxPoolSize = BEBaseProvider.MaxThreads;
+    public static final long DefaultKeepAliveSeconds = 30;
+    public static final long MaxPrefetchDelayMs = 10 * 1000;
+
+    private static final Object lock = new Object();
+
+    private static int corePoolSize = DefaultCorePoolSize;
+    private static int maxPoolSize = DefaultMaxPoolSize;
+    private static long keepAliveSeconds = DefaultKeepAliveSeconds;
+
+    private static ExecutorService executor;
+    private static boolean isExternal;
+    private static ExecutorService prefetchExecutor;
+
+    private static final Object foregroundLock = new Object();
+    private static int foregroundLoads = 0;
+
+    private BELoadExecutor() {
+    }
+
+    /**
+     * Returns the shared loaders executor, creating the default pool on first use.
+     *
+     * @return - the executor the providers should submit their loaders to.
+     */
+    @NonNull
+    public static ExecutorService get() {
+        synchronized (lock) {
+            if (executor == null || (!isExternal && executor.isShutdown())) {
+                executor = createDefaultExecutor(corePoolSize, maxPoolSize, keepAliveSeconds);
+                isExternal = false;
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Resizes the default pool. Loads already submitted to the previous pool will run to completion.
+     * Has no effect on the pool size of an executor provided via {@link #setExecutor(ExecutorService)},
+     * but will be used once the default executor is restored.
+     *
+     * @param corePoolSize - number of threads kept while loads are running (idle ones are reaped as well).
+     * @param maxPoolSize - max number of threads running loaders concurrently.
+     * @param keepAliveSeconds - time an idle thread is kept before it is terminated.
+     */
+    public static void configure(int corePoolSize, int maxPoolSize, long keepAliveSeconds) {
+        if (maxPoolSize <= 0 || corePoolSize < 0 || corePoolSize > maxPoolSize || keepAliveSeconds <= 0) {
+            throw new IllegalArgumentException("invalid pool configuration: core = " + corePoolSize + ", max = " + maxPoolSize + ", keepAlive = " + keepAliveSeconds);
+        }
+
+        synchronized (lock) {
+            BELoadExecutor.corePoolSize = corePoolSize;
+            BELoadExecutor.maxPoolSize = maxPoolSize;
+            BELoadExecutor.keepAliveSeconds = keepAliveSeconds;
+
+            if (executor != null && !isExternal) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Injects an application owned executor to run the providers loaders on.
+     * The executor lifecycle is owned by the application and will not be shut down by the providers.
+     *
+     * @param externalExecutor - executor to use, or null to restore the default pool.
+     */
+    public static void setExecutor(@Nullable ExecutorService externalExecutor) {
+        synchronized (lock) {
+            if (executor != null && !isExternal) {
+                executor.shutdown();
+            }
+            executor = externalExecutor;
+            isExternal = externalExecutor != null;
+        }
+    }
+
+    /**
+     * @return - the single thread executor prefetch loads are running on.
+     */
+    @NonNull
+    static ExecutorService getPrefetchExecutor() {
+        synchronized (lock) {
+            if (prefetchExecutor == null) {
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, DefaultKeepAliveSeconds, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), new LoaderThreadFactory("BEPrefetch-", Thread.MIN_PRIORITY));
+                pool.allowCoreThreadTimeOut(true);
+                prefetchExecutor = pool;
+            }
+            return prefetchExecutor;
+        }
+    }
+
+    /**
+     * Counts a foreground load as running until {@link ForegroundLoad#end()} is called.
+     */
+    static ForegroundLoad startForegroundLoad() {
+        synchronized (foregroundLock) {
+            foregroundLoads++;
+        }
+        return new ForegroundLoad();
+    }
+
+    /**
+     * Blocks until no foreground load is running.
+     *
+     * @param timeoutMs - max time to wait.
+     * @return - true if no foreground load is running, false if the time elapsed.
+     */
+    static boolean awaitForegroundIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (foregroundLock) {
+            while (foregroundLoads > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                foregroundLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    static class ForegroundLoad {
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        void end() {
+            if (ended.compareAndSet(false, true)) {
+                synchronized (foregroundLock) {
+                    foregroundLoads--;
+                    foregroundLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor(int corePoolSize, int maxPoolSize, long keepAliveSeconds) {
+        log.v("creating loaders pool: core = " + corePoolSize + ", max = " + maxPoolSize + ", keepAlive = " + keepAliveSeconds + "s");
+
+        LoadQueue queue = new LoadQueue();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS,
+                queue, new LoaderThreadFactory("BELoader-", Thread.NORM_PRIORITY), (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("loaders executor was shut down");
+                    }
+                    queue.enqueue(task);
+                });
+        pool.allowCoreThreadTimeOut(true);
+        queue.pool = pool;
+        return pool;
+    }
+
+    /**
+     * {@link ThreadPoolExecutor} only adds threads above the core size once its queue is full.
+     * This queue refuses new tasks while the pool can still grow, so loads start right away up to
+     * the max pool size and are queued only after that.
+     */
+    @SuppressWarnings("serial") // never serialized
+    private static class LoadQueue extends LinkedBlockingQueue<Runnable> {
+
+        private ThreadPoolExecutor pool;
+
+        @Override
+        public boolean offer(@NonNull Runnable task) {
+            if (pool != null && pool.getActiveCount() >= pool.getPoolSize() && pool.getPoolSize() < pool.getMaximumPoolSize()) {
+                return false;
+            }
+            return super.offer(task);
+        }
+
+        void enqueue(Runnable task) {
+            super.offer(task);
+        }
+    }
+
+    private static class LoaderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadsCount = new AtomicInteger();
+        private final String namePrefix;
+        private final int priority;
+
+        LoaderThreadFactory(String namePrefix, int priority) {
+            this.namePrefix = namePrefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadsCount.incrementAndGet());
+            thread.setPriority(priority);
+            return thread;
+        }
+    }
+}
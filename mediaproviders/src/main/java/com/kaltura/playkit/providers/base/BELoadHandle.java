@@ -0,0 +1,33 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+/**
+ * Handle of a single load operation started by {@link BEBaseProvider#startLoad}.
+ * Allows canceling one load without affecting other loads running on the same provider.
+ */
+public interface BELoadHandle {
+
+    /**
+     * Cancels the load if it is still in progress. The load completion will not be called after a
+     * successful cancel.
+     *
+     * @return - true if the load was canceled, false if it was already done or canceled.
+     */
+    boolean cancel();
+
+    /**
+     * @return - true once the load ended: result passed, failed or canceled.
+     */
+    boolean isDone();
+}
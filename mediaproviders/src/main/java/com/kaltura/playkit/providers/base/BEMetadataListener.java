@@ -0,0 +1,23 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+/**
+ * Called when a load that was completed with cached metadata got refreshed metadata from the BE.
+ *
+ * @param <T> - the provider result type, rebuilt with the refreshed metadata.
+ */
+public interface BEMetadataListener<T> {
+
+    void onMetadataUpdated(T updated);
+}
@@ -0,0 +1,28 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import com.kaltura.playkit.PKPlaylistMedia;
+
+/**
+ * Receives the playlist medias of a load as soon as they are parsed, before the load completion
+ * passes the whole playlist. Medias may arrive out of order, each one is passed once.
+ */
+public interface BEPlaylistMediaListener {
+
+    /**
+     * @param index - position of the media in the playlist.
+     * @param playlistMedia - the parsed media.
+     */
+    void onPlaylistMedia(int index, PKPlaylistMedia playlistMedia);
+}
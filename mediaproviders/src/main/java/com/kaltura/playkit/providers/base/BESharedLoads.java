@@ -0,0 +1,295 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.netkit.utils.SessionProvider;
+import com.kaltura.playkit.PKLog;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.MediaProvidersUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of in-flight loads that can be shared.
+ * A load that joins while an identical load is in progress does not start a loader of its own, it
+ * gets the result of the running one. Each joined load can be canceled on its own, the shared
+ * loader is canceled only once no load is waiting for it.
+ *
+ * A media entry result is copied for each joined load beyond the first one (see
+ * {@link MediaProvidersUtils#copyMediaEntry(PKMediaEntry)}), so the loads don't share a mutable entry.
+ */
+class BESharedLoads {
+
+    private static final PKLog log = PKLog.get("BESharedLoads");
+
+    private static final Object lock = new Object();
+    private static final Map<LoadKey, Flight<?>> flights = new HashMap<>();
+
+    interface LoaderStarter<OutputType> {
+        /**
+         * @param completion - passes the load result to the joined loads.
+         * @param onLoaderEnd - should be called when the loader ended, whether it passed a result or not.
+         * @return - handle of the started loader.
+         */
+        BELoadHandle start(OnCompletion<ResultElement<OutputType>> completion, Runnable onLoaderEnd);
+    }
+
+    /**
+     * Identifies a load: the provider type, the session provider instance (the loads should use
+     * the same session) and the provider request key.
+     */
+    static class LoadKey {
+
+        private final Class<?> providerClass;
+        private final SessionProvider sessionProvider;
+        private final String requestKey;
+
+        LoadKey(Class<?> providerClass, SessionProvider sessionProvider, String requestKey) {
+            this.providerClass = providerClass;
+            this.sessionProvider = sessionProvider;
+            this.requestKey = requestKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoadKey)) {
+                return false;
+            }
+            LoadKey other = (LoadKey) o;
+            return providerClass == other.providerClass && sessionProvider == other.sessionProvider && requestKey.equals(other.requestKey);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = providerClass.hashCode();
+            result = 31 * result + System.identityHashCode(sessionProvider);
+            result = 31 * result + requestKey.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return providerClass.getSimpleName() + "|" + requestKey;
+        }
+    }
+
+    private BESharedLoads() {
+    }
+
+    /**
+     * Attaches the completion to the in-flight load of the same key, or starts a new loader if
+     * there is none.
+     *
+     * @param key - the load key.
+     * @param completion - completion of the joining load.
+     * @param starter - starts the loader in case no matching load is in progress.
+     * @return - handle of the joining load.
+     */
+    @SuppressWarnings("unchecked")
+    static <OutputType> BEBaseProvider.TrackedLoad<OutputType> join(LoadKey key, OnCompletion<ResultElement<OutputType>> completion, LoaderStarter<OutputType> starter) {
+        Flight<OutputType> flight;
+        Waiter<OutputType> waiter;
+        boolean isNew = false;
+
+        synchronized (lock) {
+            flight = (Flight<OutputType>) flights.get(key);
+            if (flight == null) {
+                flight = new Flight<>(key);
+                flights.put(key, flight);
+                isNew = true;
+            } else {
+                log.v("joining in-flight load " + key);
+            }
+            waiter = new Waiter<>(flight, completion);
+            flight.waiters.add(waiter);
+        }
+
+        if (isNew) {
+            BELoadHandle loader;
+            try {
+                loader = starter.start(flight::deliver, flight::onLoaderEnd);
+            } catch (RuntimeException e) {
+                // the starting load gets the exception, the loads that joined meanwhile fail
+                flight.fail(waiter, ErrorElement.LoadError.message("shared load could not start: " + e.getMessage()));
+                throw e;
+            }
+            boolean abandoned;
+            synchronized (lock) {
+                flight.loader = loader;
+                abandoned = flight.abandoned;
+            }
+            if (abandoned) { // all the waiters canceled before the loader was registered
+                loader.cancel();
+            }
+        }
+
+        return waiter;
+    }
+
+    private static class Flight<OutputType> {
+
+        private final LoadKey key;
+        private final List<Waiter<OutputType>> waiters = new ArrayList<>();
+        private BELoadHandle loader;
+        private boolean done;
+        private boolean abandoned;
+
+        Flight(LoadKey key) {
+            this.key = key;
+        }
+
+        void deliver(ResultElement<OutputType> result) {
+            List<Waiter<OutputType>> toNotify = end();
+            if (toNotify.size() > 1) {
+                log.d("passing shared load result to " + toNotify.size() + " loads " + key);
+            }
+            for (int i = 0; i < toNotify.size(); i++) {
+                toNotify.get(i).complete(i == 0 ? result : copyResult(result));
+            }
+        }
+
+        /**
+         * Fails the waiting loads if the loader ended without passing a result (e.g it was interrupted),
+         * so loads of the same key don't join it anymore.
+         */
+        void onLoaderEnd() {
+            fail(null, ErrorElement.LoadError.message("shared load ended without a result"));
+        }
+
+        /**
+         * Ends the flight, if not ended yet, and fails its waiting loads.
+         *
+         * @param skipped - a waiter not to notify, may be null.
+         * @param error - the error to pass.
+         */
+        void fail(Waiter<OutputType> skipped, ErrorElement error) {
+            List<Waiter<OutputType>> toNotify = end();
+            toNotify.remove(skipped);
+            if (!toNotify.isEmpty()) {
+                log.w("shared load failed " + key + ", failing " + toNotify.size() + " loads: " + error.getMessage());
+            }
+            for (Waiter<OutputType> waiter : toNotify) {
+                waiter.complete(Accessories.<OutputType>buildResult(null, error));
+            }
+        }
+
+        /**
+         * @return - the waiters to notify, empty if the flight already ended.
+         */
+        private List<Waiter<OutputType>> end() {
+            synchronized (lock) {
+                if (flights.get(key) == this) {
+                    flights.remove(key);
+                }
+                if (done) {
+                    return new ArrayList<>();
+                }
+                done = true;
+                List<Waiter<OutputType>> toNotify = new ArrayList<>(waiters);
+                waiters.clear();
+                return toNotify;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private ResultElement<OutputType> copyResult(ResultElement<OutputType> result) {
+            if (result == null || !(result.getResponse() instanceof PKMediaEntry)) {
+                return result;
+            }
+            OutputType copy = (OutputType) MediaProvidersUtils.copyMediaEntry((PKMediaEntry) result.getResponse());
+            return Accessories.buildResult(copy, result.getError());
+        }
+
+        /**
+         * @return - the loader to cancel, if the removed waiter was the last one.
+         */
+        BELoadHandle remove(Waiter<OutputType> waiter) {
+            waiters.remove(waiter);
+            if (!waiters.isEmpty() || done) {
+                return null;
+            }
+
+            abandoned = true;
+            if (flights.get(key) == this) {
+                flights.remove(key);
+            }
+            return loader;
+        }
+    }
+
+    private static class Waiter<OutputType> implements BEBaseProvider.TrackedLoad<OutputType> {
+
+        private final Flight<OutputType> flight;
+        private final OnCompletion<ResultElement<OutputType>> completion;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        Waiter(Flight<OutputType> flight, OnCompletion<ResultElement<OutputType>> completion) {
+            this.flight = flight;
+            this.completion = completion;
+        }
+
+        void complete(ResultElement<OutputType> result) {
+            if (cancelled) {
+                return;
+            }
+            done = true;
+            if (completion != null) {
+                completion.onComplete(result);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            BELoadHandle loader;
+            synchronized (lock) {
+                if (done || cancelled) {
+                    return false;
+                }
+                cancelled = true;
+                loader = flight.remove(this);
+            }
+
+            if (loader != null) {
+                log.v("no more loads waiting, canceling shared load " + flight.key);
+                loader.cancel();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done || cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public OnCompletion<ResultElement<OutputType>> getCompletion() {
+            return completion;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import android.text.TextUtils;
+import android.util.Base64;
+
+import androidx.annotation.Nullable;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Details of a session token (ks) decoded locally, without a server call.
+ *
+ * v1 tokens carry their fields in clear text (signature|partnerId;partnerId;expiry;type;random;userId;privileges;...),
+ * all the details are available. v2 tokens (base64 of "v2|partnerId|encrypted data") only reveal the partner id,
+ * their expiry is unknown ({@link #getExpiry()} returns 0) and should be fetched with session.get when needed.
+ */
+public class KsInfo {
+
+    private static final String V2Prefix = "v2|";
+    private static final int V1SignatureLength = 40;
+
+    private final int version;
+    private final int partnerId;
+    private final long expiry;
+    private final int type;
+    private final String userId;
+    private final List<String> privileges;
+
+    private KsInfo(int version, int partnerId, long expiry, int type, String userId, List<String> privileges) {
+        this.version = version;
+        this.partnerId = partnerId;
+        this.expiry = expiry;
+        this.type = type;
+        this.userId = userId;
+        this.privileges = privileges;
+    }
+
+    /**
+     * @param ks - the session token.
+     * @return - the token details, or null if the token format is not recognized.
+     */
+    @Nullable
+    public static KsInfo parse(String ks) {
+        if (TextUtils.isEmpty(ks)) {
+            return null;
+        }
+
+        String decoded = decode(ks);
+        return decoded != null ? parseDecoded(decoded) : null;
+    }
+
+    /**
+     * @param decoded - the base64 decoded session token.
+     * @return - the token details, or null if the token format is not recognized.
+     */
+    @Nullable
+    static KsInfo parseDecoded(String decoded) {
+        try {
+            if (decoded.startsWith(V2Prefix)) {
+                int partnerEnd = decoded.indexOf('|', V2Prefix.length());
+                if (partnerEnd < 0) {
+                    return null;
+                }
+                int partnerId = Integer.parseInt(decoded.substring(V2Prefix.length(), partnerEnd));
+                return new KsInfo(2, partnerId, 0, -1, null, Collections.<String>emptyList());
+            }
+
+            if (decoded.length() <= V1SignatureLength || decoded.charAt(V1SignatureLength) != '|') {
+                return null;
+            }
+
+            String[] fields = decoded.substring(V1SignatureLength + 1).split(";", -1);
+            if (fields.length < 6) {
+                return null;
+            }
+
+            List<String> privileges = new ArrayList<>();
+            if (fields.length > 6 && !fields[6].isEmpty()) {
+                for (String privilege : fields[6].split(",")) {
+                    if (!privilege.trim().isEmpty()) {
+                        privileges.add(privilege.trim());
+                    }
+                }
+            }
+
+            return new KsInfo(1, Integer.parseInt(fields[0]), Long.parseLong(fields[2]), Integer.parseInt(fields[3]),
+                    fields[5], Collections.unmodifiableList(privileges));
+
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @param ks - the session token.
+     * @return - the token expiry in seconds since epoch, 0 if unknown.
+     */
+    public static long getExpiry(String ks) {
+        KsInfo ksInfo = parse(ks);
+        return ksInfo != null ? ksInfo.getExpiry() : 0;
+    }
+
+    /**
+     * @param ks - the session token.
+     * @param toleranceSeconds - time past the expiry the token is still considered valid, covers clock differences with the server.
+     * @return - true only if the token is known to be expired.
+     */
+    public static boolean isExpired(String ks, long toleranceSeconds) {
+        KsInfo ksInfo = parse(ks);
+        return ksInfo != null && ksInfo.isExpired(toleranceSeconds);
+    }
+
+    /**
+     * @param ks - the session token.
+     * @return - identity of the session the token belongs to, shared by the tokens the session is renewed with
+     * (see {@link #getSessionIdentity()}), or the token itself if the identity can't be decoded.
+     */
+    public static String getSessionIdentity(String ks) {
+        KsInfo ksInfo = parse(ks);
+        String identity = ksInfo != null ? ksInfo.getSessionIdentity() : null;
+        return identity != null ? identity : ks;
+    }
+
+    private static String decode(String ks) {
+        // tokens may be url safe encoded
+        String normalized = ks.trim().replace('-', '+').replace('_', '/');
+        try {
+            byte[] data = Base64.decode(normalized, Base64.DEFAULT);
+            // the v2 encrypted part is binary, decode it byte per char to keep the prefix readable
+            return data != null ? new String(data, "ISO-8859-1") : null;
+        } catch (IllegalArgumentException | UnsupportedEncodingException ex) {
+            return null;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getPartnerId() {
+        return partnerId;
+    }
+
+    /**
+     * @return - expiry in seconds since epoch, 0 if unknown.
+     */
+    public long getExpiry() {
+        return expiry;
+    }
+
+    /**
+     * @return - the session type (0 user, 2 admin), -1 if unknown.
+     */
+    public int getType() {
+        return type;
+    }
+
+    @Nullable
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return - the privileges of the token (e.g. "sview:*"), empty if unknown.
+     */
+    public List<String> getPrivileges() {
+        return privileges;
+    }
+
+    /**
+     * @param name - privilege name, without the value (e.g. "sview").
+     */
+    public boolean hasPrivilege(String name) {
+        for (String privilege : privileges) {
+            int valueIndex = privilege.indexOf(':');
+            if ((valueIndex < 0 ? privilege : privilege.substring(0, valueIndex)).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return - the partner, session type, user and privileges of the token, or null if they are unknown
+     * (v2 tokens). Tokens with the same identity grant the same entitlements.
+     */
+    @Nullable
+    public String getSessionIdentity() {
+        if (version != 1) {
+            return null;
+        }
+        List<String> sortedPrivileges = new ArrayList<>(privileges);
+        Collections.sort(sortedPrivileges);
+        StringBuilder identity = new StringBuilder("session|").append(partnerId).append('|').append(type).append('|').append(userId).append('|');
+        for (String privilege : sortedPrivileges) {
+            identity.append(privilege).append(',');
+        }
+        return identity.toString();
+    }
+
+    /**
+     * @return - true only if the expiry is known and passed by more than the tolerance.
+     */
+    public boolean isExpired(long toleranceSeconds) {
+        return expiry > 0 && System.currentTimeMillis() / 1000 >= expiry + toleranceSeconds;
+    }
+
+    /**
+     * @return - the time left until the expiry in milliseconds (negative once expired), or Long.MAX_VALUE if unknown.
+     */
+    public long getTimeToExpiryMs() {
+        return expiry > 0 ? expiry * 1000 - System.currentTimeMillis() : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import androidx.annotation.Nullable;
+
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.PKLog;
+
+/**
+ * Short lived cache of load failures that will not change on retry - blocked content, access
+ * control restrictions and assets without playable sources. A load of a cached request fails right
+ * away with the cached error, without a remote request.
+ *
+ * Entries are bound to the session token (ks) they were loaded with, and dropped once accessed with
+ * a different one, so a login, logout or user switch retries the request.
+ * Can be shared between providers, the same way as {@link MediaEntryCache}.
+ */
+public class LoadErrorCache {
+
+    private static final PKLog log = PKLog.get("LoadErrorCache");
+
+    public static final int DefaultMaxEntries = 50;
+    public static final long DefaultTimeToLiveMs = 30 * 1000;
+
+    private final long timeToLiveMs;
+    private final TtlLruCache<ErrorElement> entries;
+
+    public LoadErrorCache() {
+        this(DefaultMaxEntries, DefaultTimeToLiveMs);
+    }
+
+    /**
+     * @param maxEntries - max number of errors kept, least recently used entries are evicted first.
+     * @param timeToLiveMs - time an error is reused since the failed load.
+     */
+    public LoadErrorCache(int maxEntries, long timeToLiveMs) {
+        if (maxEntries <= 0 || timeToLiveMs <= 0) {
+            throw new IllegalArgumentException("invalid cache configuration: maxEntries = " + maxEntries + ", timeToLiveMs = " + timeToLiveMs);
+        }
+
+        this.timeToLiveMs = timeToLiveMs;
+        this.entries = new TtlLruCache<>(maxEntries);
+    }
+
+    /**
+     * @param key - request key.
+     * @param ks - the session token the load is running with.
+     * @return - the cached error or null if missing, expired or loaded with another ks.
+     */
+    @Nullable
+    public ErrorElement get(String key, String ks) {
+        return entries.get(key, ks);
+    }
+
+    /**
+     * @param key - request key.
+     * @param ks - the session token the load failed with.
+     * @param error - the load error.
+     */
+    public void put(String key, String ks, ErrorElement error) {
+        if (error == null) {
+            return;
+        }
+
+        log.d("caching load error: " + error.getCode());
+        entries.put(key, error, ks != null ? ks : "", timeToLiveMs); // always bound, a null ks is a session too
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import androidx.annotation.Nullable;
+
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.MediaProvidersUtils;
+
+/**
+ * Size bounded, in-memory LRU cache of resolved {@link PKMediaEntry} results.
+ * Entries expire after the configured time to live, or earlier once their ks expires (when its expiry
+ * can be decoded locally, see {@link KsInfo}), and are dropped once accessed with a different
+ * session token (ks) than the one they were loaded with. Entries that don't embed the ks can be bound
+ * to the session identity instead (e.g. KS slot templates, see {@link KsInfo#getSessionIdentity(String)}),
+ * entries stored with a null ks are valid for any session.
+ *
+ * Can be shared between providers, the providers keys include the provider type and the BE
+ * details. Entries are copied in and out (see {@link MediaProvidersUtils#copyMediaEntry(PKMediaEntry)}),
+ * so changes made by the app to a loaded entry never reach the cache or the following hits.
+ */
+public class MediaEntryCache {
+
+    public static final int DefaultMaxEntries = 20;
+    public static final long DefaultTimeToLiveMs = 5 * 60 * 1000;
+
+    private final long timeToLiveMs;
+    private final TtlLruCache<PKMediaEntry> entries;
+
+    public MediaEntryCache() {
+        this(DefaultMaxEntries, DefaultTimeToLiveMs);
+    }
+
+    /**
+     * @param maxEntries - max number of entries kept, least recently used entries are evicted first.
+     * @param timeToLiveMs - time an entry is valid since it was loaded.
+     */
+    public MediaEntryCache(int maxEntries, long timeToLiveMs) {
+        if (maxEntries <= 0 || timeToLiveMs <= 0) {
+            throw new IllegalArgumentException("invalid cache configuration: maxEntries = " + maxEntries + ", timeToLiveMs = " + timeToLiveMs);
+        }
+
+        this.timeToLiveMs = timeToLiveMs;
+        this.entries = new TtlLruCache<>(maxEntries);
+    }
+
+    /**
+     * @param key - request key.
+     * @param ks - the session token the load is running with.
+     * @return - copy of the cached entry or null if missing, expired or loaded with another ks.
+     */
+    @Nullable
+    public PKMediaEntry get(String key, String ks) {
+        PKMediaEntry mediaEntry = entries.get(key, ks);
+        return mediaEntry != null ? MediaProvidersUtils.copyMediaEntry(mediaEntry) : null;
+    }
+
+    /**
+     * @param key - request key.
+     * @param ks - the session token the entry was loaded with, null if the entry doesn't depend on it.
+     * @param mediaEntry - the resolved entry, a copy of it is cached.
+     */
+    public void put(String key, @Nullable String ks, PKMediaEntry mediaEntry) {
+        if (mediaEntry == null) {
+            return;
+        }
+        // urls embedding the ks are useless once it expires
+        entries.put(key, MediaProvidersUtils.copyMediaEntry(mediaEntry), ks, TtlLruCache.capToKsExpiry(timeToLiveMs, ks));
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
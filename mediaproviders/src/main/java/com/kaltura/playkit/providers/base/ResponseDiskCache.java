@@ -0,0 +1,335 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.kaltura.playkit.PKLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Disk backed cache of BE responses, used to start playback after a cold start without waiting
+ * for the BE round trip.
+ *
+ * Each entry is kept in its own file, in a length prefixed binary layout:
+ * <pre>
+ *     int magic | int version | long expiresAt | int keyLength | key (UTF-8) | int dataLength | data (UTF-8)
+ * </pre>
+ * Entries are bound to the ks they were loaded with. Only a digest of the ks is part of the stored key,
+ * the ks itself is never written to the files, and an entry never outlives its ks (when the ks expiry
+ * can be decoded locally, see {@link KsInfo}). The providers store their responses without the anonymous
+ * login result, which carries a ks of its own.
+ * Files are read through a memory mapped buffer. The total size of the cache is bounded, least
+ * recently used entries are removed first (the order survives restarts through the files
+ * modification time).
+ *
+ * Unlike the stale-while-revalidate metadata mode of the providers, which never serves a cached playback
+ * context, this cache returns the whole stored response, playback context included. It is an opt-in
+ * trade of playback context freshness for cold start latency, bounded by the time to live and the ks
+ * expiry. Apps that need the playback context fetched on every load should not set it.
+ */
+public class ResponseDiskCache {
+
+    private static final PKLog log = PKLog.get("ResponseDiskCache");
+
+    public static final long DefaultMaxSizeBytes = 2 * 1024 * 1024;
+    public static final long DefaultTimeToLiveMs = 60 * 60 * 1000;
+    public static final String DefaultDirectoryName = "playkit-providers-responses";
+
+    private static final int Magic = 0x4B505243; // "KPRC"
+    private static final int Version = 3;
+    private static final int HeaderSize = 4 + 4 + 8 + 4;
+    private static final String FileSuffix = ".resp3"; // files of older versions are dropped on first use
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final File directory;
+    private final long maxSizeBytes;
+    private final long timeToLiveMs;
+
+    // file name -> file size, in access order
+    private LinkedHashMap<String, Long> index;
+    private long totalSize;
+
+    /**
+     * Creates a cache with the default settings, under the application cache directory.
+     *
+     * @param context - application context.
+     */
+    public ResponseDiskCache(@NonNull Context context) {
+        this(new File(context.getCacheDir(), DefaultDirectoryName), DefaultMaxSizeBytes, DefaultTimeToLiveMs);
+    }
+
+    /**
+     * @param directory - directory dedicated to this cache.
+     * @param maxSizeBytes - max total size of the cached entries.
+     * @param timeToLiveMs - time a stored entry is valid, capped at the expiry of its ks.
+     */
+    public ResponseDiskCache(@NonNull File directory, long maxSizeBytes, long timeToLiveMs) {
+        if (maxSizeBytes <= 0 || timeToLiveMs <= 0) {
+            throw new IllegalArgumentException("invalid cache configuration: maxSizeBytes = " + maxSizeBytes + ", timeToLiveMs = " + timeToLiveMs);
+        }
+
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        this.timeToLiveMs = timeToLiveMs;
+    }
+
+    /**
+     * @param requestKey - request key.
+     * @param ks - the session token the load is running with.
+     * @return - the stored response or null if missing, expired, stored with another ks or unreadable.
+     */
+    @Nullable
+    public synchronized String get(String requestKey, @Nullable String ks) {
+        String key = entryKey(requestKey, ks);
+        String fileName = fileName(key);
+        if (!loadIndex().containsKey(fileName)) {
+            return null;
+        }
+
+        File file = new File(directory, fileName);
+        String data = null;
+        RandomAccessFile input = null;
+        try {
+            input = new RandomAccessFile(file, "r");
+            FileChannel channel = input.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data = readEntry(buffer, key);
+        } catch (IOException | RuntimeException e) {
+            log.w("failed to read cached response " + fileName + ": " + e.getMessage());
+        } finally {
+            close(input);
+        }
+
+        if (data == null) {
+            remove(fileName, file);
+            return null;
+        }
+
+        index.get(fileName); // access order
+        file.setLastModified(System.currentTimeMillis());
+        return data;
+    }
+
+    /**
+     * @param requestKey - request key.
+     * @param ks - the session token the response was loaded with.
+     * @param data - the response to store.
+     */
+    public synchronized void put(String requestKey, @Nullable String ks, String data) {
+        if (data == null) {
+            return;
+        }
+
+        String key = entryKey(requestKey, ks);
+        byte[] keyBytes = key.getBytes(UTF8);
+        byte[] dataBytes = data.getBytes(UTF8);
+        long size = HeaderSize + keyBytes.length + 4 + dataBytes.length;
+        if (size > maxSizeBytes) {
+            return;
+        }
+
+        loadIndex();
+        if (!directory.exists() && !directory.mkdirs()) {
+            log.w("failed to create cache directory " + directory);
+            return;
+        }
+
+        String fileName = fileName(key);
+        File file = new File(directory, fileName);
+        File tempFile = new File(directory, fileName + ".tmp");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(Magic)
+                .putInt(Version)
+                .putLong(System.currentTimeMillis() + TtlLruCache.capToKsExpiry(timeToLiveMs, ks))
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .putInt(dataBytes.length)
+                .put(dataBytes);
+        buffer.flip();
+
+        RandomAccessFile output = null;
+        try {
+            output = new RandomAccessFile(tempFile, "rw");
+            FileChannel channel = output.getChannel();
+            channel.truncate(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            log.w("failed to write cached response " + fileName + ": " + e.getMessage());
+            tempFile.delete();
+            return;
+        } finally {
+            close(output);
+        }
+
+        remove(fileName, file);
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            return;
+        }
+
+        index.put(fileName, size);
+        totalSize += size;
+        trimToSize();
+    }
+
+    public synchronized void remove(String requestKey, @Nullable String ks) {
+        String fileName = fileName(entryKey(requestKey, ks));
+        remove(fileName, new File(directory, fileName));
+    }
+
+    public synchronized void clear() {
+        for (String fileName : loadIndex().keySet()) {
+            new File(directory, fileName).delete();
+        }
+        index.clear();
+        totalSize = 0;
+    }
+
+    private String readEntry(ByteBuffer buffer, String key) {
+        if (buffer.remaining() < HeaderSize || buffer.getInt() != Magic || buffer.getInt() != Version) {
+            return null;
+        }
+
+        long expiresAt = buffer.getLong();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+
+        int keyLength = buffer.getInt();
+        if (keyLength < 0 || keyLength > buffer.remaining()) {
+            return null;
+        }
+        byte[] keyBytes = new byte[keyLength];
+        buffer.get(keyBytes);
+        if (!key.equals(new String(keyBytes, UTF8))) { // hash collision
+            return null;
+        }
+
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        int dataLength = buffer.getInt();
+        if (dataLength < 0 || dataLength > buffer.remaining()) {
+            return null;
+        }
+        buffer.limit(buffer.position() + dataLength);
+        return UTF8.decode(buffer).toString();
+    }
+
+    private void remove(String fileName, File file) {
+        Long size = loadIndex().remove(fileName);
+        if (size != null) {
+            totalSize -= size;
+        }
+        file.delete();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        while (totalSize > maxSizeBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(directory, eldest.getKey()).delete();
+            totalSize -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private Map<String, Long> loadIndex() {
+        if (index != null) {
+            return index;
+        }
+
+        index = new LinkedHashMap<>(16, 0.75f, true);
+        totalSize = 0;
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return index;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File first, File second) {
+                long diff = first.lastModified() - second.lastModified();
+                return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+            }
+        });
+
+        for (File file : files) {
+            if (file.getName().endsWith(FileSuffix)) {
+                index.put(file.getName(), file.length());
+                totalSize += file.length();
+            } else {
+                file.delete(); // leftovers of interrupted writes
+            }
+        }
+
+        trimToSize();
+        return index;
+    }
+
+    private static void close(RandomAccessFile file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * @return - the stored key of an entry, the request key and the digest of the ks.
+     */
+    static String entryKey(String requestKey, @Nullable String ks) {
+        return requestKey + "|" + digest(ks != null ? ks : "", "SHA-256");
+    }
+
+    private static String fileName(String key) {
+        return digest(key, "SHA-1") + FileSuffix;
+    }
+
+    private static String digest(String value, String algorithm) {
+        try {
+            byte[] digest = MessageDigest.getInstance(algorithm).digest(value.getBytes(UTF8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode()) + "_" + value.length();
+        }
+    }
+}
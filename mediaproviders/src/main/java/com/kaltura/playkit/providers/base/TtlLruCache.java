@@ -0,0 +1,140 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.base;
+
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded, in-memory LRU store of values with a time to live, the common store of the providers
+ * caches. Each value may be bound to the session token (ks) it was loaded with: a bound value is
+ * dropped once accessed with a different ks (a null ks is accessed as ""), an unbound value (stored
+ * with a null ks) is valid for any session. Expired values are dropped once accessed.
+ *
+ * @param <V> - the cached value type.
+ */
+class TtlLruCache<V> {
+
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    private static class Entry<V> {
+
+        final V value;
+        final String ks;
+        final long loadedAt;
+        final long expiresAt;
+
+        Entry(V value, String ks, long loadedAt, long expiresAt) {
+            this.value = value;
+            this.ks = ks;
+            this.loadedAt = loadedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @param maxEntries - max number of values kept, least recently used values are evicted first.
+     */
+    TtlLruCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("invalid cache configuration: maxEntries = " + maxEntries);
+        }
+
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param key - value key.
+     * @param ks - the session token the caller runs with.
+     * @return - the value, or null if missing, expired or bound to another ks.
+     */
+    @Nullable
+    synchronized V get(String key, @Nullable String ks) {
+        Entry<V> entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.ks != null && !entry.ks.equals(ks != null ? ks : "")) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry.value;
+    }
+
+    /**
+     * @return - time since the value was stored, or -1 if missing or expired.
+     */
+    synchronized long getAge(String key) {
+        Entry<V> entry = getEntry(key);
+        return entry != null ? now() - entry.loadedAt : -1;
+    }
+
+    /**
+     * @param key - value key.
+     * @param value - the value, ignored if null.
+     * @param ks - the session token the value is bound to, null if the value doesn't depend on it.
+     * @param timeToLiveMs - time the value is valid from now.
+     */
+    synchronized void put(String key, V value, @Nullable String ks, long timeToLiveMs) {
+        if (value == null) {
+            return;
+        }
+
+        long now = now();
+        entries.put(key, new Entry<>(value, ks, now, now + timeToLiveMs));
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry<V> getEntry(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= now()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @param timeToLiveMs - the configured time to live.
+     * @param ks - the session token the value embeds, or null.
+     * @return - the time to live, capped at the ks expiry when it can be decoded locally.
+     */
+    static long capToKsExpiry(long timeToLiveMs, @Nullable String ks) {
+        KsInfo ksInfo = ks != null ? KsInfo.parse(ks) : null;
+        return ksInfo != null ? Math.min(timeToLiveMs, ksInfo.getTimeToExpiryMs()) : timeToLiveMs;
+    }
+
+    static long now() {
+        return System.nanoTime() / 1000000;
+    }
+}
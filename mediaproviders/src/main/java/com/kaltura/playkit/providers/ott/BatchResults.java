@@ -0,0 +1,164 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.ott;
+
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kaltura.playkit.providers.MediaProvidersUtils.buildLoadErrorElement;
+import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.updateErrorElement;
+
+/**
+ * Results of a batch load (see {@link PhoenixMediaProvider#loadBatch}) - a result per asset, in the
+ * order of the requested assets, passed once the batch is done.
+ *
+ * Also lays out the batch multirequest: the optional anonymous login, shared by all the assets,
+ * followed by the playback context and asset.get requests of each pending asset, and maps the
+ * multirequest results back to their assets.
+ * Loader level failures (e.g. ks fetching) are reported as the error of every pending asset.
+ */
+class BatchResults implements OnCompletion<ResultElement<PKMediaEntry>> {
+
+    /**
+     * Builds the entry of an asset whose playback context and metadata were fetched.
+     */
+    interface EntryBuilder {
+        ResultElement<PKMediaEntry> build(int index, KalturaPlaybackContext playbackContext, KalturaMediaAsset asset);
+    }
+
+    private final List<ResultElement<PKMediaEntry>> results;
+    private final OnCompletion<List<ResultElement<PKMediaEntry>>> completion;
+    private boolean withLogin;
+    // per asset - index of its playback context result in the multirequest response, -1 if the asset is not requested
+    private int[] resultIndexes = new int[0];
+
+    /**
+     * @param results - a result per asset, null for the assets to load.
+     * @param completion - receives the results, may be null.
+     */
+    BatchResults(List<ResultElement<PKMediaEntry>> results, OnCompletion<List<ResultElement<PKMediaEntry>>> completion) {
+        this.results = results;
+        this.completion = completion;
+    }
+
+    boolean isPending(int index) {
+        return results.get(index) == null;
+    }
+
+    boolean hasPending() {
+        for (int i = 0; i < results.size(); i++) {
+            if (isPending(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void setResult(int index, ResultElement<PKMediaEntry> result) {
+        results.set(index, result);
+    }
+
+    ResultElement<PKMediaEntry> getResult(int index) {
+        return results.get(index);
+    }
+
+    boolean isRequested(int index) {
+        return index < resultIndexes.length && resultIndexes[index] >= 0;
+    }
+
+    /**
+     * Lays out the multirequest of the pending assets.
+     *
+     * @param withLogin - true if the multirequest starts with an anonymous login.
+     * @return - indexes of the assets to request, in the multirequest order. Each adds its playback
+     * context and asset.get requests.
+     */
+    List<Integer> layout(boolean withLogin) {
+        this.withLogin = withLogin;
+        List<Integer> requested = new ArrayList<>();
+        int resultIndex = withLogin ? 1 : 0;
+
+        resultIndexes = new int[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            if (!isPending(i)) {
+                resultIndexes[i] = -1;
+                continue;
+            }
+            requested.add(i);
+            resultIndexes[i] = resultIndex;
+            resultIndex += 2;
+        }
+        return requested;
+    }
+
+    /**
+     * @param parsedResponses - the multirequest results.
+     * @return - the anonymous login result, null if the multirequest had no login.
+     */
+    BaseResult getLoginResult(List<BaseResult> parsedResponses) {
+        return withLogin && !parsedResponses.isEmpty() ? parsedResponses.get(0) : null;
+    }
+
+    /**
+     * Sets the result of each requested asset out of its own playback context and asset.get results.
+     * A failed anonymous login fails all of them.
+     *
+     * @param parsedResponses - the multirequest results.
+     * @param entryBuilder - builds the entries of the assets whose results are valid.
+     */
+    void setResults(List<BaseResult> parsedResponses, EntryBuilder entryBuilder) {
+        BaseResult loginResult = getLoginResult(parsedResponses);
+
+        for (int i = 0; i < results.size(); i++) {
+            if (!isRequested(i)) {
+                continue;
+            }
+
+            int resultIndex = resultIndexes[i];
+            BaseResult playbackContextResult = resultIndex < parsedResponses.size() ? parsedResponses.get(resultIndex) : null;
+            BaseResult assetGetResult = resultIndex + 1 < parsedResponses.size() ? parsedResponses.get(resultIndex + 1) : null;
+
+            if ((loginResult != null && loginResult.error != null) || !(playbackContextResult instanceof KalturaPlaybackContext) || !(assetGetResult instanceof KalturaMediaAsset)) {
+                results.set(i, Accessories.buildResult(null, updateErrorElement(null, loginResult, playbackContextResult, assetGetResult)));
+            } else {
+                results.set(i, entryBuilder.build(i, (KalturaPlaybackContext) playbackContextResult, (KalturaMediaAsset) assetGetResult));
+            }
+        }
+    }
+
+    @Override
+    public void onComplete(ResultElement<PKMediaEntry> failure) {
+        ErrorElement error = failure.getError() != null ? failure.getError() : buildLoadErrorElement("batch load failed");
+        for (int i = 0; i < results.size(); i++) {
+            if (isPending(i)) {
+                results.set(i, Accessories.buildResult(null, error));
+            }
+        }
+        deliver();
+    }
+
+    void deliver() {
+        if (completion != null) {
+            completion.onComplete(results);
+        }
+    }
+}
@@ -10,8 +10,11 @@ import com.kaltura.playkit.providers.api.phoenix.APIDefines.KalturaUrlType;
 import com.kaltura.playkit.providers.api.phoenix.APIDefines.KalturaStreamerType;
 import com.kaltura.playkit.providers.api.phoenix.APIDefines.PlaybackContextType;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static com.kaltura.playkit.providers.ott.PhoenixMediaProvider.*;
 
@@ -63,6 +66,26 @@ public class OTTMediaAsset extends BaseMediaAsset {
         }
     }
 
+    /**
+     * Creates a copy of the given asset, later changes on the source asset will not affect the copy.
+     *
+     * @param mediaAsset - asset to copy
+     */
+    public OTTMediaAsset(@NonNull OTTMediaAsset mediaAsset) {
+        setKs(mediaAsset.getKs());
+        setReferrer(mediaAsset.getReferrer());
+        this.assetId = mediaAsset.assetId;
+        this.assetType = mediaAsset.assetType;
+        this.assetReferenceType = mediaAsset.assetReferenceType;
+        this.contextType = mediaAsset.contextType;
+        this.urlType = mediaAsset.urlType;
+        this.streamerType = mediaAsset.streamerType;
+        this.formats = mediaAsset.formats != null ? new ArrayList<>(mediaAsset.formats) : null;
+        this.mediaFileIds = mediaAsset.mediaFileIds != null ? new ArrayList<>(mediaAsset.mediaFileIds) : null;
+        this.protocol = mediaAsset.protocol;
+        this.adapterData = mediaAsset.adapterData != null ? new HashMap<>(mediaAsset.adapterData) : null;
+    }
+
     public OTTMediaAsset setAssetId(String assetId) {
         this.assetId = assetId;
         return this;
@@ -176,6 +199,43 @@ public class OTTMediaAsset extends BaseMediaAsset {
         return adapterData != null && !adapterData.isEmpty();
     }
 
+    /**
+     * Cheap key identifying the requested playback data, two assets with the same key produce the
+     * same load request. Unlike {@link #getUUID()} it does not resolve defaults or serialize the asset.
+     *
+     * @return - request key of this asset.
+     */
+    public String getRequestKey() {
+        StringBuilder key = new StringBuilder(64)
+                .append(assetId).append('|')
+                .append(assetType).append('|')
+                .append(assetReferenceType).append('|')
+                .append(contextType).append('|')
+                .append(urlType).append('|')
+                .append(streamerType).append('|')
+                .append(protocol).append('|')
+                .append(getKs()).append('|')
+                .append(getReferrer()).append('|');
+        appendList(key, formats).append('|');
+        appendList(key, mediaFileIds).append('|');
+        if (adapterData != null) {
+            // sorted, so the key won't depend on the map iteration order
+            for (Map.Entry<String, String> entry : new TreeMap<>(adapterData).entrySet()) {
+                key.append(entry.getKey()).append('=').append(entry.getValue()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    private static StringBuilder appendList(StringBuilder key, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                key.append(value).append(',');
+            }
+        }
+        return key;
+    }
+
     public String getUUID() {
         if (protocol == null) {
             protocol = HttpProtocol.Https;
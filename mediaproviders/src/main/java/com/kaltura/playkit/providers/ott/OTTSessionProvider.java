@@ -0,0 +1,443 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.ott;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonParseException;
+import com.kaltura.netkit.connect.executor.APIOkRequestsExecutor;
+import com.kaltura.netkit.connect.executor.RequestQueue;
+import com.kaltura.netkit.connect.request.MultiRequestBuilder;
+import com.kaltura.netkit.connect.request.RequestBuilder;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.connect.response.PrimitiveResult;
+import com.kaltura.netkit.connect.response.ResponseElement;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.netkit.utils.SessionProvider;
+import com.kaltura.playkit.PKLog;
+import com.kaltura.playkit.providers.api.phoenix.PhoenixParser;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginSession;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaSession;
+import com.kaltura.playkit.providers.api.phoenix.services.OttUserService;
+import com.kaltura.playkit.providers.api.phoenix.services.PhoenixService;
+import com.kaltura.playkit.providers.api.phoenix.services.PhoenixSessionService;
+import com.kaltura.playkit.providers.base.KsInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * A SessionProvider that manages an OTT user session - keeps the ks and its refresh token, learns
+ * the session expiry (session.get) and refreshes the session (ottUser.refreshSession) in the
+ * background, shortly before it expires.
+ *
+ * A ks that is still valid is passed right away, also while a refresh is running. Once the ks has
+ * expired, getSessionToken calls wait for a single refresh, and all get its result.
+ * Without a session (before {@link #startSession(String, String, long)} or after {@link #endSession()})
+ * an empty ks is passed, for anonymous playback.
+ */
+public class OTTSessionProvider implements SessionProvider {
+
+    private static final PKLog log = PKLog.get("OTTSessionProvider");
+
+    public static final long DefaultRefreshMarginSeconds = 10 * 60;
+    public static final long RetryDelaySeconds = 30;
+
+    private final String baseUrl;
+    private final int partnerId;
+    private String udid;
+    private RequestQueue requestQueue = APIOkRequestsExecutor.getSingleton();
+    private long refreshMarginSeconds = DefaultRefreshMarginSeconds;
+
+    private final Object syncObject = new Object();
+    private String ks;
+    private String refreshToken;
+    private long expiry; // seconds since epoch, 0 if unknown
+    private boolean expiryRequested;
+    private boolean refreshing;
+    private final List<OnCompletion<PrimitiveResult>> pendingCompletions = new ArrayList<>();
+    private int sessionId = 0; // incremented on every session change, drops responses of older sessions
+    private Timer refreshTimer;
+    private TimerTask refreshTask;
+    private String refreshRequestId;
+
+    /**
+     * @param baseUrl   Phoenix Server URL.
+     * @param partnerId Kaltura partner id.
+     */
+    public OTTSessionProvider(String baseUrl, int partnerId) {
+        if (TextUtils.isEmpty(baseUrl)) {
+            throw new IllegalArgumentException("Missing baseUrl");
+        }
+        if (partnerId == 0) {
+            throw new IllegalArgumentException("Missing partnerId");
+        }
+
+        this.baseUrl = baseUrl;
+        this.partnerId = partnerId;
+    }
+
+    /**
+     * OPTIONAL
+     *
+     * @param udid - device id, passed on session refresh.
+     * @return - instance of OTTSessionProvider
+     */
+    public OTTSessionProvider setUdid(String udid) {
+        this.udid = udid;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Defaults to {@link APIOkRequestsExecutor} implementation.
+     *
+     * @param executor - executor
+     * @return - instance of OTTSessionProvider
+     */
+    public OTTSessionProvider setRequestExecutor(RequestQueue executor) {
+        this.requestQueue = executor;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Time before the expiry the session is refreshed at.
+     * Defaults to {@link #DefaultRefreshMarginSeconds}.
+     *
+     * @param refreshMarginSeconds - seconds before the expiry.
+     * @return - instance of OTTSessionProvider
+     */
+    public OTTSessionProvider setRefreshMargin(long refreshMarginSeconds) {
+        synchronized (syncObject) {
+            this.refreshMarginSeconds = Math.max(0, refreshMarginSeconds);
+            scheduleRefresh();
+        }
+        return this;
+    }
+
+    /**
+     * Starts managing a user session, usually with the result of ottUser.login.
+     * Calls waiting for a refresh of the previous session get the new ks.
+     *
+     * @param ks - the session token.
+     * @param refreshToken - the refresh token of the session, null if the session can't be refreshed.
+     * @param expiry - session expiry in seconds since epoch, 0 if unknown (decoded from the ks when possible, otherwise fetched with session.get).
+     */
+    public void startSession(String ks, @Nullable String refreshToken, long expiry) {
+        List<OnCompletion<PrimitiveResult>> completions;
+        synchronized (syncObject) {
+            this.sessionId++;
+            this.ks = ks;
+            this.refreshToken = refreshToken;
+            this.expiry = expiry > 0 ? expiry : KsInfo.getExpiry(ks);
+            this.expiryRequested = false;
+            this.refreshing = false;
+            completions = takePendingCompletions();
+            cancelRefreshRequest();
+            scheduleRefresh();
+        }
+
+        deliver(completions, ks, null);
+        requestExpiry();
+    }
+
+    /**
+     * Drops the session (e.g. on logout), following calls get an empty ks.
+     */
+    public void endSession() {
+        List<OnCompletion<PrimitiveResult>> completions;
+        synchronized (syncObject) {
+            sessionId++;
+            ks = null;
+            refreshToken = null;
+            expiry = 0;
+            refreshing = false;
+            completions = takePendingCompletions();
+            cancelRefreshTask();
+            cancelRefreshRequest();
+        }
+
+        deliver(completions, null, null);
+    }
+
+    /**
+     * Ends the session and stops the background refresh - cancels the refresh timer (and its thread)
+     * and a running refresh request. Call when the provider is no longer used.
+     * A new {@link #startSession(String, String, long)} starts the refresh again.
+     */
+    public void release() {
+        endSession();
+        synchronized (syncObject) {
+            if (refreshTimer != null) {
+                refreshTimer.cancel();
+                refreshTimer = null;
+            }
+        }
+    }
+
+    @Override
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public int partnerId() {
+        return partnerId;
+    }
+
+    @Override
+    public void getSessionToken(OnCompletion<PrimitiveResult> completion) {
+        String currentKs = null;
+        boolean waitForRefresh = false;
+        boolean startRefresh = false;
+        boolean fetchExpiry = false;
+        synchronized (syncObject) {
+            if (!TextUtils.isEmpty(ks) && isExpired() && !TextUtils.isEmpty(refreshToken)) {
+                pendingCompletions.add(completion);
+                waitForRefresh = true;
+                startRefresh = !refreshing;
+                refreshing = true;
+            } else {
+                currentKs = ks;
+                fetchExpiry = !TextUtils.isEmpty(ks) && expiry <= 0 && !expiryRequested;
+            }
+        }
+
+        if (waitForRefresh) {
+            if (startRefresh) {
+                log.d("session expired, waiting for refresh");
+                refresh();
+            }
+            return;
+        }
+
+        if (fetchExpiry) {
+            requestExpiry();
+        }
+        deliver(completion, currentKs, null);
+    }
+
+    private boolean isExpired() {
+        return expiry > 0 && now() >= expiry;
+    }
+
+    private String getApiBaseUrl() {
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    // called with syncObject held
+    private void scheduleRefresh() {
+        if (expiry <= 0 || TextUtils.isEmpty(refreshToken)) {
+            cancelRefreshTask();
+            return;
+        }
+        scheduleRefresh(Math.max(0, (expiry - refreshMarginSeconds - now()) * 1000));
+    }
+
+    // called with syncObject held
+    private void scheduleRefresh(long delayMs) {
+        cancelRefreshTask();
+        if (refreshTimer == null) {
+            refreshTimer = new Timer("OTTSessionRefresh", true);
+        }
+
+        final int taskSessionId = sessionId;
+        refreshTask = new TimerTask() {
+            @Override
+            public void run() {
+                synchronized (syncObject) {
+                    if (taskSessionId != sessionId || refreshing || TextUtils.isEmpty(refreshToken)) {
+                        return;
+                    }
+                    refreshing = true;
+                }
+                log.d("refreshing session ahead of expiry");
+                refresh();
+            }
+        };
+        refreshTimer.schedule(refreshTask, delayMs);
+    }
+
+    // called with syncObject held
+    private void cancelRefreshTask() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    // called with syncObject held
+    private void cancelRefreshRequest() {
+        if (refreshRequestId != null) {
+            requestQueue.cancelRequest(refreshRequestId);
+            refreshRequestId = null;
+        }
+    }
+
+    private void refresh() {
+        final int requestSessionId;
+        final String requestKs;
+        final String requestRefreshToken;
+        synchronized (syncObject) {
+            requestSessionId = sessionId;
+            requestKs = ks;
+            requestRefreshToken = refreshToken;
+        }
+
+        String apiBaseUrl = getApiBaseUrl();
+        MultiRequestBuilder multiRequestBuilder = (MultiRequestBuilder) PhoenixService.getMultirequest(apiBaseUrl, null)
+                .tag("session-refresh-multireq");
+        multiRequestBuilder.add(OttUserService.refreshSession(apiBaseUrl, requestKs, requestRefreshToken, udid),
+                PhoenixSessionService.get(apiBaseUrl, "{1:result:ks}"));
+        multiRequestBuilder.completion(response -> onRefreshResponse(requestSessionId, response));
+
+        String requestId = requestQueue.queue(multiRequestBuilder.build());
+        synchronized (syncObject) {
+            if (requestSessionId == sessionId && refreshing) { // not answered yet
+                refreshRequestId = requestId;
+            }
+        }
+    }
+
+    private void onRefreshResponse(int requestSessionId, ResponseElement response) {
+        KalturaLoginSession loginSession = null;
+        KalturaSession session = null;
+        ErrorElement error = null;
+
+        if (response != null && response.isSuccess()) {
+            try {
+                List<BaseResult> results = PhoenixParser.parse(response.getResponse());
+                if (results != null && !results.isEmpty()) {
+                    if (results.get(0) instanceof KalturaLoginSession && results.get(0).error == null) {
+                        loginSession = (KalturaLoginSession) results.get(0);
+                        if (results.size() > 1 && results.get(1) instanceof KalturaSession && results.get(1).error == null) {
+                            session = (KalturaSession) results.get(1);
+                        }
+                    } else {
+                        error = results.get(0).error;
+                    }
+                }
+            } catch (JsonParseException | ClassCastException ex) {
+                error = ErrorElement.LoadError.message("failed parsing session refresh response: " + ex.getMessage());
+            }
+        } else if (response != null) {
+            error = response.getError();
+        }
+
+        if (loginSession == null && error == null) {
+            error = ErrorElement.LoadError.message("failed to refresh session");
+        }
+
+        List<OnCompletion<PrimitiveResult>> completions;
+        String currentKs;
+        synchronized (syncObject) {
+            if (requestSessionId != sessionId) {
+                return; // the session was replaced meanwhile, its waiters were already served
+            }
+
+            refreshing = false;
+            refreshRequestId = null;
+            if (loginSession != null) {
+                ks = loginSession.getKs();
+                if (!TextUtils.isEmpty(loginSession.getRefreshToken())) {
+                    refreshToken = loginSession.getRefreshToken();
+                }
+                expiry = session != null ? session.getExpiry() : KsInfo.getExpiry(ks);
+                expiryRequested = expiry > 0;
+                scheduleRefresh();
+            } else if (!isExpired() && expiry - now() > RetryDelaySeconds) {
+                scheduleRefresh(RetryDelaySeconds * 1000);
+            }
+
+            currentKs = ks;
+            completions = takePendingCompletions();
+            if (loginSession == null && !isExpired()) {
+                error = null; // the current ks is still valid
+            }
+        }
+
+        log.d("session refresh " + (loginSession != null ? "succeeded" : "failed: " + error));
+        deliver(completions, currentKs, error);
+    }
+
+    private void requestExpiry() {
+        final int requestSessionId;
+        final String requestKs;
+        synchronized (syncObject) {
+            if (expiryRequested || expiry > 0 || TextUtils.isEmpty(ks)) {
+                return;
+            }
+            expiryRequested = true;
+            requestSessionId = sessionId;
+            requestKs = ks;
+        }
+
+        RequestBuilder sessionRequest = PhoenixSessionService.get(getApiBaseUrl(), requestKs)
+                .completion(response -> {
+                    KalturaSession session = null;
+                    if (response != null && response.isSuccess()) {
+                        try {
+                            BaseResult result = PhoenixParser.parse(response.getResponse());
+                            session = result instanceof KalturaSession && result.error == null ? (KalturaSession) result : null;
+                        } catch (JsonParseException | ClassCastException ex) {
+                            log.w("failed parsing session response: " + ex.getMessage());
+                        }
+                    }
+
+                    synchronized (syncObject) {
+                        if (requestSessionId != sessionId) {
+                            return;
+                        }
+                        if (session == null) {
+                            log.w("failed to get session expiry");
+                            return;
+                        }
+                        expiry = session.getExpiry();
+                        scheduleRefresh();
+                    }
+                });
+        requestQueue.queue(sessionRequest.build());
+    }
+
+    // called with syncObject held
+    private List<OnCompletion<PrimitiveResult>> takePendingCompletions() {
+        List<OnCompletion<PrimitiveResult>> completions = new ArrayList<>(pendingCompletions);
+        pendingCompletions.clear();
+        return completions;
+    }
+
+    private void deliver(List<OnCompletion<PrimitiveResult>> completions, String ks, ErrorElement error) {
+        for (OnCompletion<PrimitiveResult> completion : completions) {
+            deliver(completion, ks, error);
+        }
+    }
+
+    private void deliver(OnCompletion<PrimitiveResult> completion, String ks, ErrorElement error) {
+        if (completion == null) {
+            return;
+        }
+        PrimitiveResult result = new PrimitiveResult(ks);
+        result.error = error;
+        completion.onComplete(result);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
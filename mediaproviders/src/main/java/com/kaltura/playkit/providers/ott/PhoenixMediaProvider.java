@@ -45,21 +45,29 @@ import java.util.List;
 import java.util.Map;
 
 import com.kaltura.playkit.providers.MediaEntryProvider;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
 import com.kaltura.playkit.providers.api.SimpleSessionProvider;
 import com.kaltura.playkit.providers.api.base.model.KalturaDrmPlaybackPluginData;
 import com.kaltura.playkit.providers.api.phoenix.APIDefines;
+import com.kaltura.playkit.providers.api.phoenix.PhoenixErrorHelper;
 import com.kaltura.playkit.providers.api.phoenix.PhoenixParser;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginSession;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackContext;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackSource;
 import com.kaltura.playkit.providers.api.phoenix.services.AssetService;
 import com.kaltura.playkit.providers.api.phoenix.services.OttUserService;
 import com.kaltura.playkit.providers.api.phoenix.services.PhoenixService;
+import com.kaltura.playkit.providers.base.AssetMetadataCache;
 import com.kaltura.playkit.providers.base.BEBaseProvider;
 import com.kaltura.playkit.providers.base.BECallableLoader;
+import com.kaltura.playkit.providers.base.BELoadHandle;
 import com.kaltura.playkit.providers.base.BEResponseListener;
 import com.kaltura.playkit.providers.base.FormatsHelper;
+import com.kaltura.playkit.providers.base.LoadErrorCache;
+import com.kaltura.playkit.providers.base.MediaEntryCache;
 import com.kaltura.playkit.providers.base.OnMediaLoadCompletion;
+import com.kaltura.playkit.providers.base.ResponseDiskCache;
 import com.kaltura.playkit.providers.ott.PhoenixProviderUtils.MediaTypeConverter;
 
 import com.kaltura.playkit.utils.Consts;
@@ -71,11 +79,11 @@ import static com.kaltura.playkit.providers.MediaProvidersUtils.buildNotFoundlEr
 import static com.kaltura.playkit.providers.MediaProvidersUtils.isDRMSchemeValid;
 import static com.kaltura.playkit.providers.MediaProvidersUtils.updateDrmParams;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.createOttMetadata;
+import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.getAssetMetadataKey;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.is360Supported;
-import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.isAPIExceptionResponse;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.isLiveMediaEntry;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.isDvrLiveMediaEntry;
-import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.parseAPIExceptionError;
+import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.keepLastResults;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.parseErrorRersponse;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.updateErrorElement;
 
@@ -106,6 +114,14 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
 
     private BEResponseListener responseListener;
 
+    private MediaEntryCache mediaEntryCache;
+
+    private ResponseDiskCache responseDiskCache;
+
+    private AssetMetadataCache<KalturaMediaAsset> metadataCache;
+
+    private LoadErrorCache loadErrorCache;
+
     public PhoenixMediaProvider() {
         super(log.tag);
         this.mediaAsset = new OTTMediaAsset();
@@ -278,8 +294,121 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
         return this;
     }
 
+    /**
+     * OPTIONAL
+     * When set, the load does not hold a loader thread while waiting for the session token and the
+     * remote response, the flow is carried by the requests callbacks instead.
+     * Defaults to false.
+     *
+     * @param asyncLoad - true to run the load in non-blocking mode.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setAsyncLoad(boolean asyncLoad) {
+        this.asyncLoad = asyncLoad;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * When set, a new load does not cancel the loads in progress. Each load works on a snapshot of
+     * the parameters set at the time it started, and can be canceled through the handle returned by load.
+     * Defaults to false.
+     *
+     * @param concurrentLoads - true to allow overlapping loads on this provider.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setConcurrentLoads(boolean concurrentLoads) {
+        this.concurrentLoads = concurrentLoads;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * When set, a load of the same media that is already in progress (on any provider of this type
+     * that uses the same session provider) is joined instead of sending another request. All the
+     * joined loads get the result, and each of them can be canceled without affecting the others.
+     * Defaults to false.
+     *
+     * @param shareInFlightLoads - true to merge identical loads.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setShareInFlightLoads(boolean shareInFlightLoads) {
+        this.shareInFlightLoads = shareInFlightLoads;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Cache of resolved media entries. On a hit the entry is passed right away without a remote request.
+     * The same cache instance can be set on several providers.
+     *
+     * @param mediaEntryCache - cache to use, null to disable caching.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setMediaEntryCache(MediaEntryCache mediaEntryCache) {
+        this.mediaEntryCache = mediaEntryCache;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Disk cache of the BE responses, allows starting playback of a recently loaded media after
+     * an application restart without waiting for the BE. A cached response is used as is, playback
+     * context included, until it expires or its ks expires (see {@link ResponseDiskCache}).
+     *
+     * @param responseDiskCache - cache to use, null to disable.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setResponseDiskCache(ResponseDiskCache responseDiskCache) {
+        this.responseDiskCache = responseDiskCache;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Cache of the assets metadata (asset.get results). When the asset metadata is cached and fresh,
+     * only the playback context is requested. The same cache instance can be shared with
+     * {@link PhoenixPlaylistProvider}.
+     *
+     * @param metadataCache - cache to use, null to disable.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setMetadataCache(AssetMetadataCache<KalturaMediaAsset> metadataCache) {
+        this.metadataCache = metadataCache;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Cache of failures that will not change on retry (blocked or restricted content, no playable sources).
+     * While cached, loading the same asset with the same ks fails right away with the cached error.
+     *
+     * @param loadErrorCache - cache to use, null to disable.
+     * @return - instance of PhoenixMediaProvider
+     */
+    public PhoenixMediaProvider setLoadErrorCache(LoadErrorCache loadErrorCache) {
+        this.loadErrorCache = loadErrorCache;
+        return this;
+    }
+
     protected Loader createNewLoader(OnCompletion<ResultElement<PKMediaEntry>> completion) {
-        return new Loader(requestsExecutor, sessionProvider, mediaAsset, completion);
+        // each load works on its own copy, so loads can overlap and the provider can be reconfigured meanwhile
+        OTTMediaAsset loadAsset = applyDefaults(new OTTMediaAsset(mediaAsset));
+        String cacheKey = mediaEntryCache != null || responseDiskCache != null || loadErrorCache != null ? getCacheKey(loadAsset) : null;
+        return new Loader(requestsExecutor, sessionProvider, loadAsset, mediaEntryCache, responseDiskCache, metadataCache, loadErrorCache, cacheKey, completion);
+    }
+
+    private String getCacheKey(OTTMediaAsset mediaAsset) {
+        return getCacheKey(sessionProvider, mediaAsset);
+    }
+
+    static String getCacheKey(SessionProvider sessionProvider, OTTMediaAsset mediaAsset) {
+        return "ott|" + sessionProvider.baseUrl() + "|" + sessionProvider.partnerId() + "|" + mediaAsset.getRequestKey();
+    }
+
+    @Override
+    protected String getLoadKey() {
+        return applyDefaults(new OTTMediaAsset(mediaAsset)).getRequestKey();
     }
 
     /**
@@ -294,6 +423,17 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
             return buildBadRequestErrorElement("Missing required parameter [assetId]");
         }
 
+        return null;
+    }
+
+    /**
+     * Sets default values on the optional parameters that were not provided.
+     *
+     * @param mediaAsset - the load snapshot of the requested asset.
+     * @return - the same asset instance.
+     */
+    static OTTMediaAsset applyDefaults(OTTMediaAsset mediaAsset) {
+
         if (mediaAsset.contextType == null) {
             mediaAsset.contextType = APIDefines.PlaybackContextType.Playback;
         }
@@ -328,7 +468,119 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
             // Or leave it as null.
         }
 
-        return null;
+        return mediaAsset;
+    }
+
+    static RequestBuilder getPlaybackContextRequest(String baseUrl, String ks, OTTMediaAsset mediaAsset) {
+        AssetService.KalturaPlaybackContextOptions contextOptions = new AssetService.KalturaPlaybackContextOptions(mediaAsset.contextType);
+        if (mediaAsset.hasFileIds()) { // else - will fetch all available sources
+            contextOptions.setMediaFileIds(mediaAsset.mediaFileIds);
+        }
+
+        if (mediaAsset.urlType != null) {
+            contextOptions.setUrlType(mediaAsset.urlType);
+        }
+
+        if (mediaAsset.streamerType != null) {
+            contextOptions.setStreamerType(mediaAsset.streamerType);
+        }
+        
+        if (mediaAsset.hasAdapterData()) {
+            contextOptions.setAdapterData(mediaAsset.adapterData);
+        }
+
+        // protocol will be added only if no protocol was give or http/https was set
+        // for All no filter will be done via protocol and it will not be added to the request.
+        if (mediaAsset.protocol == null) {
+            contextOptions.setMediaProtocol(Uri.parse(baseUrl).getScheme());
+        } else if (!HttpProtocol.All.equals(mediaAsset.protocol)) {
+            contextOptions.setMediaProtocol(mediaAsset.protocol);
+        }
+
+        if (!TextUtils.isEmpty(mediaAsset.getReferrer())) {
+            contextOptions.setReferrer(mediaAsset.getReferrer());
+        }
+
+        return AssetService.getPlaybackContext(baseUrl, ks, mediaAsset.assetId,
+                mediaAsset.assetType, contextOptions);
+    }
+
+    private static RequestBuilder getMediaAssetRequest(String baseUrl, String ks, OTTMediaAsset mediaAsset) {
+        return AssetService.get(baseUrl, ks, mediaAsset.assetId, mediaAsset.assetReferenceType);
+    }
+
+    /**
+     * Loads the entries of several assets with a single multirequest - the playback context and the
+     * metadata of all the assets are fetched together, with one anonymous login when the session
+     * provider has no ks. Each asset carries its own parameters (assetId, contextType, formats, etc.),
+     * the session provider and the caches are the ones set on this provider.
+     *
+     * The batch load runs alongside {@link #load(OnCompletion)}, neither cancels the other.
+     * It is canceled by {@link #cancel()} or through the returned handle.
+     *
+     * @param mediaAssets - assets to load.
+     * @param completion - receives a result per asset, in the order of the given list. Each result holds
+     *                   the asset entry or its error.
+     * @return - handle of the started load.
+     */
+    public BELoadHandle loadBatch(@NonNull List<OTTMediaAsset> mediaAssets, @NonNull OnCompletion<List<ResultElement<PKMediaEntry>>> completion) {
+        BatchLoader batchLoader = createBatchLoader(mediaAssets, completion);
+        return batchLoader != null ? submitLoader(batchLoader) : CompletedLoad;
+    }
+
+    /**
+     * Resolves the entries of upcoming assets (e.g. the next episodes) in the background and stores
+     * them in the media entry cache, so a later {@link #load(OnCompletion)} of one of them completes
+     * right away. The assets are fetched with a single multirequest, like {@link #loadBatch(List, OnCompletion)}.
+     *
+     * Prefetches run at low priority and hold back while loads are running. Requires a media entry
+     * cache ({@link #setMediaEntryCache(MediaEntryCache)}), ignored otherwise.
+     * Canceled by {@link #cancelPrefetch()}.
+     *
+     * @param mediaAssets - assets to prefetch.
+     */
+    public void prefetch(@NonNull List<OTTMediaAsset> mediaAssets) {
+        if (mediaEntryCache == null) {
+            log.w("prefetch ignored, no media entry cache was set");
+            return;
+        }
+
+        BatchLoader batchLoader = createBatchLoader(mediaAssets, null);
+        if (batchLoader != null) {
+            submitPrefetchLoader(batchLoader);
+        }
+    }
+
+    /**
+     * @return - loader of the valid assets, or null if there are none (the completion was called with their errors).
+     */
+    private BatchLoader createBatchLoader(List<OTTMediaAsset> mediaAssets, OnCompletion<List<ResultElement<PKMediaEntry>>> completion) {
+        List<OTTMediaAsset> loadAssets = new ArrayList<>(mediaAssets.size());
+        List<ResultElement<PKMediaEntry>> results = new ArrayList<>(mediaAssets.size());
+        boolean hasValidAsset = false;
+
+        for (OTTMediaAsset mediaAsset : mediaAssets) {
+            OTTMediaAsset loadAsset = mediaAsset != null ? applyDefaults(new OTTMediaAsset(mediaAsset)) : null;
+            ResultElement<PKMediaEntry> result = null;
+            if (loadAsset == null || TextUtils.isEmpty(loadAsset.assetId)) {
+                result = Accessories.buildResult(null, buildBadRequestErrorElement("Missing required parameter [assetId]"));
+            } else if (loadAsset.assetReferenceType == null) {
+                result = Accessories.buildResult(null, buildBadRequestErrorElement("Missing required parameter [assetReferenceType]"));
+            } else {
+                hasValidAsset = true;
+            }
+            loadAssets.add(loadAsset);
+            results.add(result);
+        }
+
+        if (!hasValidAsset) {
+            if (completion != null) {
+                completion.onComplete(results);
+            }
+            return null;
+        }
+
+        return new BatchLoader(requestsExecutor, sessionProvider, loadAssets, new BatchResults(results, completion));
     }
 
     @Override
@@ -339,12 +591,25 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
     class Loader extends BECallableLoader {
 
         private OTTMediaAsset mediaAsset;
+        private MediaEntryCache mediaEntryCache;
+        private ResponseDiskCache responseDiskCache;
+        private AssetMetadataCache<KalturaMediaAsset> metadataCache;
+        private LoadErrorCache loadErrorCache;
+        private String cacheKey;
+        private boolean responseFromDisk;
+        private KalturaMediaAsset cachedAsset;
 
 
-        public Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, OTTMediaAsset mediaAsset, OnCompletion<ResultElement<PKMediaEntry>> completion) {
+        public Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, OTTMediaAsset mediaAsset, MediaEntryCache mediaEntryCache, ResponseDiskCache responseDiskCache,
+                      AssetMetadataCache<KalturaMediaAsset> metadataCache, LoadErrorCache loadErrorCache, String cacheKey, OnCompletion<ResultElement<PKMediaEntry>> completion) {
             super(log.tag + "#Loader", requestsExecutor, sessionProvider, completion);
 
             this.mediaAsset = mediaAsset;
+            this.mediaEntryCache = mediaEntryCache;
+            this.responseDiskCache = responseDiskCache;
+            this.metadataCache = metadataCache;
+            this.loadErrorCache = loadErrorCache;
+            this.cacheKey = cacheKey;
 
             log.v(loadId + ": construct new Loader");
         }
@@ -355,44 +620,6 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
                     buildBadRequestErrorElement(ErrorElement.BadRequestError + ": SessionProvider should provide a valid KS token");
         }
 
-        private RequestBuilder getPlaybackContextRequest(String baseUrl, String ks, OTTMediaAsset mediaAsset) {
-            AssetService.KalturaPlaybackContextOptions contextOptions = new AssetService.KalturaPlaybackContextOptions(mediaAsset.contextType);
-            if (mediaAsset.hasFileIds()) { // else - will fetch all available sources
-                contextOptions.setMediaFileIds(mediaAsset.mediaFileIds);
-            }
-
-            if (mediaAsset.urlType != null) {
-                contextOptions.setUrlType(mediaAsset.urlType);
-            }
-
-            if (mediaAsset.streamerType != null) {
-                contextOptions.setStreamerType(mediaAsset.streamerType);
-            }
-            
-            if (mediaAsset.hasAdapterData()) {
-                contextOptions.setAdapterData(mediaAsset.adapterData);
-            }
-
-            // protocol will be added only if no protocol was give or http/https was set
-            // for All no filter will be done via protocol and it will not be added to the request.
-            if (mediaAsset.protocol == null) {
-                contextOptions.setMediaProtocol(Uri.parse(baseUrl).getScheme());
-            } else if (!HttpProtocol.All.equals(mediaAsset.protocol)) {
-                contextOptions.setMediaProtocol(mediaAsset.protocol);
-            }
-
-            if (!TextUtils.isEmpty(mediaAsset.getReferrer())) {
-                contextOptions.setReferrer(mediaAsset.getReferrer());
-            }
-
-            return AssetService.getPlaybackContext(baseUrl, ks, mediaAsset.assetId,
-                    mediaAsset.assetType, contextOptions);
-        }
-
-        private RequestBuilder getMediaAssetRequest(String baseUrl, String ks, OTTMediaAsset mediaAsset) {
-            return AssetService.get(baseUrl, ks, mediaAsset.assetId, mediaAsset.assetReferenceType);
-        }
-
         private RequestBuilder getRemoteRequest(String baseUrl, String ks, OTTMediaAsset mediaAsset) {
 
             String multiReqKs;
@@ -409,7 +636,7 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
 
             builder.add(getPlaybackContextRequest(baseUrl, multiReqKs, mediaAsset));
 
-            if (mediaAsset.assetReferenceType != null) {
+            if (mediaAsset.assetReferenceType != null && cachedAsset == null) { // no need to fetch cached metadata
                 builder.add(getMediaAssetRequest(baseUrl, multiReqKs, mediaAsset));
             }
 
@@ -424,6 +651,48 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
          */
         @Override
         protected void requestRemote(String ks) throws InterruptedException {
+            if (loadErrorCache != null) {
+                ErrorElement cachedError = loadErrorCache.get(cacheKey, getCacheKs());
+                if (cachedError != null) {
+                    log.d(loadId + ": load error found in cache");
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(null, cachedError));
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
+            if (mediaEntryCache != null) {
+                PKMediaEntry cachedEntry = mediaEntryCache.get(cacheKey, getCacheKs());
+                if (cachedEntry != null) {
+                    log.d(loadId + ": media entry found in cache");
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(cachedEntry, null));
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
+            if (responseDiskCache != null) {
+                String cachedResponse = responseDiskCache.get(cacheKey, getCacheKs());
+                if (cachedResponse != null) {
+                    log.d(loadId + ": response found in disk cache");
+                    responseFromDisk = true;
+                    onAssetGetResponse(Accessories.buildResponse(cachedResponse, null));
+                    return;
+                }
+            }
+
+            if (metadataCache != null && mediaAsset.assetReferenceType != null && !metadataCache.isStale(getMetadataKey())) {
+                cachedAsset = metadataCache.get(getMetadataKey());
+                if (cachedAsset != null) {
+                    cachedAsset = cachedAsset.copy();
+                    log.d(loadId + ": asset metadata found in cache, requesting playback context only");
+                }
+            }
+
             final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), ks, mediaAsset)
                     .completion(response -> {
                         log.v(loadId + ": got response to [" + loadReq + "]");
@@ -444,7 +713,7 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
 
             if (!isCanceled()) {
                 log.v(loadId + " set waitCompletion");
-                waitCompletion();
+                waitForResponse();
             } else {
                 log.v(loadId + " was canceled.");
             }
@@ -456,6 +725,10 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
             return url.endsWith("/") ? url : url + "/";
         }
 
+        private String getMetadataKey() {
+            return getAssetMetadataKey(sessionProvider.baseUrl(), sessionProvider.partnerId(), mediaAsset.assetId, mediaAsset.assetReferenceType);
+        }
+
         /**
          * Parse and create a {@link PKMediaEntry} object from the API response.
          *
@@ -508,6 +781,8 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
                     BaseResult assetGetResult = null;
 
                     Object parsedResponsesObject = PhoenixParser.parse(response.getResponse());
+                    // a KalturaAPIException result of any of the requests fails the load
+                    ErrorElement apiExceptionError = KalturaAPIException.findError(parsedResponsesObject);
                     List<BaseResult> parsedResponses = new ArrayList<>();
                     if (parsedResponsesObject instanceof List) {
                         parsedResponses = (List<BaseResult>) parsedResponsesObject;
@@ -517,52 +792,54 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
                         loginResult = (BaseResult) parsedResponsesObject;
                     }
 
-                    if (parsedResponses.size() > 2) {
-                        // position size -1 is asset get result size - 2 is playbackContext size - 3 is the login data
-                        loginResult = parsedResponses.get(parsedResponses.size() - 3);
+                    // number of results excluding the optional login
+                    int expectedResults = 2;
+                    if (cachedAsset != null) {
+                        // asset.get wasn't requested - position size -1 is playbackContext size - 2 is the login data
+                        expectedResults = 1;
+                        if (parsedResponses.size() > 1) {
+                            loginResult = parsedResponses.get(parsedResponses.size() - 2);
+                        }
+                        if (!parsedResponses.isEmpty()) {
+                            playbackContextResult = parsedResponses.get(parsedResponses.size() - 1);
+                        }
+                        assetGetResult = cachedAsset;
+
+                    } else {
+                        if (parsedResponses.size() > 2) {
+                            // position size -1 is asset get result size - 2 is playbackContext size - 3 is the login data
+                            loginResult = parsedResponses.get(parsedResponses.size() - 3);
+                        }
+
+                        if (parsedResponses.size() > 1) {
+                            // position size -1 is asset get result size - 2 is playbackContext size - 3 is the login data
+                            playbackContextResult = parsedResponses.get(parsedResponses.size() - 2);
+                            assetGetResult = parsedResponses.get(parsedResponses.size() - 1);
+                        }
                     }
 
-                    if (parsedResponses.size() > 1) {
-                        // position size -1 is asset get result size - 2 is playbackContext size - 3 is the login data
-                        playbackContextResult = parsedResponses.get(parsedResponses.size() - 2);
-                        assetGetResult = parsedResponses.get(parsedResponses.size() - 1);
+                    if (loginResult instanceof KalturaLoginSession && loginResult.error == null && !responseFromDisk) {
+                        onAnonymousSession(((KalturaLoginSession) loginResult).getKs());
                     }
 
-                    if ((parsedResponses.size() > 2 && (loginResult == null || loginResult.error != null)) || playbackContextResult == null || assetGetResult == null || playbackContextResult.error != null || assetGetResult.error != null) {
+                    if (apiExceptionError != null) {
+                        error = apiExceptionError;
+                    } else if ((parsedResponses.size() > expectedResults && (loginResult == null || loginResult.error != null)) || playbackContextResult == null || assetGetResult == null || playbackContextResult.error != null || assetGetResult.error != null) {
                         error = updateErrorElement(response, loginResult, playbackContextResult, assetGetResult);
                     } else {
                         KalturaPlaybackContext kalturaPlaybackContext = (KalturaPlaybackContext) playbackContextResult;
                         KalturaMediaAsset kalturaMediaAsset = (KalturaMediaAsset) assetGetResult;
 
-                        Map<String, String> metadata = createOttMetadata(kalturaMediaAsset, mediaAsset);
-                        boolean is360Content = is360Supported(metadata);
-                        boolean isMulticastContent = (mediaAsset.streamerType == APIDefines.KalturaStreamerType.Multicast);
-
-                        error = kalturaPlaybackContext.hasError(); // check for error or unauthorized content
-
-                        if (error != null) {
-                            if (!isCanceled() && completion != null) {
-                                completion.onComplete(Accessories.buildResult(null, error));
-                            }
-                            notifyCompletion();
-                            return;
+                        if (metadataCache != null && cachedAsset == null) {
+                            metadataCache.put(getMetadataKey(), kalturaMediaAsset.copy());
                         }
 
-                        mediaEntry = ProviderParser.getMedia(mediaAsset.assetId,
-                                mediaAsset.formats != null ? mediaAsset.formats : mediaAsset.mediaFileIds,
-                                kalturaPlaybackContext.getSources(), is360Content, isMulticastContent);
-                        mediaEntry.setMetadata(metadata);
-                        mediaEntry.setName(kalturaMediaAsset.getName());
-                        if (isDvrLiveMediaEntry(kalturaMediaAsset, mediaAsset)) {
-                            mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.DvrLive);
-                        } else if (isLiveMediaEntry(kalturaMediaAsset)) {
-                            mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.Live);
-                        } else {
-                            mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.Vod);
-                        }
+                        ResultElement<PKMediaEntry> entryResult = ProviderParser.getMediaEntry(mediaAsset, kalturaPlaybackContext, kalturaMediaAsset);
+                        mediaEntry = entryResult.getResponse();
+                        error = entryResult.getError();
 
-                        if (mediaEntry.getSources().size() == 0) { // makes sure there are sources available for play
-                            error = buildNotFoundlErrorElement("Content can't be played due to lack of sources");
+                        if (error != null && loadErrorCache != null) {
+                            loadErrorCache.put(cacheKey, getCacheKs(), error);
                         }
                     }
                 } catch (JsonParseException | InvalidParameterException ex) {
@@ -576,6 +853,15 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
 
             log.i(loadId + ": load operation " + (isCanceled() ? "canceled" : "finished with " + (error == null ? "success" : "failure")));
 
+            if (error == null && mediaEntryCache != null) {
+                mediaEntryCache.put(cacheKey, getCacheKs(), mediaEntry);
+            }
+            if (error == null && responseDiskCache != null && !responseFromDisk && cachedAsset == null) {
+                // the playback context and asset results only, the anonymous login result carries a ks
+                responseDiskCache.put(cacheKey, getCacheKs(), keepLastResults(response.getResponse(), 2));
+            }
+
+            onRemoteError(error);
             if (!isCanceled() && completion != null) {
                 completion.onComplete(Accessories.buildResult(mediaEntry, error));
             }
@@ -592,30 +878,230 @@ public class PhoenixMediaProvider extends BEBaseProvider<PKMediaEntry> implement
                 if (errorResponse == null) {
                     errorResponse = buildGeneralErrorElement("multirequest response is null");
                 }
+                onRemoteError(errorResponse);
                 if (!isCanceled() && completion != null) {
                     completion.onComplete(Accessories.buildResult(null, errorResponse));
-                    notifyCompletion();
                 }
+                notifyCompletion();
                 return false;
             }
 
-            if (isAPIExceptionResponse(response)) {
-                ErrorElement apiExceptionError = parseAPIExceptionError(response);
-                if (apiExceptionError == null) {
-                    apiExceptionError = buildGeneralErrorElement("multirequest KalturaAPIException");
+            return true;
+        }
+    }
+
+    class BatchLoader extends BECallableLoader {
+
+        private List<OTTMediaAsset> mediaAssets;
+        private BatchResults batchResults;
+
+        BatchLoader(RequestQueue requestsExecutor, SessionProvider sessionProvider, List<OTTMediaAsset> mediaAssets, BatchResults completion) {
+            super(log.tag + "#BatchLoader", requestsExecutor, sessionProvider, completion);
+
+            this.mediaAssets = mediaAssets;
+            this.batchResults = completion;
+
+            log.v(loadId + ": construct new BatchLoader, " + mediaAssets.size() + " assets");
+        }
+
+        @Override
+        protected ErrorElement validateKs(String ks) { // enable anonymous session creation
+            return EnableEmptyKs || !TextUtils.isEmpty(ks) ? null :
+                    buildBadRequestErrorElement(ErrorElement.BadRequestError + ": SessionProvider should provide a valid KS token");
+        }
+
+        private RequestBuilder getRemoteRequest(String baseUrl, String ks) {
+            String multiReqKs;
+            boolean withLogin = TextUtils.isEmpty(ks);
+
+            MultiRequestBuilder builder = (MultiRequestBuilder) PhoenixService.getMultirequest(baseUrl, ks)
+                    .tag("asset-batch-play-data-multireq");
+
+            if (withLogin) {
+                multiReqKs = "{1:result:ks}";
+                builder.add(OttUserService.anonymousLogin(baseUrl, sessionProvider.partnerId(), null));
+            } else {
+                multiReqKs = ks;
+            }
+
+            for (int index : batchResults.layout(withLogin)) {
+                OTTMediaAsset mediaAsset = mediaAssets.get(index);
+                builder.add(getPlaybackContextRequest(baseUrl, multiReqKs, mediaAsset),
+                        getMediaAssetRequest(baseUrl, multiReqKs, mediaAsset));
+            }
+
+            return builder;
+        }
+
+        @Override
+        protected void requestRemote(String ks) throws InterruptedException {
+            resolveCachedAssets(getCacheKs());
+
+            if (!batchResults.hasPending()) {
+                log.d(loadId + ": all batch assets resolved from cache");
+                if (!isCanceled()) {
+                    batchResults.deliver();
                 }
-                if (!isCanceled() && completion != null) {
-                    completion.onComplete(Accessories.buildResult(null, apiExceptionError));
-                    notifyCompletion();
+                notifyCompletion();
+                return;
+            }
+
+            final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), ks)
+                    .completion(response -> {
+                        log.v(loadId + ": got response to [" + loadReq + "]");
+                        loadReq = null;
+                        onBatchResponse(response);
+                    });
+
+            synchronized (syncObject) {
+                loadReq = requestQueue.queue(requestBuilder.build());
+                log.d(loadId + ": request queued for execution [" + loadReq + "]");
+            }
+
+            if (!isCanceled()) {
+                waitForResponse();
+            }
+        }
+
+        private void resolveCachedAssets(String ks) {
+            if (mediaEntryCache == null && loadErrorCache == null) {
+                return;
+            }
+
+            for (int i = 0; i < mediaAssets.size(); i++) {
+                if (!batchResults.isPending(i)) {
+                    continue;
+                }
+
+                String cacheKey = getCacheKey(mediaAssets.get(i));
+                ErrorElement cachedError = loadErrorCache != null ? loadErrorCache.get(cacheKey, ks) : null;
+                PKMediaEntry cachedEntry = cachedError == null && mediaEntryCache != null ? mediaEntryCache.get(cacheKey, ks) : null;
+                if (cachedError != null || cachedEntry != null) {
+                    batchResults.setResult(i, Accessories.buildResult(cachedEntry, cachedError));
                 }
-                return false;
             }
-            return true;
+        }
+
+        private String getApiBaseUrl() {
+            final String url = sessionProvider.baseUrl();
+            return url.endsWith("/") ? url : url + "/";
+        }
+
+        private void onBatchResponse(ResponseElement response) {
+            if (isCanceled()) {
+                log.v(loadId + ": i am canceled, exit response parsing ");
+                return;
+            }
+
+            if (responseListener != null) {
+                responseListener.onResponse(response);
+            }
+
+            ErrorElement error = null;
+            List<BaseResult> parsedResponses = null;
+
+            if (PhoenixProviderUtils.isErrorResponse(response)) {
+                error = parseErrorRersponse(response);
+            } else if (!response.isSuccess()) {
+                error = response.getError() != null ? response.getError() : buildLoadErrorElement("error response in multirequest. response: " + response.getResponse());
+            } else {
+                try {
+                    Object parsedResponsesObject = PhoenixParser.parse(response.getResponse());
+                    if (parsedResponsesObject instanceof List) {
+                        parsedResponses = (List<BaseResult>) parsedResponsesObject;
+                    } else {
+                        // a single result is a multirequest level failure
+                        error = KalturaAPIException.findError(parsedResponsesObject);
+                        if (error == null && parsedResponsesObject instanceof BaseResult && ((BaseResult) parsedResponsesObject).error != null) {
+                            error = PhoenixErrorHelper.getErrorElement(((BaseResult) parsedResponsesObject).error);
+                        }
+                    }
+                } catch (JsonParseException | InvalidParameterException ex) {
+                    error = buildLoadErrorElement("failed parsing remote response: " + ex.getMessage());
+                }
+            }
+
+            if (error == null && parsedResponses != null) {
+                BaseResult loginResult = batchResults.getLoginResult(parsedResponses);
+                if (loginResult instanceof KalturaLoginSession && loginResult.error == null) {
+                    onAnonymousSession(((KalturaLoginSession) loginResult).getKs());
+                }
+                batchResults.setResults(parsedResponses, (index, playbackContext, asset) -> getAssetResult(mediaAssets.get(index), playbackContext, asset));
+                for (int i = 0; i < mediaAssets.size(); i++) {
+                    if (batchResults.isRequested(i)) {
+                        onRemoteError(batchResults.getResult(i).getError());
+                    }
+                }
+            }
+
+            log.i(loadId + ": batch load operation " + (isCanceled() ? "canceled" : "finished with " + (error == null ? "success" : "failure: " + error)));
+
+            onRemoteError(error);
+            if (!isCanceled()) {
+                if (error != null) {
+                    batchResults.onComplete(Accessories.buildResult(null, error));
+                } else {
+                    batchResults.deliver();
+                }
+            }
+
+            notifyCompletion();
+        }
+
+        private ResultElement<PKMediaEntry> getAssetResult(OTTMediaAsset mediaAsset, KalturaPlaybackContext playbackContext, KalturaMediaAsset kalturaMediaAsset) {
+            if (metadataCache != null) {
+                metadataCache.put(getAssetMetadataKey(sessionProvider.baseUrl(), sessionProvider.partnerId(), mediaAsset.assetId, mediaAsset.assetReferenceType), kalturaMediaAsset.copy());
+            }
+
+            ResultElement<PKMediaEntry> result = ProviderParser.getMediaEntry(mediaAsset, playbackContext, kalturaMediaAsset);
+            if (result.getError() == null && mediaEntryCache != null) {
+                mediaEntryCache.put(getCacheKey(mediaAsset), getCacheKs(), result.getResponse());
+            } else if (result.getError() != null && loadErrorCache != null) {
+                loadErrorCache.put(getCacheKey(mediaAsset), getCacheKs(), result.getError());
+            }
+            return result;
         }
     }
 
     static class ProviderParser {
 
+        /**
+         * Builds the entry of a single asset out of its playback context and metadata.
+         *
+         * @param mediaAsset - the requested asset.
+         * @param kalturaPlaybackContext - the asset playback context.
+         * @param kalturaMediaAsset - the asset metadata.
+         * @return - result with the entry, or with an error in case the content is blocked, unauthorized or has no playable sources.
+         */
+        static ResultElement<PKMediaEntry> getMediaEntry(OTTMediaAsset mediaAsset, KalturaPlaybackContext kalturaPlaybackContext, KalturaMediaAsset kalturaMediaAsset) {
+            Map<String, String> metadata = createOttMetadata(kalturaMediaAsset, mediaAsset);
+            boolean is360Content = is360Supported(metadata);
+            boolean isMulticastContent = (mediaAsset.streamerType == APIDefines.KalturaStreamerType.Multicast);
+
+            ErrorElement error = kalturaPlaybackContext.hasError(); // check for error or unauthorized content
+            if (error != null) {
+                return Accessories.buildResult(null, error);
+            }
+
+            PKMediaEntry mediaEntry = getMedia(mediaAsset.assetId,
+                    mediaAsset.formats != null ? mediaAsset.formats : mediaAsset.mediaFileIds,
+                    kalturaPlaybackContext.getSources(), is360Content, isMulticastContent);
+            mediaEntry.setMetadata(metadata);
+            mediaEntry.setName(kalturaMediaAsset.getName());
+            if (isDvrLiveMediaEntry(kalturaMediaAsset, mediaAsset)) {
+                mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.DvrLive);
+            } else if (isLiveMediaEntry(kalturaMediaAsset)) {
+                mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.Live);
+            } else {
+                mediaEntry.setMediaType(PKMediaEntry.MediaEntryType.Vod);
+            }
+
+            if (mediaEntry.getSources().size() == 0) { // makes sure there are sources available for play
+                error = buildNotFoundlErrorElement("Content can't be played due to lack of sources");
+            }
+            return Accessories.buildResult(mediaEntry, error);
+        }
+
         public static PKMediaEntry getMedia(String assetId, final List<String> sourcesFilter, ArrayList<KalturaPlaybackSource> playbackSources, boolean is360Content, boolean isMulticastContent) {
             PKMediaEntry mediaEntry = new PKMediaEntry();
             if (is360Content) {
@@ -42,22 +42,30 @@ import com.kaltura.playkit.providers.api.phoenix.APIDefines;
 import com.kaltura.playkit.providers.api.phoenix.PhoenixParser;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginSession;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackContext;
 import com.kaltura.playkit.providers.api.phoenix.services.AssetService;
 import com.kaltura.playkit.providers.api.phoenix.services.OttUserService;
 import com.kaltura.playkit.providers.api.phoenix.services.PhoenixService;
+import com.kaltura.playkit.providers.base.AdaptiveChunkSizer;
+import com.kaltura.playkit.providers.base.AssetMetadataCache;
 import com.kaltura.playkit.providers.base.BEBaseProvider;
 import com.kaltura.playkit.providers.base.BECallableLoader;
+import com.kaltura.playkit.providers.base.BEMetadataListener;
+import com.kaltura.playkit.providers.base.BEPlaylistMediaListener;
 import com.kaltura.playkit.providers.base.BEResponseListener;
+import com.kaltura.playkit.providers.base.MediaEntryCache;
 import com.kaltura.playkit.providers.base.OnPlaylistLoadCompletion;
 import com.kaltura.playkit.utils.Consts;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static com.kaltura.netkit.utils.ErrorElement.GeneralError;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.createOttMetadata;
+import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.getAssetMetadataKey;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.is360Supported;
 import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.isLiveMediaEntry;
 
@@ -79,12 +87,29 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
 
     private static final boolean EnableEmptyKs = true;
 
+    public static final int DefaultChunkSize = 50;
+    public static final int DefaultMaxParallelChunks = MaxThreads;
+
     private PKPlaylistRequest playlist;
 
     private BEResponseListener responseListener;
 
     private String referrer;
 
+    private AssetMetadataCache<KalturaMediaAsset> metadataCache;
+
+    private BEMetadataListener<PKPlaylist> metadataListener;
+
+    private BEPlaylistMediaListener playlistMediaListener;
+
+    private AdaptiveChunkSizer chunkSizer = new AdaptiveChunkSizer(DefaultChunkSize);
+
+    private int maxParallelChunks = DefaultMaxParallelChunks;
+
+    private int playableCount;
+
+    private MediaEntryCache mediaEntryCache;
+
     private class PKPlaylistRequest {
 
         public PlaylistMetadata playlistMetadata;
@@ -92,6 +117,16 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
         public List<OTTMediaAsset> mediaAssets;
 
         public PKPlaylistRequest() { }
+
+        public PKPlaylistRequest(PKPlaylistRequest playlistRequest) {
+            this.playlistMetadata = playlistRequest.playlistMetadata;
+            if (playlistRequest.mediaAssets != null) {
+                this.mediaAssets = new ArrayList<>(playlistRequest.mediaAssets.size());
+                for (OTTMediaAsset mediaAsset : playlistRequest.mediaAssets) {
+                    this.mediaAssets.add(mediaAsset != null ? new OTTMediaAsset(mediaAsset) : null);
+                }
+            }
+        }
     }
 
     public PhoenixPlaylistProvider() {
@@ -158,6 +193,119 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
         return this;
     }
 
+    /**
+     * OPTIONAL
+     * When set, the load does not hold a loader thread while waiting for the session token and the
+     * remote response, the flow is carried by the requests callbacks instead.
+     * Defaults to false.
+     *
+     * @param asyncLoad - true to run the load in non-blocking mode.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setAsyncLoad(boolean asyncLoad) {
+        this.asyncLoad = asyncLoad;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * When set, a new load does not cancel the loads in progress. Each load works on a snapshot of
+     * the parameters set at the time it started, and can be canceled through the handle returned by load.
+     * Defaults to false.
+     *
+     * @param concurrentLoads - true to allow overlapping loads on this provider.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setConcurrentLoads(boolean concurrentLoads) {
+        this.concurrentLoads = concurrentLoads;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Cache of the assets metadata, used in a stale-while-revalidate manner: when all the playlist
+     * assets are cached the load completes right away, and stale assets are refreshed in the background.
+     * The same cache instance can be shared with other Phoenix providers.
+     *
+     * @param metadataCache - cache to use, null to disable.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setMetadataCache(AssetMetadataCache<KalturaMediaAsset> metadataCache) {
+        this.metadataCache = metadataCache;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Called with the rebuilt playlist once a load that was completed from the metadata cache got
+     * refreshed metadata.
+     *
+     * @param metadataListener - listener
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setMetadataListener(BEMetadataListener<PKPlaylist> metadataListener) {
+        this.metadataListener = metadataListener;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Receives the playlist medias as soon as they are parsed - with chunked loads, the medias of
+     * each chunk are passed once the chunk arrives, before the load completion.
+     *
+     * @param playlistMediaListener - listener
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setPlaylistMediaListener(BEPlaylistMediaListener playlistMediaListener) {
+        this.playlistMediaListener = playlistMediaListener;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Playlists with more assets than the chunk size are fetched in several requests of up to chunk
+     * size assets, which run in parallel. The chunk size adapts to the measured latency and response
+     * size, starting from the given value. The merged playlist keeps the order of the assets.
+     * Defaults to {@link #DefaultChunkSize}.
+     *
+     * @param chunkSize - initial number of assets per request, 0 to fetch all the assets in a single request.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setChunkSize(int chunkSize) {
+        this.chunkSizer = chunkSize > 0 ? new AdaptiveChunkSizer(chunkSize) : null;
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Max number of chunk requests of a single load that run at the same time.
+     * Defaults to {@link #DefaultMaxParallelChunks}.
+     *
+     * @param maxParallelChunks - number of parallel requests, at least 1.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setMaxParallelChunks(int maxParallelChunks) {
+        this.maxParallelChunks = Math.max(1, maxParallelChunks);
+        return this;
+    }
+
+    /**
+     * OPTIONAL
+     * Resolves the playback context of the first playlist assets in the same requests that fetch the
+     * assets, and stores their ready to play entries in the given cache. A {@link PhoenixMediaProvider}
+     * that shares the cache (with the same session provider) loads these assets without a remote request.
+     * Assets with their own ks are not resolved.
+     *
+     * @param playableCount - number of leading assets to resolve, 0 to disable.
+     * @param mediaEntryCache - cache to store the entries in, null to disable.
+     * @return - instance of PhoenixPlaylistProvider
+     */
+    public PhoenixPlaylistProvider setPlayableEntries(int playableCount, MediaEntryCache mediaEntryCache) {
+        this.playableCount = Math.max(0, playableCount);
+        this.mediaEntryCache = mediaEntryCache;
+        return this;
+    }
+
     /**
      * Checks for non empty value on the mandatory parameters.
      *
@@ -175,7 +323,8 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
 
     @Override
     protected Loader createNewLoader(OnCompletion<ResultElement<PKPlaylist>> completion) {
-        return new Loader(requestsExecutor, sessionProvider, playlist, completion);
+        return new Loader(requestsExecutor, sessionProvider, new PKPlaylistRequest(playlist), referrer, metadataCache, metadataListener, playlistMediaListener, chunkSizer, maxParallelChunks,
+                mediaEntryCache != null ? playableCount : 0, mediaEntryCache, completion);
     }
 
     @Override
@@ -186,11 +335,37 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
     class Loader extends BECallableLoader {
 
         private PKPlaylistRequest playlistRequest;
-
-        public Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, PKPlaylistRequest playlistRequest, OnCompletion<ResultElement<PKPlaylist>> completion) {
+        private String referrer;
+        private AssetMetadataCache<KalturaMediaAsset> metadataCache;
+        private BEMetadataListener<PKPlaylist> metadataListener;
+        private BEPlaylistMediaListener playlistMediaListener;
+        private AdaptiveChunkSizer chunkSizer;
+        private int maxParallelChunks;
+        private int playableCount;
+        private MediaEntryCache mediaEntryCache;
+
+        private volatile PlaylistChunks chunks;
+        // queued chunk requests by chunk start index, guarded by chunksLock
+        private final Object chunksLock = new Object();
+        private final Map<Integer, String> chunkRequests = new HashMap<>();
+        // session of the anonymous login the first chunk of an anonymous load started with
+        private volatile String chunksLoginKs;
+
+        public Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, PKPlaylistRequest playlistRequest, String referrer,
+                      AssetMetadataCache<KalturaMediaAsset> metadataCache, BEMetadataListener<PKPlaylist> metadataListener,
+                      BEPlaylistMediaListener playlistMediaListener, AdaptiveChunkSizer chunkSizer, int maxParallelChunks, int playableCount, MediaEntryCache mediaEntryCache,
+                      OnCompletion<ResultElement<PKPlaylist>> completion) {
             super(log.tag + "#Loader", requestsExecutor, sessionProvider, completion);
 
             this.playlistRequest = playlistRequest;
+            this.referrer = referrer;
+            this.metadataCache = metadataCache;
+            this.metadataListener = metadataListener;
+            this.playlistMediaListener = playlistMediaListener;
+            this.chunkSizer = chunkSizer;
+            this.maxParallelChunks = maxParallelChunks;
+            this.playableCount = playableCount;
+            this.mediaEntryCache = mediaEntryCache;
 
             log.v(loadId + ": construct new Loader");
         }
@@ -201,7 +376,11 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
                     ErrorElement.BadRequestError.message(ErrorElement.BadRequestError + ": SessionProvider should provide a valid KS token");
         }
 
-        private RequestBuilder getRemoteRequest(String baseUrl, String ks, String referrer, PKPlaylistRequest playlistRequest) {
+        /**
+         * @param mediaAssets - assets to fetch with asset.get.
+         * @param playableAssets - number of leading assets whose playback context is fetched as well, after all the asset.get requests.
+         */
+        private RequestBuilder getRemoteRequest(String baseUrl, String ks, String referrer, List<OTTMediaAsset> mediaAssets, int playableAssets) {
 
             String multiReqKs;
 
@@ -215,11 +394,16 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
                 multiReqKs = ks;
             }
 
-            for (OTTMediaAsset mediaAsset : playlistRequest.mediaAssets) {
+            for (OTTMediaAsset mediaAsset : mediaAssets) {
                 String requestKS = TextUtils.isEmpty(mediaAsset.getKs()) ? multiReqKs : mediaAsset.getKs();
                 APIDefines.AssetReferenceType assetReferenceType = mediaAsset.assetReferenceType != null ? mediaAsset.assetReferenceType : APIDefines.AssetReferenceType.Media;
                 builder.add((RequestBuilder) AssetService.get(baseUrl, requestKS, mediaAsset.assetId, assetReferenceType));
             }
+            for (int i = 0; i < playableAssets; i++) {
+                OTTMediaAsset mediaAsset = mediaAssets.get(i);
+                String requestKS = TextUtils.isEmpty(mediaAsset.getKs()) ? multiReqKs : mediaAsset.getKs();
+                builder.add(PhoenixMediaProvider.getPlaybackContextRequest(baseUrl, requestKS, getPlayableAsset(mediaAsset)));
+            }
             return builder;
         }
 
@@ -231,7 +415,29 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
          */
         @Override
         protected void requestRemote(String ks) throws InterruptedException {
-            final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), ks, referrer, playlistRequest)
+            if (metadataCache != null) {
+                List<KalturaMediaAsset> cachedAssets = getCachedAssets();
+                if (cachedAssets != null) {
+                    log.d(loadId + ": playlist assets metadata found in cache");
+                    List<PKPlaylistMedia> mediaList = getPlaylistMediaList(cachedAssets, getAssetsMetadata(cachedAssets));
+                    notifyPlaylistMedia(0, mediaList);
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(buildPlaylist(ks, mediaList), null));
+                    }
+                    if (hasStaleAssets()) {
+                        revalidate(cachedAssets);
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
+            if (chunkSizer != null && playlistRequest.mediaAssets.size() > chunkSizer.getChunkSize()) {
+                requestChunks(ks);
+                return;
+            }
+
+            final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), ks, referrer, playlistRequest.mediaAssets, getPlayableAssets(0, playlistRequest.mediaAssets.size()))
                     .completion(response -> {
                         log.v(loadId + ": got response to [" + loadReq + "]");
                         loadReq = null;
@@ -250,18 +456,380 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
 
             if (!isCanceled()) {
                 log.v(loadId + " set waitCompletion");
-                waitCompletion();
+                waitForResponse();
             } else {
                 log.v(loadId + " was canceled.");
             }
             log.v(loadId + ": requestRemote wait released");
         }
 
+        /**
+         * @return - number of leading assets of the [start, end) range that should be resolved to playable entries.
+         */
+        private int getPlayableAssets(int start, int end) {
+            return Math.max(0, Math.min(end, playableCount) - start);
+        }
+
+        /**
+         * @return - copy of the asset with the defaults {@link PhoenixMediaProvider} applies, so the entry
+         * is cached under the key its load will use.
+         */
+        private OTTMediaAsset getPlayableAsset(OTTMediaAsset mediaAsset) {
+            OTTMediaAsset playableAsset = PhoenixMediaProvider.applyDefaults(new OTTMediaAsset(mediaAsset));
+            if (TextUtils.isEmpty(playableAsset.getReferrer())) {
+                playableAsset.setReferrer(referrer);
+            }
+            return playableAsset;
+        }
+
+        /**
+         * Builds the entries of the playable assets and stores them in the media entry cache.
+         *
+         * @param parsedResponses - the multirequest results.
+         * @param contextsStart - index of the first playback context result.
+         * @param start - playlist index of the first requested asset.
+         * @param kalturaMediaAssets - the requested assets metadata, aligned with the requested assets.
+         * @param playableAssets - number of playback context results.
+         */
+        private void cachePlayableEntries(List<BaseResult> parsedResponses, int contextsStart, int start, List<KalturaMediaAsset> kalturaMediaAssets, int playableAssets) {
+            for (int i = 0; i < playableAssets && contextsStart + i < parsedResponses.size(); i++) {
+                BaseResult contextResult = parsedResponses.get(contextsStart + i);
+                KalturaMediaAsset kalturaMediaAsset = kalturaMediaAssets.get(i);
+                OTTMediaAsset mediaAsset = playlistRequest.mediaAssets.get(start + i);
+                if (!(contextResult instanceof KalturaPlaybackContext) || contextResult.error != null || kalturaMediaAsset == null ||
+                        mediaAsset == null || mediaAsset.hasKs()) {
+                    continue;
+                }
+
+                OTTMediaAsset playableAsset = getPlayableAsset(mediaAsset);
+                ResultElement<PKMediaEntry> result = PhoenixMediaProvider.ProviderParser.getMediaEntry(playableAsset, (KalturaPlaybackContext) contextResult, kalturaMediaAsset);
+                if (result.getError() == null && result.getResponse() != null) {
+                    mediaEntryCache.put(PhoenixMediaProvider.getCacheKey(sessionProvider, playableAsset), getCacheKs(), result.getResponse());
+                }
+            }
+        }
+
         private String getApiBaseUrl() {
             final String url = sessionProvider.baseUrl();
             return url.endsWith("/") ? url : url + "/";
         }
 
+        /**
+         * Fetches the playlist assets in chunks, up to maxParallelChunks requests at a time. Each
+         * completed chunk starts the next one, sized by the latest chunk size. An anonymous load
+         * requests its first chunk alone and fans out the other chunks with the session of its
+         * login, instead of a login per chunk.
+         */
+        private void requestChunks(String ks) throws InterruptedException {
+            chunks = new PlaylistChunks(playlistRequest.mediaAssets.size());
+
+            int parallelChunks = TextUtils.isEmpty(ks) ? 1 : maxParallelChunks;
+            for (int i = 0; i < parallelChunks; i++) {
+                queueNextChunk(ks);
+            }
+
+            if (!isCanceled()) {
+                log.v(loadId + " set waitCompletion");
+                waitForResponse();
+            }
+            log.v(loadId + ": requestChunks wait released");
+        }
+
+        private void queueNextChunk(final String ks) {
+            int[] chunk = isCanceled() ? null : chunks.next(chunkSizer.getChunkSize());
+            if (chunk == null) {
+                return;
+            }
+            final int start = chunk[0];
+            final int end = chunk[1];
+
+            final String requestKs = TextUtils.isEmpty(ks) && chunksLoginKs != null ? chunksLoginKs : ks;
+            final long requestTime = System.currentTimeMillis();
+            final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), requestKs, referrer, playlistRequest.mediaAssets.subList(start, end), getPlayableAssets(start, end))
+                    .completion(response -> onChunkResponse(response, ks, requestKs, start, end, System.currentTimeMillis() - requestTime));
+
+            String chunkRequest = requestQueue.queue(requestBuilder.build());
+            synchronized (chunksLock) {
+                chunkRequests.put(start, chunkRequest);
+            }
+            log.d(loadId + ": chunk [" + start + ", " + end + ") queued for execution [" + chunkRequest + "]");
+        }
+
+        /**
+         * @param ks - the load ks.
+         * @param requestKs - the ks the chunk was requested with, empty if the chunk started with an anonymous login.
+         */
+        private void onChunkResponse(ResponseElement response, String ks, String requestKs, int start, int end, long latencyMs) {
+            if (isCanceled()) {
+                log.v(loadId + ": i am canceled, exit chunk response parsing ");
+                return;
+            }
+
+            if (responseListener != null) {
+                responseListener.onResponse(response);
+            }
+
+            List<KalturaMediaAsset> chunkAssets = parseMediaAssets(response, ks, start, end - start, getPlayableAssets(start, end));
+            List<PKPlaylistMedia> chunkMedia = null;
+            if (chunkAssets != null) {
+                chunkSizer.onChunkLoaded(end - start, latencyMs, response.getResponse().length());
+
+                chunkMedia = new ArrayList<>(chunkAssets.size());
+                for (int i = 0; i < chunkAssets.size(); i++) {
+                    KalturaMediaAsset kalturaMediaAsset = chunkAssets.get(i);
+                    chunkMedia.add(kalturaMediaAsset != null ? getPlaylistMedia(start + i, kalturaMediaAsset, getAssetMetadata(start + i, kalturaMediaAsset)) : null);
+                }
+                notifyPlaylistMedia(start, chunkMedia);
+            }
+
+            synchronized (chunksLock) {
+                chunkRequests.remove(start);
+            }
+            boolean done = chunkAssets != null ? chunks.onChunkLoaded(start, chunkAssets, chunkMedia) :
+                    chunks.onChunkFailed(response.getError() != null ? response.getError() : ErrorElement.LoadError.message("failed to get responses on load request for assets [" + start + ", " + end + ")"));
+
+            if (!done) {
+                // the login chunk is done, the remaining chunks can go out in parallel with its session
+                int nextChunks = TextUtils.isEmpty(requestKs) && chunksLoginKs != null ? maxParallelChunks : 1;
+                for (int i = 0; i < nextChunks; i++) {
+                    queueNextChunk(ks);
+                }
+                return;
+            }
+
+            onChunksLoaded(ks);
+        }
+
+        /**
+         * Merges the chunks into the playlist. Failed chunks leave null slots, the load fails only
+         * when all the chunks failed.
+         */
+        private void onChunksLoaded(String ks) {
+            ErrorElement error = null;
+            PKPlaylist pkPlaylist = null;
+
+            if (chunks.getLoadedChunks() == 0) {
+                error = chunks.getError();
+            } else {
+                if (metadataCache != null) {
+                    cacheAssets(chunks.getAssets());
+                }
+                pkPlaylist = buildPlaylist(ks, chunks.getMedia());
+            }
+
+            log.i(loadId + ": chunked load operation " + (isCanceled() ? "canceled" : "finished with " + (error == null ? "success" : "failure")));
+
+            onRemoteError(error);
+            if (!isCanceled() && completion != null) {
+                completion.onComplete(Accessories.buildResult(pkPlaylist, error));
+            }
+            notifyCompletion();
+        }
+
+        @Override
+        protected void cancel() {
+            List<String> requests;
+            synchronized (chunksLock) {
+                requests = new ArrayList<>(chunkRequests.values());
+                chunkRequests.clear();
+            }
+            for (String request : requests) {
+                requestQueue.cancelRequest(request);
+            }
+            super.cancel();
+        }
+
+        /**
+         * Fetches the playlist assets again, updates the metadata cache and passes the rebuilt
+         * playlist to the metadata listener. Not bound to the load, which was already completed,
+         * but run as a provider loader so {@link #cancel()} stops it.
+         */
+        private void revalidate(List<KalturaMediaAsset> cachedAssets) {
+            if (!isCanceled()) {
+                submitLoader(new RevalidateLoader(cachedAssets));
+            }
+        }
+
+        private class RevalidateLoader extends BECallableLoader {
+
+            private final List<KalturaMediaAsset> cachedAssets;
+
+            RevalidateLoader(List<KalturaMediaAsset> cachedAssets) {
+                super(log.tag + "#RevalidateLoader", Loader.this.requestQueue, Loader.this.sessionProvider, null);
+
+                this.cachedAssets = cachedAssets;
+            }
+
+            @Override
+            protected ErrorElement validateKs(String ks) {
+                return null; // an empty ks is replaced by an anonymous session
+            }
+
+            @Override
+            protected void requestRemote(String ks) throws InterruptedException {
+                log.d(loadId + ": refreshing stale assets metadata");
+                final RequestBuilder requestBuilder = getRemoteRequest(getApiBaseUrl(), ks, referrer, playlistRequest.mediaAssets, 0)
+                        .completion(response -> {
+                            loadReq = null;
+                            if (!isCanceled()) {
+                                onRevalidateResponse(ks, response);
+                            }
+                            notifyCompletion();
+                        });
+
+                synchronized (syncObject) {
+                    loadReq = requestQueue.queue(requestBuilder.build());
+                    log.d(loadId + ": request queued for execution [" + loadReq + "]");
+                }
+
+                if (!isCanceled()) {
+                    waitForResponse();
+                }
+            }
+
+            private void onRevalidateResponse(String ks, ResponseElement response) {
+                List<KalturaMediaAsset> refreshedAssets = parseMediaAssets(response, ks, 0, playlistRequest.mediaAssets.size(), 0);
+                if (refreshedAssets == null) {
+                    log.w(loadId + ": failed to refresh assets metadata");
+                    return;
+                }
+
+                cacheAssets(refreshedAssets);
+                if (metadataListener != null) {
+                    for (int i = 0; i < refreshedAssets.size(); i++) {
+                        if (refreshedAssets.get(i) == null) { // keep the stale one
+                            refreshedAssets.set(i, cachedAssets.get(i));
+                        }
+                    }
+                    metadataListener.onMetadataUpdated(getPKPlaylist(ks, refreshedAssets, getAssetsMetadata(refreshedAssets)));
+                }
+            }
+        }
+
+        /**
+         * @param start - playlist index of the first requested asset.
+         * @param assetsCount - number of requested assets.
+         * @param playableAssets - number of requested playback contexts, their entries are cached.
+         * @return - the assets results, aligned with the requested assets (null for a failed
+         * asset), or null if the response can't be used.
+         */
+        @SuppressWarnings("unchecked")
+        private List<KalturaMediaAsset> parseMediaAssets(ResponseElement response, String ks, int start, int assetsCount, int playableAssets) {
+            if (response == null || !response.isSuccess()) {
+                return null;
+            }
+
+            try {
+                Object parsedResponsesObject = PhoenixParser.parse(response.getResponse());
+                if (!(parsedResponsesObject instanceof List)) {
+                    if (parsedResponsesObject instanceof BaseResult) { // a multirequest level failure
+                        onRemoteError(((BaseResult) parsedResponsesObject).error);
+                    }
+                    return null;
+                }
+
+                List<BaseResult> parsedResponses = (List<BaseResult>) parsedResponsesObject;
+                int mediaAssetsStartIndex = !parsedResponses.isEmpty() && parsedResponses.get(0) instanceof KalturaLoginSession ? 1 : 0;
+                if (mediaAssetsStartIndex == 1 && parsedResponses.get(0).error == null) {
+                    String loginKs = ((KalturaLoginSession) parsedResponses.get(0)).getKs();
+                    if (!TextUtils.isEmpty(loginKs)) {
+                        chunksLoginKs = loginKs;
+                    }
+                    onAnonymousSession(loginKs);
+                }
+                if (parsedResponses.size() - mediaAssetsStartIndex != assetsCount + playableAssets) {
+                    return null;
+                }
+
+                List<KalturaMediaAsset> kalturaMediaAssets = new ArrayList<>(assetsCount);
+                for (int i = mediaAssetsStartIndex; i < mediaAssetsStartIndex + assetsCount; i++) {
+                    BaseResult result = parsedResponses.get(i);
+                    if (result != null) {
+                        onRemoteError(result.error);
+                    }
+                    kalturaMediaAssets.add(result != null && result.error == null && result instanceof KalturaMediaAsset ? (KalturaMediaAsset) result : null);
+                }
+                if (playableAssets > 0) {
+                    cachePlayableEntries(parsedResponses, mediaAssetsStartIndex + assetsCount, start, kalturaMediaAssets, playableAssets);
+                }
+                return kalturaMediaAssets;
+
+            } catch (JsonParseException ex) {
+                return null;
+            }
+        }
+
+        private String getMetadataKey(OTTMediaAsset mediaAsset) {
+            return getAssetMetadataKey(sessionProvider.baseUrl(), sessionProvider.partnerId(), mediaAsset.assetId, mediaAsset.assetReferenceType);
+        }
+
+        /**
+         * @return - cached metadata of all the playlist assets, or null if any of them is missing.
+         */
+        private List<KalturaMediaAsset> getCachedAssets() {
+            List<KalturaMediaAsset> cachedAssets = new ArrayList<>(playlistRequest.mediaAssets.size());
+            for (OTTMediaAsset mediaAsset : playlistRequest.mediaAssets) {
+                KalturaMediaAsset cachedAsset = mediaAsset != null ? metadataCache.get(getMetadataKey(mediaAsset)) : null;
+                if (cachedAsset == null) {
+                    return null;
+                }
+                cachedAssets.add(cachedAsset.copy());
+            }
+            return cachedAssets;
+        }
+
+        private boolean hasStaleAssets() {
+            for (OTTMediaAsset mediaAsset : playlistRequest.mediaAssets) {
+                if (metadataCache.isStale(getMetadataKey(mediaAsset))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void cacheAssets(List<KalturaMediaAsset> kalturaMediaAssets) {
+            if (kalturaMediaAssets.size() != playlistRequest.mediaAssets.size()) {
+                return;
+            }
+            for (int i = 0; i < kalturaMediaAssets.size(); i++) {
+                if (kalturaMediaAssets.get(i) != null) {
+                    metadataCache.put(getMetadataKey(playlistRequest.mediaAssets.get(i)), kalturaMediaAssets.get(i).copy());
+                }
+            }
+        }
+
+        private List<Map<String, String>> getAssetsMetadata(List<KalturaMediaAsset> kalturaMediaAssets) {
+            List<Map<String, String>> assetsMetadtaList = new ArrayList<>(kalturaMediaAssets.size());
+            for (int i = 0; i < kalturaMediaAssets.size(); i++) {
+                KalturaMediaAsset kalturaMediaAsset = kalturaMediaAssets.get(i);
+                assetsMetadtaList.add(kalturaMediaAsset != null ? getAssetMetadata(i, kalturaMediaAsset) : null);
+            }
+            return assetsMetadtaList;
+        }
+
+        private Map<String, String> getAssetMetadata(int index, KalturaMediaAsset kalturaMediaAsset) {
+            Map<String, String> metadata = createOttMetadata(kalturaMediaAsset, index < playlistRequest.mediaAssets.size() ? playlistRequest.mediaAssets.get(index) : null);
+            metadata.put("is360Content", String.valueOf(is360Supported(metadata)));
+            return metadata;
+        }
+
+        /**
+         * Passes the parsed medias to the playlist media listener, null medias (failed assets) are skipped.
+         *
+         * @param startIndex - playlist index of the first media in the list.
+         * @param mediaList - parsed medias.
+         */
+        private void notifyPlaylistMedia(int startIndex, List<PKPlaylistMedia> mediaList) {
+            if (playlistMediaListener == null || mediaList == null) {
+                return;
+            }
+            for (int i = 0; i < mediaList.size() && !isCanceled(); i++) {
+                if (mediaList.get(i) != null) {
+                    playlistMediaListener.onPlaylistMedia(startIndex + i, mediaList.get(i));
+                }
+            }
+        }
+
         /**
          * Parse and create a {@link PKPlaylist} object from the API response.
          *
@@ -302,11 +870,16 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
 
                     if (!parsedResponses.isEmpty() && parsedResponses.get(0) instanceof KalturaLoginSession) {
                         loginResult = parsedResponses.get(0);
+                        if (loginResult.error == null) {
+                            onAnonymousSession(((KalturaLoginSession) loginResult).getKs());
+                        }
                     }
 
                     if (loginResult != null && loginResult.error != null) {
                         error = loginResult.error;
+                        onRemoteError(error);
                         completion.onComplete(Accessories.buildResult(null, error));
+                        notifyCompletion();
                         return;
                     } else {
                         boolean allErrors = true;
@@ -317,7 +890,9 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
                             }
                         }
                         if (allErrors) {
+                            onRemoteError(parsedResponses.get(0).error);
                             completion.onComplete(Accessories.buildResult(null, parsedResponses.get(0).error));
+                            notifyCompletion();
                             return;
                         }
                     }
@@ -327,9 +902,13 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
                         mediaAssetsStartIndex = 1;
                     }
 
+                    // playback contexts of the playable assets follow the asset results
+                    int playableAssets = getPlayableAssets(0, playlistRequest.mediaAssets.size());
+                    int mediaAssetsEndIndex = parsedResponses.size() - mediaAssetsStartIndex > playableAssets ? parsedResponses.size() - playableAssets : parsedResponses.size();
+
                     kalturaMediaAssets = new ArrayList<>();
                     assetsMetadtaList = new ArrayList<>();
-                    for (int playlistMediaIndex = 0; mediaAssetsStartIndex < parsedResponses.size(); mediaAssetsStartIndex++) {
+                    for (int playlistMediaIndex = 0; mediaAssetsStartIndex < mediaAssetsEndIndex; mediaAssetsStartIndex++) {
                         if (parsedResponses.get(mediaAssetsStartIndex).error == null) {
                             KalturaMediaAsset kalturaMediaAsset = (KalturaMediaAsset) parsedResponses.get(mediaAssetsStartIndex);
                             OTTMediaAsset ottMediaAsset = (playlistRequest != null && playlistRequest.mediaAssets != null && playlistMediaIndex < playlistRequest.mediaAssets.size()) ? playlistRequest.mediaAssets.get(playlistMediaIndex++) : null;
@@ -343,12 +922,21 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
                         }
                     }
 
+                    if (playableAssets > 0 && kalturaMediaAssets.size() == playlistRequest.mediaAssets.size()) {
+                        cachePlayableEntries(parsedResponses, mediaAssetsEndIndex, 0, kalturaMediaAssets, playableAssets);
+                    }
+
                     if (kalturaMediaAssets.isEmpty()) { // makes sure there are sources available for play
                         error = ErrorElement.LoadError.message("failed to get responses on load requests no medias available");
                         completion.onComplete(Accessories.buildResult(null, error));
+                        notifyCompletion();
                         return;
                     }
 
+                    if (metadataCache != null) {
+                        cacheAssets(kalturaMediaAssets);
+                    }
+
                 } catch (JsonParseException | InvalidParameterException ex) {
                     error = ErrorElement.LoadError.message("failed parsing remote response: " + ex.getMessage());
                 } catch (IndexOutOfBoundsException ex) {
@@ -360,8 +948,13 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
 
             log.i(loadId + ": load operation " + (isCanceled() ? "canceled" : "finished with " + (error == null ? "success" : "failure")));
 
+            onRemoteError(error);
             if (!isCanceled() && completion != null) {
-                pkPlaylist = getPKPlaylist(ks, kalturaMediaAssets, assetsMetadtaList);
+                List<PKPlaylistMedia> mediaList = getPlaylistMediaList(kalturaMediaAssets, assetsMetadtaList);
+                if (mediaList != null) {
+                    notifyPlaylistMedia(0, mediaList);
+                    pkPlaylist = buildPlaylist(ks, mediaList);
+                }
                 completion.onComplete(Accessories.buildResult(pkPlaylist, error));
             }
 
@@ -370,36 +963,44 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
         }
 
         private PKPlaylist getPKPlaylist(String playlistKs, List<KalturaMediaAsset> entriesList, List<Map<String, String>> assetsMetadtaList) {
+            List<PKPlaylistMedia> mediaList = getPlaylistMediaList(entriesList, assetsMetadtaList);
+            return mediaList != null ? buildPlaylist(playlistKs, mediaList) : null;
+        }
+
+        private List<PKPlaylistMedia> getPlaylistMediaList(List<KalturaMediaAsset> entriesList, List<Map<String, String>> assetsMetadtaList) {
             if (entriesList == null || assetsMetadtaList == null) {
                 return null;
             }
 
-            List<PKPlaylistMedia> mediaList = new ArrayList<>();
-
-            int listIndex = 0;
-            for (KalturaMediaAsset kalturaMediaEntry : entriesList) {
-                if (kalturaMediaEntry == null || kalturaMediaEntry.getMediaFiles() == null || kalturaMediaEntry.getMediaFiles().isEmpty()) {
-                    mediaList.add(null);
-                    listIndex++;
-                    continue;
-                }
+            List<PKPlaylistMedia> mediaList = new ArrayList<>(entriesList.size());
+            for (int listIndex = 0; listIndex < entriesList.size(); listIndex++) {
+                mediaList.add(getPlaylistMedia(listIndex, entriesList.get(listIndex), assetsMetadtaList.get(listIndex)));
+            }
+            return mediaList;
+        }
 
-                String thumbnailUrl = (kalturaMediaEntry.getImages() != null && !kalturaMediaEntry.getImages().isEmpty()) ? kalturaMediaEntry.getImages().get(0).getUrl() : "";
-
-                if (kalturaMediaEntry.getMediaFiles().get(0) != null) {
-                    mediaList.add(new PKPlaylistMedia().
-                            setId(String.valueOf(kalturaMediaEntry.getId())).
-                            setName(kalturaMediaEntry.getName()).
-                            setDescription(kalturaMediaEntry.getDescription()).
-                            setType(getMediaEntryType(listIndex, kalturaMediaEntry)).
-                            setMsDuration(kalturaMediaEntry.getMediaFiles().get(0).getDuration() * Consts.MILLISECONDS_MULTIPLIER).
-                            setThumbnailUrl(thumbnailUrl).
-                            setTags(assetsMetadtaList.get(listIndex).get("tags")).
-                            setMetadata(assetsMetadtaList.get(listIndex)));
-                }
-                listIndex++;
+        /**
+         * @return - the playlist media of the asset, or null if the asset failed or has no media files.
+         */
+        private PKPlaylistMedia getPlaylistMedia(int listIndex, KalturaMediaAsset kalturaMediaEntry, Map<String, String> metadata) {
+            if (kalturaMediaEntry == null || kalturaMediaEntry.getMediaFiles() == null || kalturaMediaEntry.getMediaFiles().isEmpty() || kalturaMediaEntry.getMediaFiles().get(0) == null) {
+                return null;
             }
 
+            String thumbnailUrl = (kalturaMediaEntry.getImages() != null && !kalturaMediaEntry.getImages().isEmpty()) ? kalturaMediaEntry.getImages().get(0).getUrl() : "";
+
+            return new PKPlaylistMedia().
+                    setId(String.valueOf(kalturaMediaEntry.getId())).
+                    setName(kalturaMediaEntry.getName()).
+                    setDescription(kalturaMediaEntry.getDescription()).
+                    setType(getMediaEntryType(listIndex, kalturaMediaEntry)).
+                    setMsDuration(kalturaMediaEntry.getMediaFiles().get(0).getDuration() * Consts.MILLISECONDS_MULTIPLIER).
+                    setThumbnailUrl(thumbnailUrl).
+                    setTags(metadata.get("tags")).
+                    setMetadata(metadata);
+        }
+
+        private PKPlaylist buildPlaylist(String playlistKs, List<PKPlaylistMedia> mediaList) {
             if (playlistRequest.playlistMetadata == null) {
                 playlistRequest.playlistMetadata = new PlaylistMetadata();
             }
@@ -426,8 +1027,9 @@ public class PhoenixPlaylistProvider extends BEBaseProvider<PKPlaylist> implemen
         }
 
         private boolean isDvrLiveMedia(int index) {
-            if (playlist != null && playlist.mediaAssets != null && !playlist.mediaAssets.isEmpty() && index >= 0 && index < playlist.mediaAssets.size() && playlist.mediaAssets.get(index) != null) {
-                return playlist.mediaAssets.get(index).assetType == APIDefines.KalturaAssetType.Epg && playlist.mediaAssets.get(index).contextType == APIDefines.PlaybackContextType.StartOver;
+            List<OTTMediaAsset> mediaAssets = playlistRequest.mediaAssets;
+            if (mediaAssets != null && !mediaAssets.isEmpty() && index >= 0 && index < mediaAssets.size() && mediaAssets.get(index) != null) {
+                return mediaAssets.get(index).assetType == APIDefines.KalturaAssetType.Epg && mediaAssets.get(index).contextType == APIDefines.PlaybackContextType.StartOver;
             }
             return false;
         }
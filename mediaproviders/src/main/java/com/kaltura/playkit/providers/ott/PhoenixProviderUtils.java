@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.kaltura.netkit.connect.response.BaseResult;
 import com.kaltura.netkit.connect.response.ResponseElement;
 import com.kaltura.netkit.utils.ErrorElement;
@@ -19,10 +20,6 @@ import com.kaltura.playkit.providers.api.phoenix.model.KalturaRecordingAsset;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaRecordingType;
 import com.kaltura.playkit.providers.api.phoenix.model.KalturaThumbnail;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,17 +28,26 @@ public class PhoenixProviderUtils {
 
     private static String LIVE_ASSET_OBJECT_TYPE = "KalturaLiveAsset"; //Might be needed to support in KalturaProgramAsset for EPG
 
+    /**
+     * @deprecated API exceptions are parsed into {@link com.kaltura.playkit.providers.api.KalturaAPIException}
+     * results, use {@link com.kaltura.playkit.providers.api.KalturaAPIException#findError(Object)}.
+     */
+    @Deprecated
     public static final String KALTURA_API_EXCEPTION = "KalturaAPIException";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String ERROR = "error";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String OBJECT_TYPE = "objectType";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String CODE = "code";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String MESSAGE = "message";
     public static final String RESULT = "result";
 
-    static boolean isAPIExceptionResponse(ResponseElement response) {
-        return response == null || (response.isSuccess() && response.getError() == null && response.getResponse() != null && response.getResponse().contains(KALTURA_API_EXCEPTION));
-    }
-
     static boolean isErrorResponse(ResponseElement response) {
         return response == null || (!response.isSuccess() && response.getError() != null);
     }
@@ -53,82 +59,6 @@ public class PhoenixProviderUtils {
         return null;
     }
 
-    static ErrorElement parseAPIExceptionError(ResponseElement response) {
-
-        if (response != null) {
-
-            try {
-                JSONObject apiException = new JSONObject(response.getResponse());
-
-                if (apiException.has(RESULT)) {
-                    String ottError = "OTTError";
-                    if (apiException.get(RESULT) instanceof JSONObject) {
-
-                        JSONObject result = (JSONObject) apiException.get(RESULT);
-                        if (result != null && result.has(ERROR)) {
-                            JSONObject error = (JSONObject) result.get(ERROR);
-                            Map<String, String> errorMap = getAPIExceptionData(error);
-                            if (errorMap != null) {
-                                return new ErrorElement(errorMap.get(MESSAGE), errorMap.get(CODE), errorMap.get(OBJECT_TYPE)).setName(ottError);
-                            }
-                        }
-                    } else if (apiException.get(RESULT) instanceof JSONArray) {
-
-                        JSONArray result = (JSONArray) apiException.get(RESULT);
-                        for(int idx = 0 ; idx < result.length() ; idx++) {
-                            JSONObject error = (JSONObject) result.get(idx);
-                            if (error != null && error.has(ERROR)) {
-                                JSONObject resultIndexJsonObjectError = (JSONObject) error.get(ERROR);
-                                Map<String, String> errorMap = getAPIExceptionData(resultIndexJsonObjectError);
-                                if (errorMap != null) {
-                                    return new ErrorElement(errorMap.get(MESSAGE), errorMap.get(CODE), errorMap.get(OBJECT_TYPE)).setName(ottError);
-                                }
-                            }
-                        }
-                    }
-
-                }
-            } catch (JSONException | NumberFormatException ex) {
-                log.e("parseAPIExceptionError Exception = " + ex.getMessage());
-            }
-        }
-
-        return null;
-    }
-
-    static Map<String,String> getAPIExceptionData(JSONObject error) {
-
-        try {
-
-            if (error != null) {
-
-                Map<String,String> errorMap = new HashMap<>();
-
-                if (error.has(OBJECT_TYPE)) {
-                    String objectType = error.getString(OBJECT_TYPE);
-                    errorMap.put(OBJECT_TYPE, objectType);
-                }
-
-                if (error.has(CODE)) {
-                    String errorCode = error.getString(CODE);
-                    errorMap.put(CODE, errorCode);
-                }
-
-                if (error.has(MESSAGE)) {
-                    String errorMessage = error.getString(MESSAGE);
-                    errorMap.put(MESSAGE, errorMessage);
-                }
-
-                //log.d("Error objectType = " + objectType + " errorCode = " + errorCode + "errorMessage = " + errorMessage);
-                return errorMap;
-            }
-        } catch (JSONException | NumberFormatException ex) {
-            log.e("getAPIExceptionData Exception = " + ex.getMessage());
-        }
-
-        return null;
-    }
-
     static boolean is360Supported(Map<String, String> metadata) {
         return ("360".equals(metadata.get("tags")));
     }
@@ -214,6 +144,29 @@ public class PhoenixProviderUtils {
         return (valueElement != null && !valueElement.isJsonNull()) ? valueElement.getAsString() : null;
     }
 
+    /**
+     * @param response - a multirequest response.
+     * @param count - number of results to keep.
+     * @return - the response with its last results only, e.g without the anonymous login result, which
+     * carries a ks and must not be stored.
+     */
+    static String keepLastResults(String response, int count) {
+        JsonElement json = new JsonParser().parse(response);
+        JsonElement result = json.isJsonObject() ? json.getAsJsonObject().get(RESULT) : null;
+        if (result == null || !result.isJsonArray() || result.getAsJsonArray().size() <= count) {
+            return response;
+        }
+
+        JsonArray results = result.getAsJsonArray();
+        JsonArray lastResults = new JsonArray();
+        for (int i = results.size() - count; i < results.size(); i++) {
+            lastResults.add(results.get(i));
+        }
+        JsonObject stored = new JsonObject();
+        stored.add(RESULT, lastResults);
+        return stored.toString();
+    }
+
     static ErrorElement updateErrorElement(ResponseElement response, BaseResult loginResult, BaseResult playbackContextResult, BaseResult assetGetResult) {
         //error = ErrorElement.LoadError.message("failed to get multirequest responses on load request for asset "+playlist.assetIds);
         ErrorElement error;
@@ -229,6 +182,13 @@ public class PhoenixProviderUtils {
         return error;
     }
 
+    /**
+     * Key of an asset metadata (asset.get result) in the {@link com.kaltura.playkit.providers.base.AssetMetadataCache}.
+     */
+    static String getAssetMetadataKey(String baseUrl, int partnerId, String assetId, APIDefines.AssetReferenceType assetReferenceType) {
+        return baseUrl + "|" + partnerId + "|" + assetId + "|" + (assetReferenceType != null ? assetReferenceType : APIDefines.AssetReferenceType.Media);
+    }
+
     static boolean isDvrLiveMediaEntry(KalturaMediaAsset kalturaMediaAsset, OTTMediaAsset mediaAsset) {
 
         if (LIVE_ASSET_OBJECT_TYPE.equals(kalturaMediaAsset.getObjectType()) && kalturaMediaAsset.getEnableTrickPlay()) {
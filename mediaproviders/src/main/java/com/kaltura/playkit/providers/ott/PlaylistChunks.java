@@ -0,0 +1,109 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.ott;
+
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of a playlist load done in chunks: hands out the ranges of the chunks to request and merges
+ * the chunks results by their playlist position, whatever order they complete in. A failed chunk
+ * leaves null slots.
+ */
+class PlaylistChunks {
+
+    private final KalturaMediaAsset[] assets;
+    private final PKPlaylistMedia[] media;
+    private int nextChunkStart;
+    private int pendingChunks;
+    private int loadedChunks;
+    private ErrorElement error;
+
+    PlaylistChunks(int assetsCount) {
+        assets = new KalturaMediaAsset[assetsCount];
+        media = new PKPlaylistMedia[assetsCount];
+    }
+
+    /**
+     * @param chunkSize - max number of assets in the chunk.
+     * @return - {start, end} of the next chunk (end exclusive), or null if all the chunks were handed out.
+     */
+    synchronized int[] next(int chunkSize) {
+        if (nextChunkStart >= assets.length) {
+            return null;
+        }
+        int start = nextChunkStart;
+        int end = Math.min(assets.length, start + Math.max(1, chunkSize));
+        nextChunkStart = end;
+        pendingChunks++;
+        return new int[]{start, end};
+    }
+
+    /**
+     * @param start - start of the chunk.
+     * @param chunkAssets - the chunk assets, by position in the chunk.
+     * @param chunkMedia - the chunk playlist medias, by position in the chunk.
+     * @return - true if it was the last chunk.
+     */
+    synchronized boolean onChunkLoaded(int start, List<KalturaMediaAsset> chunkAssets, List<PKPlaylistMedia> chunkMedia) {
+        loadedChunks++;
+        for (int i = 0; i < chunkAssets.size(); i++) {
+            assets[start + i] = chunkAssets.get(i);
+            media[start + i] = chunkMedia.get(i);
+        }
+        return onChunkDone();
+    }
+
+    /**
+     * @param chunkError - the chunk error, kept if it is the first failure.
+     * @return - true if it was the last chunk.
+     */
+    synchronized boolean onChunkFailed(ErrorElement chunkError) {
+        if (error == null) {
+            error = chunkError;
+        }
+        return onChunkDone();
+    }
+
+    private boolean onChunkDone() {
+        pendingChunks--;
+        return pendingChunks == 0 && nextChunkStart >= assets.length;
+    }
+
+    synchronized int getLoadedChunks() {
+        return loadedChunks;
+    }
+
+    /**
+     * @return - error of the first failed chunk, null if none failed.
+     */
+    synchronized ErrorElement getError() {
+        return error;
+    }
+
+    synchronized List<KalturaMediaAsset> getAssets() {
+        List<KalturaMediaAsset> mediaAssets = new ArrayList<>(assets.length);
+        Collections.addAll(mediaAssets, assets);
+        return mediaAssets;
+    }
+
+    synchronized List<PKPlaylistMedia> getMedia() {
+        return new ArrayList<>(Arrays.asList(media));
+    }
+}
@@ -22,6 +22,7 @@ import com.kaltura.playkit.PKMediaFormat;
 import com.kaltura.playkit.PKMediaSource;
 import com.kaltura.playkit.player.PKExternalSubtitle;
 import com.kaltura.playkit.providers.MediaEntryProvider;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
 import com.kaltura.playkit.providers.api.SimpleSessionProvider;
 import com.kaltura.playkit.providers.api.base.model.KalturaDrmPlaybackPluginData;
 import com.kaltura.playkit.providers.api.ovp.KalturaOvpErrorHelper;
@@ -35,6 +36,7 @@ import com.kaltura.playkit.providers.api.ovp.model.KalturaMediaEntry;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadataListResponse;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaPlaybackContext;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaPlaybackSource;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaStartWidgetSessionResponse;
 import com.kaltura.playkit.providers.api.ovp.services.BaseEntryService;
 import com.kaltura.playkit.providers.api.ovp.services.MetaDataService;
 import com.kaltura.playkit.providers.api.ovp.services.OvpService;
@@ -42,7 +44,11 @@ import com.kaltura.playkit.providers.api.ovp.services.OvpSessionService;
 import com.kaltura.playkit.providers.base.BEBaseProvider;
 import com.kaltura.playkit.providers.base.BECallableLoader;
 import com.kaltura.playkit.providers.base.FormatsHelper;
+import com.kaltura.playkit.providers.base.KsInfo;
+import com.kaltura.playkit.providers.base.LoadErrorCache;
+import com.kaltura.playkit.providers.base.MediaEntryCache;
 import com.kaltura.playkit.providers.base.OnMediaLoadCompletion;
+import com.kaltura.playkit.providers.base.ResponseDiskCache;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -59,8 +65,9 @@ import static com.kaltura.playkit.providers.MediaProvidersUtils.updateDrmParams;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.createExternalSubtitles;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.getDefaultWidgetId;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.initPKMediaEntry;
-import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.isAPIExceptionResponse;
-import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.parseAPIExceptionError;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.keepLastResults;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.KsSlot;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.fillKsSlots;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.parseErrorRersponse;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.parseMetadata;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.populateMetadata;
@@ -71,6 +78,8 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
 
     public static final boolean CanBeEmpty = true;
 
+    private static final String TemplateKeySuffix = "|ks-slot";
+
     private String entryId;
     private String referenceId;
     private String uiConfId;
@@ -81,6 +90,10 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
     private int maxBitrate;
     private Map<String, Object> flavorsFilter;
 
+    private MediaEntryCache mediaEntryCache;
+    private ResponseDiskCache responseDiskCache;
+    private LoadErrorCache loadErrorCache;
+
     public KalturaOvpMediaProvider() {
         super(log.tag);
     }
@@ -157,6 +170,89 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
         return this;
     }
 
+    /**
+     * optional parameter.
+     * When set, the load does not hold a loader thread while waiting for the session token and the
+     * remote response, the flow is carried by the requests callbacks instead.
+     * Defaults to false.
+     *
+     * @param asyncLoad - true to run the load in non-blocking mode.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setAsyncLoad(boolean asyncLoad) {
+        this.asyncLoad = asyncLoad;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * When set, a new load does not cancel the loads in progress. Each load works on a snapshot of
+     * the parameters set at the time it started, and can be canceled through the handle returned by load.
+     * Defaults to false.
+     *
+     * @param concurrentLoads - true to allow overlapping loads on this provider.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setConcurrentLoads(boolean concurrentLoads) {
+        this.concurrentLoads = concurrentLoads;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * When set, a load of the same media that is already in progress (on any provider of this type
+     * that uses the same session provider) is joined instead of sending another request. All the
+     * joined loads get the result, and each of them can be canceled without affecting the others.
+     * Defaults to false.
+     *
+     * @param shareInFlightLoads - true to merge identical loads.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setShareInFlightLoads(boolean shareInFlightLoads) {
+        this.shareInFlightLoads = shareInFlightLoads;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Cache of resolved media entries. On a hit the entry is passed right away without a remote request.
+     * The same cache instance can be set on several providers.
+     *
+     * @param mediaEntryCache - cache to use, null to disable caching.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setMediaEntryCache(MediaEntryCache mediaEntryCache) {
+        this.mediaEntryCache = mediaEntryCache;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Disk cache of the BE responses, allows starting playback of a recently loaded media after
+     * an application restart without waiting for the BE. A cached response is used as is, playback
+     * context included, until it expires or its ks expires (see {@link ResponseDiskCache}).
+     *
+     * @param responseDiskCache - cache to use, null to disable.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setResponseDiskCache(ResponseDiskCache responseDiskCache) {
+        this.responseDiskCache = responseDiskCache;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Cache of failures that will not change on retry (blocked or restricted content, no playable sources).
+     * While cached, loading the same entry with the same ks fails right away with the cached error.
+     *
+     * @param loadErrorCache - cache to use, null to disable.
+     * @return - instance of KalturaOvpMediaProvider
+     */
+    public KalturaOvpMediaProvider setLoadErrorCache(LoadErrorCache loadErrorCache) {
+        this.loadErrorCache = loadErrorCache;
+        return this;
+    }
+
     /**
      * optional parameter
      * will be used in media sources url
@@ -174,9 +270,63 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
         return this;
     }
 
+    /**
+     * Resolves the entries of upcoming assets (e.g. the next item of a playlist) in the background and
+     * stores them in the media entry cache, so a later {@link #load(OnCompletion)} of one of them
+     * completes right away. Each asset is loaded with the uiConfId, captions and session provider set
+     * on this provider, the asset ks is not used.
+     *
+     * Prefetches run at low priority, start one at a time, and hold back while loads are running. Requires a
+     * media entry cache ({@link #setMediaEntryCache(MediaEntryCache)}), ignored otherwise.
+     * Canceled by {@link #cancelPrefetch()}.
+     *
+     * @param mediaAssets - assets to prefetch.
+     */
+    public void prefetch(List<OVPMediaAsset> mediaAssets) {
+        if (mediaEntryCache == null) {
+            log.w("prefetch ignored, no media entry cache was set");
+            return;
+        }
+
+        for (OVPMediaAsset mediaAsset : mediaAssets) {
+            if (mediaAsset == null || TextUtils.isEmpty(mediaAsset.entryId) && TextUtils.isEmpty(mediaAsset.referenceId)) {
+                continue;
+            }
+            OVPMediaAsset loadAsset = new OVPMediaAsset()
+                    .setEntryId(mediaAsset.entryId)
+                    .setReferenceId(mediaAsset.referenceId)
+                    .setRedirectFromEntryId(mediaAsset.redirectFromEntryId != null ? mediaAsset.redirectFromEntryId : redirectFromEntryId)
+                    .setReferrer(mediaAsset.getReferrer() != null ? mediaAsset.getReferrer() : referrer);
+            submitPrefetchLoader(createLoader(loadAsset, null));
+        }
+    }
+
+    private OVPMediaAsset getLoadAsset() {
+        return new OVPMediaAsset()
+                .setEntryId(entryId)
+                .setReferenceId(referenceId)
+                .setRedirectFromEntryId(redirectFromEntryId)
+                .setReferrer(referrer);
+    }
+
+    private String getLoadKey(OVPMediaAsset mediaAsset) {
+        return mediaAsset.getRequestKey() + '|' + uiConfId + '|' + useApiCaptions;
+    }
+
+    @Override
+    protected String getLoadKey() {
+        return getLoadKey(getLoadAsset());
+    }
+
     @Override
     protected Loader createNewLoader(OnCompletion<ResultElement<PKMediaEntry>> completion) {
-        return new Loader(requestsExecutor, sessionProvider, entryId, referenceId, uiConfId, referrer, redirectFromEntryId, completion);
+        return createLoader(getLoadAsset(), completion);
+    }
+
+    private Loader createLoader(OVPMediaAsset loadAsset, OnCompletion<ResultElement<PKMediaEntry>> completion) {
+        String cacheKey = mediaEntryCache != null || responseDiskCache != null || loadErrorCache != null ? "ovp|" + sessionProvider.baseUrl() + "|" + sessionProvider.partnerId() + "|" + getLoadKey(loadAsset) : null;
+        return new Loader(requestsExecutor, sessionProvider, loadAsset.entryId, loadAsset.referenceId, uiConfId, loadAsset.getReferrer(), loadAsset.redirectFromEntryId, useApiCaptions,
+                mediaEntryCache, responseDiskCache, loadErrorCache, cacheKey, completion);
     }
 
     @Override
@@ -198,8 +348,15 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
         private boolean redirectFromEntryId = true;
         private String uiConfId;
         private String referrer;
-
-        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, String entryId, String referenceId, String uiConfId, String referrer, boolean redirectFromEntryId, OnCompletion<ResultElement<PKMediaEntry>> completion) {
+        private boolean useApiCaptions;
+        private MediaEntryCache mediaEntryCache;
+        private ResponseDiskCache responseDiskCache;
+        private LoadErrorCache loadErrorCache;
+        private String cacheKey;
+        private boolean responseFromDisk;
+
+        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, String entryId, String referenceId, String uiConfId, String referrer, boolean redirectFromEntryId, boolean useApiCaptions,
+               MediaEntryCache mediaEntryCache, ResponseDiskCache responseDiskCache, LoadErrorCache loadErrorCache, String cacheKey, OnCompletion<ResultElement<PKMediaEntry>> completion) {
             super(log.tag + "#Loader", requestsExecutor, sessionProvider, completion);
 
             this.entryId = entryId;
@@ -207,6 +364,11 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
             this.redirectFromEntryId = redirectFromEntryId;
             this.uiConfId = uiConfId;
             this.referrer = referrer;
+            this.useApiCaptions = useApiCaptions;
+            this.mediaEntryCache = mediaEntryCache;
+            this.responseDiskCache = responseDiskCache;
+            this.loadErrorCache = loadErrorCache;
+            this.cacheKey = cacheKey;
 
             log.v(loadId + ": construct new Loader");
         }
@@ -249,13 +411,53 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
          */
         @Override
         protected void requestRemote(final String ks) throws InterruptedException {
+            if (loadErrorCache != null) {
+                ErrorElement cachedError = loadErrorCache.get(cacheKey, getCacheKs());
+                if (cachedError != null) {
+                    log.d(loadId + ": load error found in cache");
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(null, cachedError));
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
+            if (mediaEntryCache != null) {
+                // entries loaded with a ks are cached as ks slot templates, reused for any ks of the same user session,
+                // anonymous loads share their entries whether they reused an anonymous session or not
+                boolean anonymousLoad = TextUtils.isEmpty(getCacheKs());
+                PKMediaEntry cachedEntry = anonymousLoad ? mediaEntryCache.get(cacheKey, getCacheKs()) : mediaEntryCache.get(cacheKey + TemplateKeySuffix, KsInfo.getSessionIdentity(ks));
+                if (cachedEntry != null) {
+                    log.d(loadId + ": media entry found in cache");
+                    if (!anonymousLoad) { // the cache returns a copy, filled in place
+                        cachedEntry = fillKsSlots(cachedEntry, ks);
+                    }
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(cachedEntry, null));
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
+            if (responseDiskCache != null) {
+                String cachedResponse = responseDiskCache.get(cacheKey, getCacheKs());
+                if (cachedResponse != null) {
+                    log.d(loadId + ": response found in disk cache");
+                    responseFromDisk = true;
+                    onEntryInfoMultiResponse(ks, Accessories.buildResponse(cachedResponse, null), (OnCompletion<ResultElement<PKMediaEntry>>) completion);
+                    return;
+                }
+            }
+
             final RequestBuilder entryRequest = getEntryInfo(getApiBaseUrl(), ks, sessionProvider.partnerId())
                     .completion(response -> {
                         log.v(loadId + ": got response to [" + loadReq + "]" + " isCanceled = " + isCanceled);
                         loadReq = null;
 
                         try {
-                            onEntryInfoMultiResponse(ks, response, (OnMediaLoadCompletion) completion);
+                            onEntryInfoMultiResponse(ks, response, (OnCompletion<ResultElement<PKMediaEntry>>) completion);
                         } catch (InterruptedException e) {
                             interrupted();
                         }
@@ -267,7 +469,7 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
             }
 
             if (!isCanceled()) {
-                waitCompletion();
+                waitForResponse();
             }
         }
 
@@ -283,9 +485,10 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
          * @param response - Server response
          * @param completion - A callback to pass the constructed {@link PKMediaEntry} object on.
          */
-        private void onEntryInfoMultiResponse(String ks, ResponseElement response, OnMediaLoadCompletion completion) throws InterruptedException {
+        private void onEntryInfoMultiResponse(String ks, ResponseElement response, OnCompletion<ResultElement<PKMediaEntry>> completion) throws InterruptedException {
             ErrorElement error = null;
             PKMediaEntry mediaEntry = null;
+            boolean buildTemplate = mediaEntryCache != null && !TextUtils.isEmpty(getCacheKs());
 
             if (isCanceled()) {
                 log.v(loadId + ": i am canceled, exit response parsing ");
@@ -303,16 +506,27 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
 
                 /* in this option, in case of error response, the type of the parsed response will be BaseResult, and not the expected object type,
                    since we parse the type dynamically from the result and we get "KalturaAPIException" objectType */
-                    List<BaseResult> responses = KalturaOvpParser.parse(response.getResponse());//, TextUtils.isEmpty(sessionProvider.getSessionToken()) ? 1 : 0, KalturaBaseEntryListResponse.class, KalturaEntryContextDataResult.class);
+                    Object parsedResponses = KalturaOvpParser.parse(response.getResponse());//, TextUtils.isEmpty(sessionProvider.getSessionToken()) ? 1 : 0, KalturaBaseEntryListResponse.class, KalturaEntryContextDataResult.class);
                     /* in this option, responses types will always be as expected, and in case of an error, the error can be reached from the typed object, since
                      * all response objects should extend BaseResult */
                     //  List<BaseResult> responses = (List<BaseResult>) KalturaOvpParser.parse(response.getResponse(), KalturaBaseEntryListResponse.class, KalturaEntryContextDataResult.class);
-                    if (responses.size() == 0) {
+
+                    // a KalturaAPIException result of any of the requests (or of the multirequest itself) fails the load
+                    ErrorElement apiExceptionError = KalturaAPIException.findError(parsedResponses);
+                    List<BaseResult> responses = parsedResponses instanceof List ? (List<BaseResult>) parsedResponses : null;
+
+                    if (apiExceptionError != null) {
+                        error = apiExceptionError;
+
+                    } else if (responses == null || responses.size() == 0) {
                         error = buildLoadErrorElement("failed to get responses on load requests");
 
                     } else {
                         // indexes should match the order of requests sent to the server.
                         int entryListResponseIdx = responses.size() > 3 ? 1 : 0;
+                        if (entryListResponseIdx == 1 && responses.get(0) instanceof KalturaStartWidgetSessionResponse && responses.get(0).error == null && !responseFromDisk) {
+                            onAnonymousSession(((KalturaStartWidgetSessionResponse) responses.get(0)).getKs());
+                        }
                         int playbackResponseIdx = entryListResponseIdx + 1;
                         int metadataResponseIdx = playbackResponseIdx + 1;
 
@@ -328,13 +542,17 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
                             KalturaMetadataListResponse metadataList = (KalturaMetadataListResponse) responses.get(metadataResponseIdx);
 
                             if ((error = kalturaPlaybackContext.hasError()) == null) { // check for error or unauthorized content
-                                mediaEntry = ProviderParser.getMediaEntry(sessionProvider.baseUrl(), ks, sessionProvider.partnerId() + "", uiConfId, useApiCaptions,
+                                mediaEntry = ProviderParser.getMediaEntry(sessionProvider.baseUrl(), buildTemplate ? KsSlot : ks, sessionProvider.partnerId() + "", uiConfId, useApiCaptions,
                                         ((KalturaBaseEntryListResponse) responses.get(entryListResponseIdx)).objects.get(0), kalturaPlaybackContext, metadataList);
 
                                 if (mediaEntry.getSources().size() == 0) { // makes sure there are sources available for play
                                     error = KalturaOvpErrorHelper.getErrorElement("NoFilesFound");
                                 }
                             }
+
+                            if (error != null && loadErrorCache != null) {
+                                loadErrorCache.put(cacheKey, getCacheKs(), error);
+                            }
                         }
                     }
                 } catch (JsonSyntaxException | InvalidParameterException ex) {
@@ -349,6 +567,23 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
 
             log.v(loadId + ": load operation " + (isCanceled() ? "canceled" : "finished with " + (error == null ? "success" : "failure: " + error)));
 
+            if (error == null && mediaEntryCache != null) {
+                if (buildTemplate) {
+                    // bound to the user session rather than the ks, so the template survives ks renewals only
+                    mediaEntryCache.put(cacheKey + TemplateKeySuffix, KsInfo.getSessionIdentity(ks), mediaEntry); // caches a copy
+                    mediaEntry = fillKsSlots(mediaEntry, ks);
+                } else {
+                    mediaEntryCache.put(cacheKey, getCacheKs(), mediaEntry);
+                }
+            } else if (error != null && buildTemplate && mediaEntry != null) {
+                mediaEntry = fillKsSlots(mediaEntry, ks);
+            }
+            if (error == null && responseDiskCache != null && !responseFromDisk) {
+                // the entry, playback context and metadata results only, the widget session result carries a ks
+                responseDiskCache.put(cacheKey, getCacheKs(), keepLastResults(response.getResponse(), 3));
+            }
+
+            onRemoteError(error);
             if (!isCanceled() && completion != null) {
                 completion.onComplete(Accessories.buildResult(mediaEntry, error));
             }
@@ -356,13 +591,14 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
             notifyCompletion();
         }
 
-        private boolean isValidResponse(ResponseElement response, OnMediaLoadCompletion completion) {
+        private boolean isValidResponse(ResponseElement response, OnCompletion<ResultElement<PKMediaEntry>> completion) {
 
             if (KalturaOvpProviderUtils.isErrorResponse(response)) {
                 ErrorElement errorResponse = parseErrorRersponse(response);
                 if (errorResponse == null) {
                     errorResponse = buildGeneralErrorElement("multirequest response is null");
                 }
+                onRemoteError(errorResponse);
                 if (!isCanceled() && completion != null) {
                     completion.onComplete(Accessories.buildResult(null, errorResponse));
                 }
@@ -371,19 +607,6 @@ public class KalturaOvpMediaProvider extends BEBaseProvider<PKMediaEntry> implem
                 return false;
             }
 
-            if (isAPIExceptionResponse(response)) {
-                ErrorElement apiExceptionError = parseAPIExceptionError(response);
-                if (apiExceptionError == null) {
-                    apiExceptionError = buildGeneralErrorElement("multirequest KalturaAPIException");
-                }
-
-                if (!isCanceled() && completion != null) {
-                    completion.onComplete(Accessories.buildResult(null, apiExceptionError));
-                }
-
-                notifyCompletion();
-                return false;
-            }
             return true;
         }
     }
@@ -28,19 +28,25 @@ import com.kaltura.playkit.providers.api.ovp.model.KalturaBaseEntryListResponse;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaMediaEntry;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadataListResponse;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaPlaylist;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaStartWidgetSessionResponse;
 import com.kaltura.playkit.providers.api.ovp.services.BaseEntryService;
 import com.kaltura.playkit.providers.api.ovp.services.MetaDataService;
 import com.kaltura.playkit.providers.api.ovp.services.OvpService;
 import com.kaltura.playkit.providers.api.ovp.services.OvpSessionService;
 import com.kaltura.playkit.providers.api.ovp.services.PlaylistService;
+import com.kaltura.playkit.providers.base.AssetMetadataCache;
 import com.kaltura.playkit.providers.base.BEBaseProvider;
 import com.kaltura.playkit.providers.base.BECallableLoader;
+import com.kaltura.playkit.providers.base.BELoadHandle;
+import com.kaltura.playkit.providers.base.BEMetadataListener;
+import com.kaltura.playkit.providers.base.BEPlaylistMediaListener;
 import com.kaltura.playkit.providers.base.OnPlaylistLoadCompletion;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
 
+import static com.kaltura.playkit.providers.MediaProvidersUtils.copyPlaylistMedia;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.getDefaultWidgetId;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.getMediaEntryType;
 import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.parseMetadata;
@@ -50,12 +56,18 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
     private static final PKLog log = PKLog.get("KalturaOvpPlaylistProvider");
 
     public static final boolean CanBeEmpty = true;
+    // entries per bulk baseEntry.list, keeps room for a few metadata profiles per entry in a metadata.list page
+    public static final int BulkMaxEntries = 100;
 
     private String playlistId;
     private List<OVPMediaAsset> mediaAssets;
     private PlaylistMetadata playlistMetadata;
     private Integer pageSize;
     private Integer pageIndex;
+    private AssetMetadataCache<PKPlaylistMedia> metadataCache;
+    private BEMetadataListener<PKPlaylist> metadataListener;
+    private BEPlaylistMediaListener playlistMediaListener;
+    private boolean bulkEntriesLoad;
 
 
     public KalturaOvpPlaylistProvider() {
@@ -129,13 +141,124 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
         return this;
     }
 
+    /**
+     * optional parameter.
+     * When set, the load does not hold a loader thread while waiting for the session token and the
+     * remote response, the flow is carried by the requests callbacks instead.
+     * Defaults to false.
+     *
+     * @param asyncLoad - true to run the load in non-blocking mode.
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setAsyncLoad(boolean asyncLoad) {
+        this.asyncLoad = asyncLoad;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * When set, a new load does not cancel the loads in progress. Each load works on a snapshot of
+     * the parameters set at the time it started, and can be canceled through the handle returned by load.
+     * Defaults to false.
+     *
+     * @param concurrentLoads - true to allow overlapping loads on this provider.
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setConcurrentLoads(boolean concurrentLoads) {
+        this.concurrentLoads = concurrentLoads;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Cache of the assets metadata, used in a stale-while-revalidate manner when the playlist is
+     * loaded by media assets: when all the assets are cached the load completes right away, and
+     * stale assets are refreshed in the background.
+     *
+     * @param metadataCache - cache to use, null to disable.
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setMetadataCache(AssetMetadataCache<PKPlaylistMedia> metadataCache) {
+        this.metadataCache = metadataCache;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Called with the rebuilt playlist once a load that was completed from the metadata cache got
+     * refreshed metadata.
+     *
+     * @param metadataListener - listener
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setMetadataListener(BEMetadataListener<PKPlaylist> metadataListener) {
+        this.metadataListener = metadataListener;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * Receives the playlist medias as soon as they are parsed, before the load completion.
+     *
+     * @param playlistMediaListener - listener
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setPlaylistMediaListener(BEPlaylistMediaListener playlistMediaListener) {
+        this.playlistMediaListener = playlistMediaListener;
+        return this;
+    }
+
+    /**
+     * optional parameter.
+     * When set, the playlist assets set by {@link #setPlaylistParams(PlaylistMetadata, List)} are
+     * fetched with a single id filtered baseEntry.list and metadata.list (per {@link #BulkMaxEntries}
+     * assets), instead of a pair of calls per asset. Assets with their own ks, without an entryId or
+     * with redirectFromEntryId explicitly set to true are still fetched one by one.
+     * Defaults to false.
+     *
+     * @param bulkEntriesLoad - true to fetch the assets in bulk calls.
+     * @return - instance of KalturaOvpPlaylistProvider
+     */
+    public KalturaOvpPlaylistProvider setBulkEntriesLoad(boolean bulkEntriesLoad) {
+        this.bulkEntriesLoad = bulkEntriesLoad;
+        return this;
+    }
+
+    /**
+     * Creates a paged view of the playlist set by {@link #setPlaylistId(String)}, that fetches the
+     * playlist pages on demand instead of loading the whole playlist at once.
+     * The pager filter of this provider is not used by the paged playlist. The pages fetching in
+     * progress is canceled by {@link #cancel()} as well.
+     *
+     * @param pageSize - number of medias in a page, {@link OVPPagedPlaylist#DefaultPageSize} if not positive.
+     * @return - new instance of OVPPagedPlaylist
+     */
+    public OVPPagedPlaylist createPagedPlaylist(int pageSize) {
+        if (TextUtils.isEmpty(playlistId) || sessionProvider == null) {
+            throw new IllegalStateException("playlistId and sessionProvider must be set before creating a paged playlist");
+        }
+        return new OVPPagedPlaylist(this, requestsExecutor, sessionProvider, playlistId, pageSize > 0 ? pageSize : OVPPagedPlaylist.DefaultPageSize);
+    }
+
+
+    /**
+     * Runs a page loader of a paged playlist created by this provider, also canceled by {@link #cancel()}.
+     */
+    BELoadHandle submitPageLoader(Callable<Void> pageLoader) {
+        return submitLoader(pageLoader);
+    }
 
     @Override
     protected Loader createNewLoader(OnCompletion<ResultElement<PKPlaylist>> completion) {
         if (playlistId != null) {
-            return new Loader(requestsExecutor, sessionProvider, playlistId, pageSize, pageIndex, completion);
+            return new Loader(requestsExecutor, sessionProvider, playlistId, pageSize, pageIndex, playlistMediaListener, completion);
         } else {
-            return new Loader(requestsExecutor, sessionProvider, mediaAssets, completion);
+            // each load works on its own copy, so loads can overlap and the provider can be reconfigured meanwhile
+            List<OVPMediaAsset> assetsSnapshot = new ArrayList<>(mediaAssets.size());
+            for (OVPMediaAsset mediaAsset : mediaAssets) {
+                assetsSnapshot.add(mediaAsset != null ? new OVPMediaAsset(mediaAsset) : null);
+            }
+            return new Loader(requestsExecutor, sessionProvider, playlistMetadata, assetsSnapshot, bulkEntriesLoad, metadataCache, metadataListener, playlistMediaListener, completion);
         }
     }
 
@@ -155,27 +278,59 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
 
         private String playlistId;
         private List<OVPMediaAsset> mediaAssets;
+        private PlaylistMetadata playlistMetadata;
         private Integer pageSize;
         private Integer pageIndex;
-
-        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, String playlistId, Integer pageSize, Integer pageIndex, OnCompletion<ResultElement<PKPlaylist>> completion) {
+        private AssetMetadataCache<PKPlaylistMedia> metadataCache;
+        private BEMetadataListener<PKPlaylist> metadataListener;
+        private BEPlaylistMediaListener playlistMediaListener;
+        // assets fetched by bulk calls, in chunks of up to BulkMaxEntries, and assets fetched one by one
+        private List<List<Integer>> bulkAssetChunks = new ArrayList<>();
+        private List<Integer> singleAssets = new ArrayList<>();
+
+        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, String playlistId, Integer pageSize, Integer pageIndex,
+               BEPlaylistMediaListener playlistMediaListener, OnCompletion<ResultElement<PKPlaylist>> completion) {
             super(log.tag + "#Loader", requestsExecutor, sessionProvider, completion);
 
             this.playlistId = playlistId;
             this.pageSize = pageSize;
             this.pageIndex = pageIndex;
+            this.playlistMediaListener = playlistMediaListener;
 
             log.v(loadId + ": construct new Loader");
         }
 
-        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, List<OVPMediaAsset> mediaAssets, OnCompletion<ResultElement<PKPlaylist>> completion) {
+        Loader(RequestQueue requestsExecutor, SessionProvider sessionProvider, PlaylistMetadata playlistMetadata, List<OVPMediaAsset> mediaAssets, boolean bulkEntriesLoad,
+               AssetMetadataCache<PKPlaylistMedia> metadataCache, BEMetadataListener<PKPlaylist> metadataListener,
+               BEPlaylistMediaListener playlistMediaListener, OnCompletion<ResultElement<PKPlaylist>> completion) {
             super(log.tag + "#Loader", requestsExecutor, sessionProvider, completion);
 
+            this.playlistMetadata = playlistMetadata;
             this.mediaAssets = mediaAssets;
+            this.metadataCache = metadataCache;
+            this.metadataListener = metadataListener;
+            this.playlistMediaListener = playlistMediaListener;
+
+            List<Integer> bulkAssets = new ArrayList<>();
+            for (int i = 0; i < mediaAssets.size(); i++) {
+                if (bulkEntriesLoad && isBulkAsset(mediaAssets.get(i))) {
+                    bulkAssets.add(i);
+                } else {
+                    singleAssets.add(i);
+                }
+            }
+            for (int i = 0; i < bulkAssets.size(); i += BulkMaxEntries) {
+                bulkAssetChunks.add(bulkAssets.subList(i, Math.min(i + BulkMaxEntries, bulkAssets.size())));
+            }
 
             log.v(loadId + ": construct new Loader");
         }
 
+        private boolean isBulkAsset(OVPMediaAsset mediaAsset) {
+            return mediaAsset != null && !TextUtils.isEmpty(mediaAsset.entryId) && TextUtils.isEmpty(mediaAsset.getKs()) &&
+                    !Boolean.TRUE.equals(mediaAsset.redirectFromEntryId);
+        }
+
         @Override
         protected ErrorElement validateKs(String ks) {
             if (TextUtils.isEmpty(ks)) {
@@ -214,7 +369,16 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                 ks = "{1:result:ks}";
             }
 
-            for (OVPMediaAsset ovpMediaAsset : mediaAssets) {
+            for (List<Integer> bulkAssetChunk : bulkAssetChunks) {
+                List<String> entryIds = new ArrayList<>(bulkAssetChunk.size());
+                for (int assetIndex : bulkAssetChunk) {
+                    entryIds.add(mediaAssets.get(assetIndex).entryId);
+                }
+                multiRequestBuilder.add(BaseEntryService.list(baseUrl, ks, entryIds), MetaDataService.list(baseUrl, ks, entryIds));
+            }
+
+            for (int assetIndex : singleAssets) {
+                OVPMediaAsset ovpMediaAsset = mediaAssets.get(assetIndex);
                 String requestKS = TextUtils.isEmpty(ovpMediaAsset.getKs()) ? ks : ovpMediaAsset.getKs();
                 boolean redirectFromEntryId = ovpMediaAsset.redirectFromEntryId != null ? ovpMediaAsset.redirectFromEntryId : true;
                 multiRequestBuilder.add(BaseEntryService.list(baseUrl, requestKS, ovpMediaAsset.entryId, ovpMediaAsset.referenceId, redirectFromEntryId), MetaDataService.list(baseUrl, requestKS, ovpMediaAsset.entryId));
@@ -254,23 +418,31 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                         if (responses == null || responses.size() == 0) {
                             error = ErrorElement.LoadError.message("failed to get responses on load requests");
                             completion.onComplete(Accessories.buildResult(null, error));
+                            notifyCompletion();
                             return;
                         }
 
                         for (int i = 0 ; i < responses.size() - 1 ; i++) {
                             if (responses.get(i).error != null) {
+                                onRemoteError(responses.get(i).error);
                                 completion.onComplete(Accessories.buildResult(null, responses.get(i).error));
+                                notifyCompletion();
                                 return;
                             }
                         }
 
                         int playlistListIndex = responses.size() > 2 ? 1 : 0;
+                        if (playlistListIndex == 1) {
+                            onWidgetSession(responses.get(0));
+                        }
                         int entriesListIndex = playlistListIndex + 1;
 
                         if (!TextUtils.isEmpty(ks) && responses.size() == entriesListIndex || responses.size() == (entriesListIndex + 1)) {
                             KalturaPlaylist kalturaPlaylist = (KalturaPlaylist) responses.get(playlistListIndex);
                             List<KalturaMediaEntry> entriesList = (List<KalturaMediaEntry>) responses.get(entriesListIndex);
-                            playlistResult = getPKPlaylist(ks, kalturaPlaylist, entriesList);
+                            List<PKPlaylistMedia> mediaList = getPlaylistMediaList(entriesList);
+                            notifyPlaylistMedia(mediaList);
+                            playlistResult = getPKPlaylist(ks, kalturaPlaylist, mediaList);
                             if (completion != null) {
                                 completion.onComplete(Accessories.buildResult(playlistResult, null));
                             }
@@ -279,6 +451,7 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                                 completion.onComplete(Accessories.buildResult(null, ErrorElement.LoadError.message("failed to get responses on load requests")));
                             }
                         }
+                        notifyCompletion();
                     });
 
             synchronized (syncObject) {
@@ -287,11 +460,27 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
             }
 
             if (!isCanceled()) {
-                waitCompletion();
+                waitForResponse();
             }
         }
 
         private void handleByPlaylistAssets(String ks) throws InterruptedException {
+            if (metadataCache != null) {
+                List<PKPlaylistMedia> cachedMediaList = getCachedMediaList();
+                if (cachedMediaList != null) {
+                    log.d(loadId + ": playlist assets metadata found in cache");
+                    notifyPlaylistMedia(cachedMediaList);
+                    if (!isCanceled() && completion != null) {
+                        completion.onComplete(Accessories.buildResult(buildPlaylist(ks, cachedMediaList), null));
+                    }
+                    if (hasStaleAssets()) {
+                        revalidate(cachedMediaList);
+                    }
+                    notifyCompletion();
+                    return;
+                }
+            }
+
             final RequestBuilder entryRequest = getPlaylistInfoByEntryIdList(getApiBaseUrl(), ks, sessionProvider.partnerId())
                     .completion(response -> {
                         PKPlaylist playlistResult;
@@ -308,11 +497,18 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                         if (responses == null || responses.size() == 0) {
                             error = ErrorElement.LoadError.message("failed to get responses on load requests");
                             completion.onComplete(Accessories.buildResult(null, error));
+                            notifyCompletion();
                             return;
                         }
 
+                        if (TextUtils.isEmpty(ks)) {
+                            onWidgetSession(responses.get(0));
+                        }
+
                         if (TextUtils.isEmpty(ks) && responses.get(0).error != null) {
+                            onRemoteError(responses.get(0).error);
                             completion.onComplete(Accessories.buildResult(null, responses.get(0).error));
+                            notifyCompletion();
                             return;
                         } else {
                             boolean allErrors = true;
@@ -323,61 +519,21 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                                 }
                             }
                             if (allErrors) {
+                                onRemoteError(responses.get(0).error);
                                 completion.onComplete(Accessories.buildResult(null, responses.get(0).error));
+                                notifyCompletion();
                                 return;
                             }
                         }
 
-                        if (!TextUtils.isEmpty(ks) && responses.size() == mediaAssets.size() * 2 || responses.size() == (mediaAssets.size() * 2 + 1)) {
-                            List<KalturaMediaEntry> entriesList = new ArrayList<>();
-                            List<Map<String,String>> metadataList = new ArrayList<>();
-                            int playlistListIndex = TextUtils.isEmpty(ks) ? 1 : 0;
-                            for( ; playlistListIndex < responses.size() ; playlistListIndex++) {
-                                if (responses.get(playlistListIndex).error != null) {
-                                    entriesList.add(null);
-                                    continue;
-                                }
-
-                                if (responses.get(playlistListIndex) instanceof KalturaBaseEntryListResponse) {
-                                    entriesList.add(((KalturaBaseEntryListResponse) responses.get(playlistListIndex)).objects.get(0));
-                                }
-                                if (responses.get(playlistListIndex) instanceof KalturaMetadataListResponse) {
-                                    metadataList.add(parseMetadata((KalturaMetadataListResponse) responses.get(playlistListIndex), sessionProvider.partnerId()));
-                                }
+                        List<PKPlaylistMedia> mediaList = getMediaList(responses, ks);
+                        if (mediaList != null) {
+                            if (metadataCache != null) {
+                                cacheMediaList(mediaList);
                             }
 
-                            int listIndex = 0;
-                            List<PKPlaylistMedia> mediaList = new ArrayList<>();
-                            for (KalturaMediaEntry kalturaMediaEntry : entriesList) {
-                                if (kalturaMediaEntry == null) {
-                                    mediaList.add(null);
-                                    listIndex++;
-                                    continue;
-                                }
-                                Map<String,String> mediaMetadata = metadataList.get(listIndex);
-                                mediaList.add(new PKPlaylistMedia().
-                                        setId(kalturaMediaEntry.getId()).
-                                        setName(kalturaMediaEntry.getName()).
-                                        setDescription(kalturaMediaEntry.getDescription()).
-                                        setType(getMediaEntryType(kalturaMediaEntry)).
-                                        setDataUrl(kalturaMediaEntry.getDataUrl()).
-                                        setMsDuration(kalturaMediaEntry.getMsDuration()).
-                                        setThumbnailUrl(kalturaMediaEntry.getThumbnailUrl()).
-                                        setFlavorParamsIds(kalturaMediaEntry.getFlavorParamsIds()).
-                                        setMetadata(mediaMetadata).
-                                        setTags(kalturaMediaEntry.getTags()));
-                            }
-
-                            if (playlistMetadata == null) {
-                                playlistMetadata = new PlaylistMetadata();
-                            }
-                            playlistResult = new PKPlaylist().
-                                    setKs(ks).
-                                    setId(playlistMetadata.getId()).
-                                    setName(playlistMetadata.getName()).
-                                    setDescription(playlistMetadata.getDescription()).
-                                    setThumbnailUrl(playlistMetadata.getThumbnailUrl()).
-                                    setMediaList(mediaList);
+                            notifyPlaylistMedia(mediaList);
+                            playlistResult = buildPlaylist(ks, mediaList);
 
                             if (completion != null) {
                                 completion.onComplete(Accessories.buildResult(playlistResult, null));
@@ -387,6 +543,7 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                                 completion.onComplete(Accessories.buildResult(null, ErrorElement.LoadError.message("failed to get responses on load requests")));
                             }
                         }
+                        notifyCompletion();
                     });
 
             synchronized (syncObject) {
@@ -395,7 +552,220 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
             }
 
             if (!isCanceled()) {
-                waitCompletion();
+                waitForResponse();
+            }
+        }
+
+        private void onWidgetSession(BaseResult widgetSessionResult) {
+            if (widgetSessionResult instanceof KalturaStartWidgetSessionResponse && widgetSessionResult.error == null) {
+                onAnonymousSession(((KalturaStartWidgetSessionResponse) widgetSessionResult).getKs());
+            }
+        }
+
+        /**
+         * Builds the playlist medias from the assets multirequest responses, the entries of the bulk
+         * calls are matched to the assets by entry id.
+         *
+         * @return - the medias list, or null if the responses don't match the requested assets.
+         */
+        private List<PKPlaylistMedia> getMediaList(List<BaseResult> responses, String ks) {
+            int responseIndex = TextUtils.isEmpty(ks) ? 1 : 0;
+            if (responses.size() != responseIndex + (bulkAssetChunks.size() + singleAssets.size()) * 2) {
+                return null;
+            }
+
+            KalturaMediaEntry[] entries = new KalturaMediaEntry[mediaAssets.size()];
+            KalturaMetadataListResponse[] metadataLists = new KalturaMetadataListResponse[mediaAssets.size()];
+
+            for (List<Integer> bulkAssetChunk : bulkAssetChunks) {
+                List<String> entryIds = new ArrayList<>(bulkAssetChunk.size());
+                for (int assetIndex : bulkAssetChunk) {
+                    entryIds.add(mediaAssets.get(assetIndex).entryId);
+                }
+                List<KalturaMediaEntry> chunkEntries = OVPBulkEntries.matchEntries(entryIds, getEntries(responses.get(responseIndex++)));
+                List<KalturaMetadataListResponse> chunkMetadata = OVPBulkEntries.matchMetadata(entryIds, getMetadataList(responses.get(responseIndex++)));
+
+                for (int i = 0; i < bulkAssetChunk.size(); i++) {
+                    entries[bulkAssetChunk.get(i)] = chunkEntries.get(i);
+                    metadataLists[bulkAssetChunk.get(i)] = chunkMetadata.get(i);
+                }
+            }
+
+            for (int assetIndex : singleAssets) {
+                List<KalturaMediaEntry> assetEntries = getEntries(responses.get(responseIndex++));
+                entries[assetIndex] = assetEntries.isEmpty() ? null : assetEntries.get(0);
+                metadataLists[assetIndex] = getMetadataList(responses.get(responseIndex++));
+            }
+
+            List<PKPlaylistMedia> mediaList = new ArrayList<>(entries.length);
+            for (int i = 0; i < entries.length; i++) {
+                KalturaMediaEntry kalturaMediaEntry = entries[i];
+                if (kalturaMediaEntry == null) {
+                    mediaList.add(null);
+                    continue;
+                }
+                mediaList.add(new PKPlaylistMedia().
+                        setId(kalturaMediaEntry.getId()).
+                        setName(kalturaMediaEntry.getName()).
+                        setDescription(kalturaMediaEntry.getDescription()).
+                        setType(getMediaEntryType(kalturaMediaEntry)).
+                        setDataUrl(kalturaMediaEntry.getDataUrl()).
+                        setMsDuration(kalturaMediaEntry.getMsDuration()).
+                        setThumbnailUrl(kalturaMediaEntry.getThumbnailUrl()).
+                        setFlavorParamsIds(kalturaMediaEntry.getFlavorParamsIds()).
+                        setMetadata(parseMetadata(metadataLists[i], sessionProvider.partnerId())).
+                        setTags(kalturaMediaEntry.getTags()));
+            }
+            return mediaList;
+        }
+
+        private List<KalturaMediaEntry> getEntries(BaseResult response) {
+            if (response instanceof KalturaBaseEntryListResponse && response.error == null && ((KalturaBaseEntryListResponse) response).objects != null) {
+                return ((KalturaBaseEntryListResponse) response).objects;
+            }
+            return new ArrayList<>();
+        }
+
+        private KalturaMetadataListResponse getMetadataList(BaseResult response) {
+            return response instanceof KalturaMetadataListResponse && response.error == null ? (KalturaMetadataListResponse) response : null;
+        }
+
+        private PKPlaylist buildPlaylist(String ks, List<PKPlaylistMedia> mediaList) {
+            if (playlistMetadata == null) {
+                playlistMetadata = new PlaylistMetadata();
+            }
+            return new PKPlaylist().
+                    setKs(ks).
+                    setId(playlistMetadata.getId()).
+                    setName(playlistMetadata.getName()).
+                    setDescription(playlistMetadata.getDescription()).
+                    setThumbnailUrl(playlistMetadata.getThumbnailUrl()).
+                    setMediaList(mediaList);
+        }
+
+        /**
+         * Fetches the playlist assets again, updates the metadata cache and passes the rebuilt
+         * playlist to the metadata listener. Not bound to the load, which was already completed,
+         * but run as a provider loader so {@link #cancel()} stops it.
+         */
+        private void revalidate(List<PKPlaylistMedia> cachedMediaList) {
+            if (!isCanceled()) {
+                submitLoader(new RevalidateLoader(cachedMediaList));
+            }
+        }
+
+        private class RevalidateLoader extends BECallableLoader {
+
+            private final List<PKPlaylistMedia> cachedMediaList;
+
+            RevalidateLoader(List<PKPlaylistMedia> cachedMediaList) {
+                super(log.tag + "#RevalidateLoader", Loader.this.requestQueue, Loader.this.sessionProvider, null);
+
+                this.cachedMediaList = cachedMediaList;
+            }
+
+            @Override
+            protected ErrorElement validateKs(String ks) {
+                return null; // an empty ks is replaced by an anonymous session
+            }
+
+            @Override
+            protected void requestRemote(String ks) throws InterruptedException {
+                log.d(loadId + ": refreshing stale assets metadata");
+                final RequestBuilder entryRequest = getPlaylistInfoByEntryIdList(getApiBaseUrl(), ks, sessionProvider.partnerId())
+                        .completion(response -> {
+                            loadReq = null;
+                            if (!isCanceled()) {
+                                onRevalidateResponse(ks, response);
+                            }
+                            notifyCompletion();
+                        });
+
+                synchronized (syncObject) {
+                    loadReq = requestQueue.queue(entryRequest.build());
+                    log.d(loadId + ": request queued for execution [" + loadReq + "]");
+                }
+
+                if (!isCanceled()) {
+                    waitForResponse();
+                }
+            }
+
+            private void onRevalidateResponse(String ks, ResponseElement response) {
+                if (response == null || !response.isSuccess()) {
+                    log.w(loadId + ": failed to refresh assets metadata");
+                    return;
+                }
+
+                List<BaseResult> responses = KalturaOvpParser.parse(response.getResponse());
+                List<PKPlaylistMedia> mediaList = responses != null ? getMediaList(responses, ks) : null;
+                if (mediaList == null || mediaList.size() != cachedMediaList.size()) {
+                    log.w(loadId + ": failed to refresh assets metadata");
+                    return;
+                }
+
+                cacheMediaList(mediaList);
+                if (metadataListener != null) {
+                    for (int i = 0; i < mediaList.size(); i++) {
+                        if (mediaList.get(i) == null) { // keep the stale one
+                            mediaList.set(i, copyPlaylistMedia(cachedMediaList.get(i)));
+                        }
+                    }
+                    metadataListener.onMetadataUpdated(buildPlaylist(ks, mediaList));
+                }
+            }
+        }
+
+        private String getMetadataKey(OVPMediaAsset mediaAsset) {
+            return sessionProvider.baseUrl() + "|" + sessionProvider.partnerId() + "|" + mediaAsset.entryId + "|" + mediaAsset.referenceId + "|" + mediaAsset.redirectFromEntryId;
+        }
+
+        /**
+         * @return - cached medias of all the playlist assets, or null if any of them is missing.
+         */
+        private List<PKPlaylistMedia> getCachedMediaList() {
+            List<PKPlaylistMedia> cachedMediaList = new ArrayList<>(mediaAssets.size());
+            for (OVPMediaAsset mediaAsset : mediaAssets) {
+                PKPlaylistMedia cachedMedia = mediaAsset != null ? metadataCache.get(getMetadataKey(mediaAsset)) : null;
+                if (cachedMedia == null) {
+                    return null;
+                }
+                cachedMediaList.add(copyPlaylistMedia(cachedMedia));
+            }
+            return cachedMediaList;
+        }
+
+        private boolean hasStaleAssets() {
+            for (OVPMediaAsset mediaAsset : mediaAssets) {
+                if (metadataCache.isStale(getMetadataKey(mediaAsset))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void cacheMediaList(List<PKPlaylistMedia> mediaList) {
+            if (mediaList.size() != mediaAssets.size()) {
+                return;
+            }
+            for (int i = 0; i < mediaList.size(); i++) {
+                if (mediaList.get(i) != null) {
+                    metadataCache.put(getMetadataKey(mediaAssets.get(i)), copyPlaylistMedia(mediaList.get(i)));
+                }
+            }
+        }
+
+        /**
+         * Passes the parsed medias to the playlist media listener, null medias (failed assets) are skipped.
+         */
+        private void notifyPlaylistMedia(List<PKPlaylistMedia> mediaList) {
+            if (playlistMediaListener == null) {
+                return;
+            }
+            for (int i = 0; i < mediaList.size() && !isCanceled(); i++) {
+                if (mediaList.get(i) != null) {
+                    playlistMediaListener.onPlaylistMedia(i, mediaList.get(i));
+                }
             }
         }
 
@@ -407,7 +777,9 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
             }
 
             if (error != null) {
+                onRemoteError(error);
                 completion.onComplete(Accessories.buildResult(null, error));
+                notifyCompletion();
                 return true;
             }
             return false;
@@ -419,7 +791,19 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
         }
     }
 
-    private PKPlaylist getPKPlaylist(String playlistKs, KalturaPlaylist kalturaPlaylist,  List<KalturaMediaEntry> entriesList) {
+    private PKPlaylist getPKPlaylist(String playlistKs, KalturaPlaylist kalturaPlaylist, List<PKPlaylistMedia> mediaList) {
+        PKPlaylist playlist = new PKPlaylist().
+                setKs(playlistKs).
+                setId(kalturaPlaylist.getId()).
+                setName(kalturaPlaylist.getName()).
+                setDescription(kalturaPlaylist.getDescription()).
+                setThumbnailUrl(kalturaPlaylist.getThumbnailUrl()).
+                setMediaList(mediaList);
+
+        return playlist;
+    }
+
+    static List<PKPlaylistMedia> getPlaylistMediaList(List<KalturaMediaEntry> entriesList) {
         List<PKPlaylistMedia> mediaList = new ArrayList<>();
         for (KalturaMediaEntry kalturaMediaEntry : entriesList) {
             mediaList.add(new PKPlaylistMedia().
@@ -433,15 +817,6 @@ public class KalturaOvpPlaylistProvider extends BEBaseProvider<PKPlaylist> imple
                     setFlavorParamsIds(kalturaMediaEntry.getFlavorParamsIds()).
                     setTags(kalturaMediaEntry.getTags()));
         }
-
-        PKPlaylist playlist = new PKPlaylist().
-                setKs(playlistKs).
-                setId(kalturaPlaylist.getId()).
-                setName(kalturaPlaylist.getName()).
-                setDescription(kalturaPlaylist.getDescription()).
-                setThumbnailUrl(kalturaPlaylist.getThumbnailUrl()).
-                setMediaList(mediaList);
-
-        return playlist;
+        return mediaList;
     }
 }
@@ -5,6 +5,9 @@ import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.kaltura.netkit.connect.response.ResponseElement;
 import com.kaltura.netkit.utils.ErrorElement;
 import com.kaltura.playkit.PKLog;
@@ -24,9 +27,6 @@ import com.kaltura.playkit.providers.api.ovp.model.KalturaPlaybackCaption;
 import com.kaltura.playkit.providers.api.ovp.model.KalturaPlaybackContext;
 import com.kaltura.playkit.providers.base.FormatsHelper;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlPullParserFactory;
@@ -43,11 +43,48 @@ public class KalturaOvpProviderUtils {
 
     private static final PKLog log = PKLog.get("KalturaOvpProviderUtils");
 
+    /**
+     * @deprecated API exceptions are parsed into {@link com.kaltura.playkit.providers.api.KalturaAPIException}
+     * results, use {@link com.kaltura.playkit.providers.api.KalturaAPIException#findError(Object)}.
+     */
+    @Deprecated
     public static final String KALTURA_API_EXCEPTION = "KalturaAPIException";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String OBJECT_TYPE = "objectType";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String CODE = "code";
+    /** @deprecated see {@link #KALTURA_API_EXCEPTION}. */
+    @Deprecated
     public static final String MESSAGE = "message";
 
+    /**
+     * Placeholder put in the playback urls in place of the ks, so a resolved entry can be reused
+     * with a different ks by replacing it in a copy of the entry with {@link #fillKsSlots(PKMediaEntry, String)}.
+     */
+    static final String KsSlot = "__playkit_ks__";
+
+    /**
+     * @param response - a multirequest response.
+     * @param count - number of results to keep.
+     * @return - the response with its last results only, e.g without the widget session result, which
+     * carries a ks and must not be stored.
+     */
+    static String keepLastResults(String response, int count) {
+        JsonElement json = new JsonParser().parse(response);
+        if (!json.isJsonArray() || json.getAsJsonArray().size() <= count) {
+            return response;
+        }
+
+        JsonArray results = json.getAsJsonArray();
+        JsonArray lastResults = new JsonArray();
+        for (int i = results.size() - count; i < results.size(); i++) {
+            lastResults.add(results.get(i));
+        }
+        return lastResults.toString();
+    }
+
     static void extractMetadata(String xml, Map<String, String> metadataMap) {
 
         XmlPullParserFactory xmlPullfactory;
@@ -102,15 +139,10 @@ public class KalturaOvpProviderUtils {
         return "_" + partnerId;
     }
 
-    static boolean isAPIExceptionResponse(ResponseElement response) {
-        return response == null|| (response.isSuccess() && response.getError() == null && response.getResponse() != null && response.getResponse().contains(KALTURA_API_EXCEPTION));
-    }
-
     static boolean isErrorResponse(ResponseElement response) {
         return response == null|| (!response.isSuccess() && response.getError() != null);
     }
 
-
     static ErrorElement parseErrorRersponse(ResponseElement response) {
         if (response != null) {
             return response.getError();
@@ -118,72 +150,6 @@ public class KalturaOvpProviderUtils {
         return null;
     }
 
-    static ErrorElement parseAPIExceptionError(ResponseElement response) {
-
-        if (response != null) {
-            String responseStr = response.getResponse();
-            try {
-                String ovpError = "OVPError";
-                if (responseStr != null && responseStr.startsWith("{") && responseStr.endsWith("}")) {
-
-                    JSONObject error = new JSONObject(response.getResponse());
-                    if (error != null) {
-                        Map<String, String> errorMap = getAPIExceptionData(error);
-                        if (errorMap != null) {
-                            return new ErrorElement(errorMap.get(MESSAGE), errorMap.get(CODE), errorMap.get(OBJECT_TYPE)).setName(ovpError);
-                        }
-                    }
-
-                } else if (responseStr != null && responseStr.startsWith("[") && responseStr.endsWith("]")) {
-                    JSONArray result = new JSONArray(response.getResponse());
-                    for (int idx = 0; idx < result.length(); idx++) {
-                        JSONObject error = (JSONObject) result.get(idx);
-                        Map<String, String> errorMap = getAPIExceptionData(error);
-                        if (errorMap != null && KALTURA_API_EXCEPTION.equals(errorMap.get(OBJECT_TYPE))) {
-                            return new ErrorElement(errorMap.get(MESSAGE), errorMap.get(CODE), errorMap.get(OBJECT_TYPE)).setName(ovpError);
-                        }
-                    }
-                }
-            } catch (JSONException | NumberFormatException ex) {
-                log.e("parseAPIExceptionError Exception = " + ex.getMessage());
-            }
-        }
-        return null;
-    }
-
-    static Map<String,String> getAPIExceptionData(JSONObject error) {
-
-        try {
-
-            if (error != null) {
-
-                Map<String,String> errorMap = new HashMap<>();
-
-                if (error.has(OBJECT_TYPE)) {
-                    String objectType = error.getString(OBJECT_TYPE);
-                    errorMap.put(OBJECT_TYPE, objectType);
-                }
-
-                if (error.has(CODE)) {
-                    String errorCode = error.getString(CODE);
-                    errorMap.put(CODE, errorCode);
-                }
-
-                if (error.has(MESSAGE)) {
-                    String errorMessage = error.getString(MESSAGE);
-                    errorMap.put(MESSAGE, errorMessage);
-                }
-
-                //log.d("Error objectType = " + objectType + " errorCode = " + errorCode + "errorMessage = " + errorMessage);
-                return errorMap;
-            }
-        } catch (JSONException | NumberFormatException ex) {
-            log.e("getAPIExceptionData Exception = " + ex.getMessage());
-        }
-
-        return null;
-    }
-
     static List<PKExternalSubtitle> createExternalSubtitles(KalturaPlaybackContext playbackContext, String ks) {
         List<PKExternalSubtitle> subtitleList = new ArrayList<>();
         List<KalturaPlaybackCaption> playbackCaptionList = playbackContext.getPlaybackCaptions();
@@ -339,4 +305,36 @@ public class KalturaOvpProviderUtils {
         }
         return mediaEntryType;
     }
+
+    /**
+     * Sets the given ks in the sources and subtitles urls of an entry resolved with {@link #KsSlot}
+     * as ks, in place. Only for entries no one else holds, e.g. a copy returned by {@link com.kaltura.playkit.providers.base.MediaEntryCache}.
+     *
+     * @param mediaEntry - entry resolved with the ks slot.
+     * @param ks - ks to set, if empty the ks part is removed from the urls.
+     * @return - the given entry.
+     */
+    static PKMediaEntry fillKsSlots(PKMediaEntry mediaEntry, String ks) {
+        if (mediaEntry.getSources() != null) {
+            for (PKMediaSource source : mediaEntry.getSources()) {
+                source.setUrl(fillKsSlot(source.getUrl(), ks));
+            }
+        }
+        if (mediaEntry.getExternalSubtitleList() != null) {
+            for (PKExternalSubtitle subtitle : mediaEntry.getExternalSubtitleList()) {
+                subtitle.setUrl(fillKsSlot(subtitle.getUrl(), ks));
+            }
+        }
+        return mediaEntry;
+    }
+
+    static String fillKsSlot(String url, String ks) {
+        if (url == null || !url.contains(KsSlot)) {
+            return url;
+        }
+        if (ks == null || ks.isEmpty()) {
+            return url.replace("/ks/" + KsSlot, "").replace("&ks=" + KsSlot, "");
+        }
+        return url.replace(KsSlot, ks);
+    }
 }
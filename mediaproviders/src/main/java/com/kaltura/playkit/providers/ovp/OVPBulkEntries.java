@@ -0,0 +1,84 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.ovp;
+
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMediaEntry;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadata;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadataListResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches the results of id filtered baseEntry.list and metadata.list calls to the requested entry
+ * ids. The lists return the found objects in their own order and skip the entries that don't exist
+ * or are not accessible.
+ */
+class OVPBulkEntries {
+
+    private OVPBulkEntries() {
+    }
+
+    /**
+     * @param entryIds - the requested entry ids.
+     * @param entries - the entries returned by the list.
+     * @return - the entry of each requested id, null for an id that wasn't returned.
+     */
+    static List<KalturaMediaEntry> matchEntries(List<String> entryIds, List<KalturaMediaEntry> entries) {
+        Map<String, KalturaMediaEntry> entriesById = new HashMap<>();
+        if (entries != null) {
+            for (KalturaMediaEntry entry : entries) {
+                if (entry != null) {
+                    entriesById.put(entry.getId(), entry);
+                }
+            }
+        }
+
+        List<KalturaMediaEntry> matchedEntries = new ArrayList<>(entryIds.size());
+        for (String entryId : entryIds) {
+            matchedEntries.add(entriesById.get(entryId));
+        }
+        return matchedEntries;
+    }
+
+    /**
+     * @param entryIds - the requested entry ids.
+     * @param metadataList - the metadata list response, null if the call failed.
+     * @return - the metadata objects of each requested id, by their objectId. Null for an id without metadata.
+     */
+    static List<KalturaMetadataListResponse> matchMetadata(List<String> entryIds, KalturaMetadataListResponse metadataList) {
+        Map<String, KalturaMetadataListResponse> metadataById = new HashMap<>();
+        if (metadataList != null && metadataList.objects != null) {
+            for (KalturaMetadata metadata : metadataList.objects) {
+                if (metadata == null) {
+                    continue;
+                }
+                KalturaMetadataListResponse entryMetadataList = metadataById.get(metadata.objectId);
+                if (entryMetadataList == null) {
+                    entryMetadataList = new KalturaMetadataListResponse();
+                    entryMetadataList.objects = new ArrayList<>();
+                    metadataById.put(metadata.objectId, entryMetadataList);
+                }
+                entryMetadataList.objects.add(metadata);
+            }
+        }
+
+        List<KalturaMetadataListResponse> matchedMetadata = new ArrayList<>(entryIds.size());
+        for (String entryId : entryIds) {
+            matchedMetadata.add(metadataById.get(entryId));
+        }
+        return matchedMetadata;
+    }
+}
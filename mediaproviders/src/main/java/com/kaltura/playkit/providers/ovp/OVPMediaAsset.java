@@ -11,6 +11,19 @@ public class OVPMediaAsset extends BaseMediaAsset {
     public OVPMediaAsset() {
     }
 
+    /**
+     * Creates a copy of the given asset, later changes on the source asset will not affect the copy.
+     *
+     * @param mediaAsset - asset to copy
+     */
+    public OVPMediaAsset(OVPMediaAsset mediaAsset) {
+        setKs(mediaAsset.getKs());
+        setReferrer(mediaAsset.getReferrer());
+        this.entryId = mediaAsset.entryId;
+        this.referenceId = mediaAsset.referenceId;
+        this.redirectFromEntryId = mediaAsset.redirectFromEntryId;
+    }
+
     public OVPMediaAsset setEntryId(String entryId) {
         this.entryId = entryId;
         return this;
@@ -50,6 +63,16 @@ public class OVPMediaAsset extends BaseMediaAsset {
         return redirectFromEntryId;
     }
 
+    /**
+     * Cheap key identifying the requested entry, two assets with the same key produce the same
+     * load request. Unlike {@link #getUUID()} it does not serialize the asset.
+     *
+     * @return - request key of this asset.
+     */
+    public String getRequestKey() {
+        return entryId + '|' + referenceId + '|' + redirectFromEntryId + '|' + getKs() + '|' + getReferrer();
+    }
+
     public String getUUID() {
         String mediaAssetJson = getGson().toJson(this);
         return toBase64(mediaAssetJson);
@@ -0,0 +1,405 @@
+/*
+ * ============================================================================
+ * Copyright (C) 2017 Kaltura Inc.
+ *
+ * Licensed under the AGPLv3 license, unless a different license for a
+ * particular library is specified in the applicable library path.
+ *
+ * You may obtain a copy of the License at
+ * https://www.gnu.org/licenses/agpl-3.0.html
+ * ============================================================================
+ */
+
+package com.kaltura.playkit.providers.ovp;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonSyntaxException;
+import com.kaltura.netkit.connect.executor.RequestQueue;
+import com.kaltura.netkit.connect.request.MultiRequestBuilder;
+import com.kaltura.netkit.connect.request.RequestBuilder;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.connect.response.ResponseElement;
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.netkit.utils.SessionProvider;
+import com.kaltura.playkit.PKLog;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.providers.api.ovp.KalturaOvpParser;
+import com.kaltura.playkit.providers.api.ovp.OvpConfigs;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMediaEntry;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaStartWidgetSessionResponse;
+import com.kaltura.playkit.providers.api.ovp.services.OvpService;
+import com.kaltura.playkit.providers.api.ovp.services.OvpSessionService;
+import com.kaltura.playkit.providers.api.ovp.services.PlaylistService;
+import com.kaltura.playkit.providers.base.BECallableLoader;
+import com.kaltura.playkit.providers.base.BELoadHandle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.getDefaultWidgetId;
+
+/**
+ * Paged view of an OVP playlist, for playlists too large to be loaded at once. Pages are fetched
+ * on demand with playlist.execute, and the pages following the last requested one are fetched in the
+ * background. Up to a max number of pages is kept in memory, the pages farthest from the last
+ * requested page are evicted first.
+ *
+ * Pages are numbered from 0, page n holds the playlist medias [n * pageSize, (n + 1) * pageSize).
+ * The playlist size is unknown until a page shorter than the page size was fetched.
+ *
+ * Created with {@link KalturaOvpPlaylistProvider#createPagedPlaylist(int)}.
+ */
+public class OVPPagedPlaylist {
+
+    private static final PKLog log = PKLog.get("OVPPagedPlaylist");
+
+    public static final int DefaultPageSize = 25;
+    public static final int DefaultMaxPages = 5;
+    public static final int DefaultPrefetchPages = 1;
+
+    private final KalturaOvpPlaylistProvider provider;
+    private final RequestQueue requestQueue;
+    private final SessionProvider sessionProvider;
+    private final String playlistId;
+    private final int pageSize;
+    private int maxPages = DefaultMaxPages;
+    private int prefetchPages = DefaultPrefetchPages;
+
+    private final Object syncObject = new Object();
+    private final Map<Integer, List<PKPlaylistMedia>> pages = new HashMap<>();
+    private final Map<Integer, List<OnCompletion<ResultElement<List<PKPlaylistMedia>>>>> pendingPages = new HashMap<>();
+    private final Map<Integer, BELoadHandle> pageLoads = new HashMap<>();
+    private int lastPageIndex = -1; // known once a short page was fetched
+    private int size = -1;
+    private int currentPageIndex = 0;
+    private int generation = 0; // incremented on cancel, drops responses of older requests
+
+    OVPPagedPlaylist(KalturaOvpPlaylistProvider provider, RequestQueue requestQueue, SessionProvider sessionProvider, String playlistId, int pageSize) {
+        this.provider = provider;
+        this.requestQueue = requestQueue;
+        this.sessionProvider = sessionProvider;
+        this.playlistId = playlistId;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param maxPages - max number of pages kept in memory, at least 1 + the read ahead pages.
+     * @return - this instance
+     */
+    public OVPPagedPlaylist setMaxPages(int maxPages) {
+        synchronized (syncObject) {
+            this.maxPages = Math.max(maxPages, 1 + prefetchPages);
+        }
+        return this;
+    }
+
+    /**
+     * @param prefetchPages - number of pages to read ahead of the last requested page, 0 to disable.
+     * @return - this instance
+     */
+    public OVPPagedPlaylist setPrefetchPages(int prefetchPages) {
+        synchronized (syncObject) {
+            this.prefetchPages = Math.max(0, prefetchPages);
+            this.maxPages = Math.max(maxPages, 1 + this.prefetchPages);
+        }
+        return this;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return - the number of medias in the playlist, or -1 if the last page wasn't fetched yet.
+     */
+    public int getSize() {
+        synchronized (syncObject) {
+            return size;
+        }
+    }
+
+    /**
+     * @param index - playlist index.
+     * @return - the media if its page is in memory, null otherwise. Doesn't fetch anything.
+     */
+    @Nullable
+    public PKPlaylistMedia peekMedia(int index) {
+        synchronized (syncObject) {
+            List<PKPlaylistMedia> page = pages.get(index / pageSize);
+            int pageOffset = index % pageSize;
+            return page != null && pageOffset < page.size() ? page.get(pageOffset) : null;
+        }
+    }
+
+    /**
+     * Gets the media at the given playlist index, fetching its page if needed.
+     *
+     * @param index - playlist index.
+     * @param completion - receives the media, or an error if the page failed or the index is out of the playlist.
+     */
+    public void getMedia(final int index, final OnCompletion<ResultElement<PKPlaylistMedia>> completion) {
+        getPage(index / pageSize, result -> {
+            if (completion == null) {
+                return;
+            }
+            if (result.getError() != null) {
+                completion.onComplete(Accessories.buildResult(null, result.getError()));
+                return;
+            }
+
+            List<PKPlaylistMedia> page = result.getResponse();
+            int pageOffset = index % pageSize;
+            if (page == null || pageOffset >= page.size()) {
+                completion.onComplete(Accessories.buildResult(null, ErrorElement.NotFound.message("playlist index " + index + " is out of the playlist")));
+            } else {
+                completion.onComplete(Accessories.buildResult(page.get(pageOffset), null));
+            }
+        });
+    }
+
+    /**
+     * Gets a page of the playlist, from memory or from the BE, and reads ahead the following pages.
+     *
+     * @param pageIndex - page number, starts from 0.
+     * @param completion - receives the page medias (may be empty past the end of the playlist), or an error.
+     */
+    public void getPage(int pageIndex, OnCompletion<ResultElement<List<PKPlaylistMedia>>> completion) {
+        if (pageIndex < 0) {
+            if (completion != null) {
+                completion.onComplete(Accessories.buildResult(null, ErrorElement.BadRequestError.message("invalid page index " + pageIndex)));
+            }
+            return;
+        }
+
+        List<PKPlaylistMedia> page;
+        List<Integer> newRequests = new ArrayList<>();
+        int requestGeneration;
+        synchronized (syncObject) {
+            currentPageIndex = pageIndex;
+            requestGeneration = generation;
+            page = pages.get(pageIndex);
+            if (page == null && addPendingPage(pageIndex, completion)) {
+                newRequests.add(pageIndex);
+            }
+            // read ahead
+            for (int i = pageIndex + 1; i <= pageIndex + prefetchPages && (lastPageIndex < 0 || i <= lastPageIndex); i++) {
+                if (!pages.containsKey(i) && addPendingPage(i, null)) {
+                    newRequests.add(i);
+                }
+            }
+        }
+
+        for (int newRequest : newRequests) {
+            requestPage(requestGeneration, newRequest);
+        }
+
+        if (page != null && completion != null) {
+            completion.onComplete(Accessories.buildResult(page, null));
+        }
+    }
+
+    /**
+     * Cancels the pages fetching in progress and drops the pages in memory.
+     * The completions of the canceled page requests are not called.
+     */
+    public void cancel() {
+        List<BELoadHandle> loads;
+        synchronized (syncObject) {
+            generation++;
+            loads = new ArrayList<>(pageLoads.values());
+            pageLoads.clear();
+            pendingPages.clear();
+            pages.clear();
+        }
+        for (BELoadHandle load : loads) {
+            load.cancel();
+        }
+    }
+
+    /**
+     * Registers the completion on the page request, called with syncObject held.
+     *
+     * @return - true if the page request should be started, false if it is already in progress.
+     */
+    private boolean addPendingPage(int pageIndex, OnCompletion<ResultElement<List<PKPlaylistMedia>>> completion) {
+        List<OnCompletion<ResultElement<List<PKPlaylistMedia>>>> completions = pendingPages.get(pageIndex);
+        boolean newRequest = completions == null;
+        if (newRequest) {
+            completions = new ArrayList<>();
+            pendingPages.put(pageIndex, completions);
+        }
+        if (completion != null) {
+            completions.add(completion);
+        }
+        return newRequest;
+    }
+
+    private void requestPage(final int requestGeneration, final int pageIndex) {
+        log.d("fetching page " + pageIndex);
+        synchronized (syncObject) {
+            if (requestGeneration != generation || !pendingPages.containsKey(pageIndex)) {
+                return;
+            }
+            pageLoads.put(pageIndex, provider.submitPageLoader(new PageLoader(requestGeneration, pageIndex)));
+        }
+    }
+
+    /**
+     * Fetches a single page on the providers load flow, so the page loads get the same ks
+     * validation, anonymous session reuse and cancel handling as the provider loads.
+     */
+    class PageLoader extends BECallableLoader {
+
+        final int requestGeneration;
+        final int pageIndex;
+
+        PageLoader(final int requestGeneration, final int pageIndex) {
+            super(log.tag + "#PageLoader", OVPPagedPlaylist.this.requestQueue, OVPPagedPlaylist.this.sessionProvider,
+                    (OnCompletion<ResultElement<List<PKPlaylistMedia>>>) result -> onPageLoaded(requestGeneration, pageIndex, result.getResponse(), result.getError()));
+
+            this.requestGeneration = requestGeneration;
+            this.pageIndex = pageIndex;
+        }
+
+        @Override
+        protected ErrorElement validateKs(String ks) {
+            return null; // an empty ks is replaced by an anonymous session
+        }
+
+        @Override
+        protected void requestRemote(String ks) throws InterruptedException {
+            final RequestBuilder pageRequest = getPageRequest(getApiBaseUrl(), ks, pageIndex)
+                    .completion(response -> {
+                        log.v(loadId + ": got response to [" + loadReq + "]" + " isCanceled = " + isCanceled());
+                        loadReq = null;
+
+                        if (!isCanceled()) {
+                            onPageResponse(response);
+                        }
+                        notifyCompletion();
+                    });
+
+            synchronized (syncObject) {
+                loadReq = requestQueue.queue(pageRequest.build());
+                log.d(loadId + ": request queued for execution [" + loadReq + "]");
+            }
+
+            if (!isCanceled()) {
+                waitForResponse();
+            }
+        }
+
+        private void onPageResponse(ResponseElement response) {
+            if (response == null || !response.isSuccess()) {
+                ErrorElement error = response != null && response.getError() != null ? response.getError() : ErrorElement.LoadError.message("failed to get playlist page " + pageIndex);
+                onRemoteError(error);
+                completion.onComplete(Accessories.buildResult(null, error));
+                return;
+            }
+
+            List<PKPlaylistMedia> page = null;
+            ErrorElement error = null;
+            try {
+                List<BaseResult> responses = parseResponses(response.getResponse());
+                if (responses.size() > 1 && responses.get(0) instanceof KalturaStartWidgetSessionResponse && responses.get(0).error == null) {
+                    onAnonymousSession(((KalturaStartWidgetSessionResponse) responses.get(0)).getKs());
+                }
+
+                // the execute results list is bound as a list element of the multirequest results
+                Object executeResult = responses.isEmpty() ? null : responses.get(responses.size() - 1);
+                if (executeResult instanceof List) {
+                    page = KalturaOvpPlaylistProvider.getPlaylistMediaList((List<KalturaMediaEntry>) executeResult);
+                } else if (executeResult instanceof BaseResult && ((BaseResult) executeResult).error != null) {
+                    error = ((BaseResult) executeResult).error;
+                } else {
+                    error = ErrorElement.LoadError.message("failed to get playlist page " + pageIndex);
+                }
+            } catch (JsonSyntaxException ex) {
+                error = ErrorElement.LoadError.message("failed parsing playlist page " + pageIndex + ": " + ex.getMessage());
+            }
+
+            onRemoteError(error);
+            completion.onComplete(Accessories.buildResult(page, error));
+        }
+    }
+
+    /**
+     * @return - the multirequest results, a single result (e.g the multirequest failed as a whole) as a one item list.
+     */
+    private static List<BaseResult> parseResponses(String response) throws JsonSyntaxException {
+        Object parsed = KalturaOvpParser.parse(response);
+        if (parsed instanceof List) {
+            return (List<BaseResult>) parsed;
+        }
+        return parsed instanceof BaseResult ? Collections.singletonList((BaseResult) parsed) : Collections.<BaseResult>emptyList();
+    }
+
+    private RequestBuilder getPageRequest(String baseUrl, String ks, int pageIndex) {
+        MultiRequestBuilder multiRequestBuilder = (MultiRequestBuilder) OvpService.getMultirequest(baseUrl, ks, sessionProvider.partnerId())
+                .tag("playlist-page-multireq");
+
+        if (TextUtils.isEmpty(ks)) {
+            multiRequestBuilder.add(OvpSessionService.anonymousSession(baseUrl, getDefaultWidgetId(sessionProvider.partnerId())));
+            ks = "{1:result:ks}";
+        }
+
+        // the BE pager index starts from 1
+        return multiRequestBuilder.add(PlaylistService.execute(baseUrl, ks, playlistId, pageSize, pageIndex + 1));
+    }
+
+    void onPageLoaded(int requestGeneration, int pageIndex, List<PKPlaylistMedia> page, ErrorElement error) {
+        List<OnCompletion<ResultElement<List<PKPlaylistMedia>>>> completions;
+        synchronized (syncObject) {
+            if (requestGeneration != generation) {
+                return;
+            }
+
+            pageLoads.remove(pageIndex);
+            completions = pendingPages.remove(pageIndex);
+            if (page != null) {
+                if (page.size() < pageSize && (lastPageIndex < 0 || pageIndex < lastPageIndex)) {
+                    lastPageIndex = pageIndex;
+                    size = pageIndex * pageSize + page.size();
+                }
+                pages.put(pageIndex, page);
+                evictPages();
+            }
+        }
+
+        log.d("page " + pageIndex + " " + (error == null ? "fetched" : "failed: " + error));
+
+        if (completions != null) {
+            for (OnCompletion<ResultElement<List<PKPlaylistMedia>>> completion : completions) {
+                completion.onComplete(Accessories.buildResult(page, error));
+            }
+        }
+    }
+
+    // called with syncObject held
+    private void evictPages() {
+        while (pages.size() > maxPages) {
+            int farthestPage = -1;
+            for (Integer pageIndex : pages.keySet()) {
+                if (farthestPage < 0 || Math.abs(pageIndex - currentPageIndex) > Math.abs(farthestPage - currentPageIndex)) {
+                    farthestPage = pageIndex;
+                }
+            }
+            log.v("evicting page " + farthestPage);
+            pages.remove(farthestPage);
+        }
+    }
+
+    private String getApiBaseUrl() {
+        String sep = sessionProvider.baseUrl().endsWith("/") ? "" : "/";
+        return sessionProvider.baseUrl() + sep + OvpConfigs.ApiPrefix;
+    }
+}
@@ -0,0 +1,85 @@
+package com.kaltua.playkit.mediaproviders;
+
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.providers.base.LoadErrorCache;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class LoadErrorCacheTest extends TestCase {
+
+    private static final ErrorElement BlockedError = new ErrorElement("blocked", "AccessControlRestriction");
+
+    @Test
+    public void testReturnsErrorForSameSession() {
+        LoadErrorCache cache = new LoadErrorCache();
+        cache.put("a", "ks", BlockedError);
+
+        assertSame(BlockedError, cache.get("a", "ks"));
+        assertNull(cache.get("b", "ks"));
+    }
+
+    @Test
+    public void testDropsErrorOnSessionChange() {
+        LoadErrorCache cache = new LoadErrorCache();
+        cache.put("a", "ks1", BlockedError);
+
+        assertNull(cache.get("a", "ks2"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNullSessionIsBound() {
+        LoadErrorCache cache = new LoadErrorCache();
+        cache.put("a", null, BlockedError);
+
+        assertSame(BlockedError, cache.get("a", ""));
+        assertNull(cache.get("a", "ks"));
+    }
+
+    @Test
+    public void testIgnoresNullError() {
+        LoadErrorCache cache = new LoadErrorCache();
+        cache.put("a", "ks", null);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testErrorExpires() throws InterruptedException {
+        LoadErrorCache cache = new LoadErrorCache(10, 50);
+        cache.put("a", "ks", BlockedError);
+        assertNotNull(cache.get("a", "ks"));
+
+        Thread.sleep(80);
+        assertNull(cache.get("a", "ks"));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LoadErrorCache cache = new LoadErrorCache(2, 60000);
+        cache.put("a", "ks", BlockedError);
+        cache.put("b", "ks", BlockedError);
+        cache.get("a", "ks"); // "b" is now the least recently used
+
+        cache.put("c", "ks", BlockedError);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a", "ks"));
+        assertNull(cache.get("b", "ks"));
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        try {
+            new LoadErrorCache(0, 1000);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new LoadErrorCache(10, 0);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kaltua.playkit.mediaproviders;
+
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.base.MediaEntryCache;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class MediaEntryCacheTest extends TestCase {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        MediaEntryCache cache = new MediaEntryCache(2, 60000);
+        PKMediaEntry first = new PKMediaEntry().setId("1");
+        PKMediaEntry second = new PKMediaEntry().setId("2");
+
+        cache.put("a", "ks", first);
+        cache.put("b", "ks", second);
+        assertEquals("1", cache.get("a", "ks").getId()); // "b" is now the least recently used
+
+        cache.put("c", "ks", new PKMediaEntry().setId("3"));
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a", "ks").getId());
+        assertNull(cache.get("b", "ks"));
+    }
+
+    @Test
+    public void testDropsEntriesOnSessionChange() {
+        MediaEntryCache cache = new MediaEntryCache();
+        cache.put("a", "ks1", new PKMediaEntry().setId("1"));
+
+        assertNull(cache.get("a", "ks2"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSessionIndependentEntryIsKept() {
+        MediaEntryCache cache = new MediaEntryCache();
+        PKMediaEntry template = new PKMediaEntry().setId("1");
+        cache.put("a", null, template);
+
+        assertEquals("1", cache.get("a", "ks1").getId());
+        assertEquals("1", cache.get("a", "ks2").getId());
+    }
+
+    @Test
+    public void testHitsAreCopies() {
+        MediaEntryCache cache = new MediaEntryCache();
+        PKMediaEntry mediaEntry = new PKMediaEntry().setId("1");
+        cache.put("a", "ks", mediaEntry);
+        mediaEntry.setId("changed after put");
+
+        PKMediaEntry hit = cache.get("a", "ks");
+        assertNotSame(mediaEntry, hit);
+        assertEquals("1", hit.getId());
+
+        hit.setId("changed after get");
+        assertNotSame(hit, cache.get("a", "ks"));
+        assertEquals("1", cache.get("a", "ks").getId());
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() throws InterruptedException {
+        MediaEntryCache cache = new MediaEntryCache(5, 1);
+        cache.put("a", "ks", new PKMediaEntry().setId("1"));
+
+        Thread.sleep(5);
+        assertNull(cache.get("a", "ks"));
+    }
+}
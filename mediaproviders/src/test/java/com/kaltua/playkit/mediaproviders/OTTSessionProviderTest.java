@@ -0,0 +1,271 @@
+package com.kaltua.playkit.mediaproviders;
+
+import com.kaltura.netkit.connect.executor.RequestQueue;
+import com.kaltura.netkit.connect.request.RequestConfiguration;
+import com.kaltura.netkit.connect.request.RequestElement;
+import com.kaltura.netkit.connect.response.PrimitiveResult;
+import com.kaltura.netkit.connect.response.ResponseElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.NetworkErrorEventListener;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.playkit.providers.ott.OTTSessionProvider;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OTTSessionProviderTest extends TestCase {
+
+    private static final long WaitMs = 2000;
+
+    /**
+     * Keeps the queued requests, the test passes their responses.
+     */
+    private static class FakeQueue implements RequestQueue {
+
+        final List<RequestElement> requests = Collections.synchronizedList(new ArrayList<RequestElement>());
+        final List<String> cancelled = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void setRequestConfiguration(RequestConfiguration config) {
+        }
+
+        @Override
+        public String queue(RequestElement request) {
+            requests.add(request);
+            return String.valueOf(requests.size());
+        }
+
+        @Override
+        public String queue(RequestElement request, int retryCount) {
+            return queue(request);
+        }
+
+        @Override
+        public ResponseElement execute(RequestElement request) {
+            return null;
+        }
+
+        @Override
+        public void cancelRequest(String reqId) {
+            cancelled.add(reqId);
+        }
+
+        @Override
+        public void clearRequests() {
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return requests.isEmpty();
+        }
+
+        @Override
+        public void setNetworkErrorEventListener(NetworkErrorEventListener networkErrorEventListener) {
+        }
+
+        // requests are queued by the refresh timer thread as well
+        RequestElement awaitRequest(int index) throws InterruptedException {
+            long end = System.currentTimeMillis() + WaitMs;
+            while (requests.size() <= index && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertTrue("request " + index + " was not queued", requests.size() > index);
+            return requests.get(index);
+        }
+    }
+
+    private static class Tokens implements OnCompletion<PrimitiveResult> {
+
+        final List<PrimitiveResult> received = new ArrayList<>();
+
+        @Override
+        public void onComplete(PrimitiveResult result) {
+            received.add(result);
+        }
+    }
+
+    private FakeQueue queue;
+    private OTTSessionProvider sessionProvider;
+
+    @Override
+    protected void setUp() {
+        queue = new FakeQueue();
+        sessionProvider = new OTTSessionProvider("https://api.test/api_v3/", 1).setRequestExecutor(queue);
+    }
+
+    @Override
+    protected void tearDown() {
+        sessionProvider.release();
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static String refreshResponse(String ks, String refreshToken, long expiry) {
+        return "{\"result\":[" +
+                "{\"objectType\":\"KalturaLoginSession\",\"ks\":\"" + ks + "\",\"refreshToken\":\"" + refreshToken + "\"}," +
+                "{\"objectType\":\"KalturaSession\",\"ks\":\"" + ks + "\",\"expiry\":" + expiry + "}]}";
+    }
+
+    @Test
+    public void testValidKsIsPassedRightAway() {
+        sessionProvider.startSession("ks1", "rt1", now() + 3600);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+
+        assertEquals(1, tokens.received.size());
+        assertEquals("ks1", tokens.received.get(0).getResult());
+        assertNull(tokens.received.get(0).error);
+        assertTrue(queue.requests.isEmpty());
+    }
+
+    @Test
+    public void testExpiredKsWaitsForSingleRefresh() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", now() - 60);
+
+        Tokens first = new Tokens();
+        Tokens second = new Tokens();
+        sessionProvider.getSessionToken(first);
+        sessionProvider.getSessionToken(second);
+
+        RequestElement refresh = queue.awaitRequest(0);
+        assertTrue(refresh.getUrl().contains("multirequest"));
+        assertTrue(first.received.isEmpty());
+        assertTrue(second.received.isEmpty());
+
+        refresh.onComplete(Accessories.buildResponse(refreshResponse("ks2", "rt2", now() + 3600), null));
+
+        assertEquals("ks2", first.received.get(0).getResult());
+        assertEquals("ks2", second.received.get(0).getResult());
+        assertEquals(1, queue.requests.size());
+
+        Tokens next = new Tokens();
+        sessionProvider.getSessionToken(next);
+        assertEquals("ks2", next.received.get(0).getResult());
+    }
+
+    @Test
+    public void testValidKsIsPassedWhileRefreshing() throws InterruptedException {
+        // within the refresh margin, the refresh starts at once
+        sessionProvider.setRefreshMargin(3600).startSession("ks1", "rt1", now() + 600);
+        RequestElement refresh = queue.awaitRequest(0);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        assertEquals("ks1", tokens.received.get(0).getResult());
+
+        // a failed refresh keeps the still valid ks
+        refresh.onComplete(Accessories.buildResponse(null, ErrorElement.ServiceUnavailableError));
+        Tokens afterFailure = new Tokens();
+        sessionProvider.getSessionToken(afterFailure);
+        assertEquals("ks1", afterFailure.received.get(0).getResult());
+        assertNull(afterFailure.received.get(0).error);
+    }
+
+    @Test
+    public void testFailedRefreshOfExpiredKsPassesError() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", now() - 60);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        queue.awaitRequest(0).onComplete(Accessories.buildResponse(null, ErrorElement.ServiceUnavailableError));
+
+        assertEquals(1, tokens.received.size());
+        assertNotNull(tokens.received.get(0).error);
+    }
+
+    @Test
+    public void testNewSessionServesWaiters() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", now() - 60);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        RequestElement refresh = queue.awaitRequest(0);
+
+        sessionProvider.startSession("ks3", "rt3", now() + 3600);
+        assertEquals(1, tokens.received.size());
+        assertEquals("ks3", tokens.received.get(0).getResult());
+
+        // the refresh of the replaced session is dropped
+        refresh.onComplete(Accessories.buildResponse(refreshResponse("ks2", "rt2", now() + 3600), null));
+        assertEquals(1, tokens.received.size());
+
+        Tokens next = new Tokens();
+        sessionProvider.getSessionToken(next);
+        assertEquals("ks3", next.received.get(0).getResult());
+    }
+
+    @Test
+    public void testEndSessionServesWaitersWithoutKs() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", now() - 60);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        queue.awaitRequest(0);
+
+        sessionProvider.endSession();
+        assertEquals(1, tokens.received.size());
+        assertNull(tokens.received.get(0).getResult());
+    }
+
+    @Test
+    public void testUnknownExpiryIsFetched() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", 0);
+
+        RequestElement sessionGet = queue.awaitRequest(0);
+        assertTrue(sessionGet.getUrl().contains("session"));
+        sessionGet.onComplete(Accessories.buildResponse("{\"result\":{\"objectType\":\"KalturaSession\",\"ks\":\"ks1\",\"expiry\":" + (now() - 60) + "}}", null));
+
+        // the fetched expiry has passed, the next call waits for a refresh
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        RequestElement refresh = queue.awaitRequest(1);
+        assertTrue(refresh.getUrl().contains("multirequest"));
+        assertTrue(tokens.received.isEmpty());
+
+        refresh.onComplete(Accessories.buildResponse(refreshResponse("ks2", "rt2", now() + 3600), null));
+        assertEquals("ks2", tokens.received.get(0).getResult());
+    }
+
+    @Test
+    public void testReleaseCancelsRefresh() throws InterruptedException {
+        sessionProvider.startSession("ks1", "rt1", now() - 60);
+
+        Tokens tokens = new Tokens();
+        sessionProvider.getSessionToken(tokens);
+        RequestElement refresh = queue.awaitRequest(0);
+
+        sessionProvider.release();
+        assertEquals(Collections.singletonList("1"), queue.cancelled);
+        assertNull(tokens.received.get(0).getResult());
+
+        // a late response of the cancelled refresh is dropped
+        refresh.onComplete(Accessories.buildResponse(refreshResponse("ks2", "rt2", now() + 3600), null));
+        Tokens next = new Tokens();
+        sessionProvider.getSessionToken(next);
+        assertNull(next.received.get(0).getResult());
+    }
+
+    @Test
+    public void testReleaseStopsScheduledRefresh() throws InterruptedException {
+        // due for a refresh right away
+        sessionProvider.setRefreshMargin(3600);
+        sessionProvider.startSession("ks1", "rt1", now() + 60);
+        queue.awaitRequest(0);
+        queue.requests.get(0).onComplete(Accessories.buildResponse(refreshResponse("ks2", "rt2", now() + 60), null));
+        queue.awaitRequest(1);
+
+        sessionProvider.release();
+        queue.requests.get(1).onComplete(Accessories.buildResponse(refreshResponse("ks3", "rt3", now() + 60), null));
+        Thread.sleep(200);
+        assertEquals(2, queue.requests.size());
+    }
+}
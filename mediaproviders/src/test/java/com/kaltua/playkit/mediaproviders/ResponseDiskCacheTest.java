@@ -0,0 +1,119 @@
+package com.kaltua.playkit.mediaproviders;
+
+import com.kaltura.playkit.providers.base.ResponseDiskCache;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+public class ResponseDiskCacheTest extends TestCase {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("response-disk-cache").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+        super.tearDown();
+    }
+
+    @Test
+    public void testStoresResponse() {
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 1024, 60000);
+        cache.put("asset|1", "ks1", "{\"result\":1}");
+
+        assertEquals("{\"result\":1}", cache.get("asset|1", "ks1"));
+        // a new instance reads the stored files
+        assertEquals("{\"result\":1}", new ResponseDiskCache(directory, 1024, 60000).get("asset|1", "ks1"));
+    }
+
+    @Test
+    public void testEntriesAreBoundToKs() {
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 1024, 60000);
+        cache.put("asset|1", "ks1", "{\"result\":1}");
+
+        assertNull(cache.get("asset|1", "ks2"));
+        assertNull(cache.get("asset|1", null));
+        assertEquals("{\"result\":1}", cache.get("asset|1", "ks1"));
+    }
+
+    @Test
+    public void testKsIsNotWritten() throws IOException {
+        String ks = "djJ8MTIzfHNlY3JldC1zZXNzaW9uLXRva2Vu";
+        new ResponseDiskCache(directory, 1024, 60000).put("asset|1", ks, "{\"result\":1}");
+
+        File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        String content = new String(Files.readAllBytes(files[0].toPath()), UTF8);
+        assertFalse(content.contains(ks));
+        assertTrue(content.contains("asset|1|"));
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() throws InterruptedException {
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 1024, 1);
+        cache.put("asset|1", "ks", "{\"result\":1}");
+
+        Thread.sleep(5);
+        assertNull(cache.get("asset|1", "ks"));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void testCorruptEntryIsDropped() throws IOException {
+        new ResponseDiskCache(directory, 1024, 60000).put("asset|1", "ks", "{\"result\":1}");
+        File file = directory.listFiles()[0];
+        FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(new byte[]{1, 2, 3});
+        } finally {
+            output.close();
+        }
+
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 1024, 60000);
+        assertNull(cache.get("asset|1", "ks"));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        String response = new String(new char[100]).replace('\0', 'x');
+        // room for two entries only
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 450, 60000);
+        cache.put("asset|1", "ks", response);
+        cache.put("asset|2", "ks", response);
+        assertNotNull(cache.get("asset|1", "ks")); // "asset|2" is now the least recently used
+
+        cache.put("asset|3", "ks", response);
+        assertNotNull(cache.get("asset|1", "ks"));
+        assertNull(cache.get("asset|2", "ks"));
+        assertNotNull(cache.get("asset|3", "ks"));
+    }
+
+    @Test
+    public void testOversizedResponseIsNotStored() {
+        ResponseDiskCache cache = new ResponseDiskCache(directory, 64, 60000);
+        cache.put("asset|1", "ks", new String(new char[100]).replace('\0', 'x'));
+
+        assertNull(cache.get("asset|1", "ks"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.kaltura.playkit.providers.api;
+
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.providers.api.ovp.KalturaOvpParser;
+import com.kaltura.playkit.providers.api.phoenix.PhoenixParser;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class KalturaAPIExceptionTest extends TestCase {
+
+    private static final String APIExceptionJson = "{\"objectType\":\"KalturaAPIException\",\"code\":\"500016\",\"message\":\"KS expired\"}";
+
+    private static KalturaAPIException exception(String code) {
+        return new KalturaAPIException(new ErrorElement("failed", code), "OTTError");
+    }
+
+    @Test
+    public void testSingleException() {
+        KalturaAPIException exception = exception("1");
+
+        ErrorElement error = KalturaAPIException.findError(exception);
+        assertSame(exception.error, error);
+        assertEquals("1", error.getCode());
+        assertEquals("failed", error.getMessage());
+        assertEquals("OTTError", error.getName());
+    }
+
+    @Test
+    public void testFirstExceptionInList() {
+        List<BaseResult> results = Arrays.asList(new BaseResult(), exception("2"), exception("3"));
+
+        assertEquals("2", KalturaAPIException.findError(results).getCode());
+    }
+
+    @Test
+    public void testNoException() {
+        assertNull(KalturaAPIException.findError(null));
+        assertNull(KalturaAPIException.findError("done"));
+        assertNull(KalturaAPIException.findError(new ArrayList<BaseResult>()));
+
+        // a plain error result is not an api exception
+        BaseResult failed = new BaseResult(new ErrorElement("failed", "1"));
+        assertNull(KalturaAPIException.findError(failed));
+        assertNull(KalturaAPIException.findError(Arrays.asList(new BaseResult(), failed, null)));
+    }
+
+    @Test
+    public void testParsedPhoenixResponse() {
+        Object single = PhoenixParser.parse("{\"result\":{\"error\":" + APIExceptionJson + "}}");
+        assertEquals("500016", KalturaAPIException.findError(single).getCode());
+
+        Object results = PhoenixParser.parse("{\"result\":[{\"objectType\":\"KalturaLoginSession\",\"ks\":\"ks1\"}," + APIExceptionJson + "]}");
+        ErrorElement error = KalturaAPIException.findError(results);
+        assertEquals("500016", error.getCode());
+        assertEquals("KS expired", error.getMessage());
+
+        // the exception name inside a successful payload is just text
+        assertNull(KalturaAPIException.findError(PhoenixParser.parse("{\"result\":{\"objectType\":\"KalturaLoginSession\",\"ks\":\"KalturaAPIException\"}}")));
+    }
+
+    @Test
+    public void testParsedOvpResponse() {
+        Object single = KalturaOvpParser.parse(APIExceptionJson);
+        assertEquals("500016", KalturaAPIException.findError(single).getCode());
+
+        Object results = KalturaOvpParser.parse("[{\"objectType\":\"KalturaStartWidgetSessionResponse\",\"ks\":\"ks1\"}," + APIExceptionJson + "]");
+        assertEquals("KS expired", KalturaAPIException.findError(results).getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package com.kaltura.playkit.providers.api.base.model;
+
+import com.google.gson.Gson;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import static com.kaltura.playkit.providers.api.base.model.ModelAdapterAsserts.assertAllFieldsBound;
+
+public class BaseModelAdaptersTest extends TestCase {
+
+    public static final String DrmPlaybackPluginDataJson = "{\"objectType\":\"KalturaDrmPlaybackPluginData\",\"scheme\":\"drm.WIDEVINE_CENC\",\"certificate\":\"cert\",\"licenseURL\":\"https://license/wv\"}";
+    public static final String AccessControlMessageJson = "{\"objectType\":\"KalturaAccessControlMessage\",\"message\":\"OK\",\"code\":\"OK\"}";
+
+    // the nested playback models are bound by Gson, see BaseModelAdapters
+
+    @Test
+    public void testDrmPlaybackPluginData() {
+        KalturaDrmPlaybackPluginData drmData = new Gson().fromJson(DrmPlaybackPluginDataJson, KalturaDrmPlaybackPluginData.class);
+        assertAllFieldsBound("KalturaDrmPlaybackPluginData", drmData);
+        assertEquals("https://license/wv", drmData.getLicenseURL());
+    }
+
+    @Test
+    public void testAccessControlMessage() {
+        BasePlaybackContext.KalturaAccessControlMessage message = new Gson().fromJson(AccessControlMessageJson, BasePlaybackContext.KalturaAccessControlMessage.class);
+        assertAllFieldsBound("KalturaAccessControlMessage", message);
+        assertEquals("OK", message.getCode());
+    }
+}
@@ -0,0 +1,90 @@
+package com.kaltura.playkit.providers.api.base.model;
+
+import com.google.gson.JsonObject;
+import com.kaltura.netkit.connect.response.BaseResult;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+
+/**
+ * Checks of the hand written {@link ModelTypeAdapter}s: a fixture holding every field of the model is
+ * read, written and read again, and every declared field of the read models (nested models included)
+ * must hold a value, so a field the adapter doesn't bind fails the test.
+ */
+public class ModelAdapterAsserts {
+
+    private static final String ModelsPackage = "com.kaltura.playkit.providers.api.";
+
+    private ModelAdapterAsserts() {
+    }
+
+    /**
+     * @param fixture - json of the model, with a non default value for each of its fields.
+     * @return - the model read from the fixture.
+     */
+    public static <T> T assertRoundTrip(ModelTypeAdapter<T> adapter, String fixture) throws IOException {
+        T value = adapter.fromJson(fixture);
+        assertNotNull(value);
+        assertEquals(adapter.getType(), value.getClass());
+        assertAllFieldsBound(adapter.getType().getSimpleName(), value);
+
+        String written = adapter.toJson(value);
+        T writtenValue = adapter.fromJson(written);
+        assertAllFieldsBound(adapter.getType().getSimpleName() + "(written)", writtenValue);
+        assertEquals(written, adapter.toJson(writtenValue));
+        return value;
+    }
+
+    public static void assertAllFieldsBound(String path, Object value) {
+        for (Class<?> type = value.getClass(); type != null && type != Object.class && type != BaseResult.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                String fieldPath = path + "." + field.getName();
+                Object fieldValue = getValue(field, value);
+                assertFalse(fieldPath + " is not bound", isDefault(fieldValue));
+                if (fieldValue instanceof List) {
+                    List<?> items = (List<?>) fieldValue;
+                    for (int i = 0; i < items.size(); i++) {
+                        assertNotNull(fieldPath + "[" + i + "] is null", items.get(i));
+                        assertNestedFieldsBound(fieldPath + "[" + i + "]", items.get(i));
+                    }
+                } else {
+                    assertNestedFieldsBound(fieldPath, fieldValue);
+                }
+            }
+        }
+    }
+
+    private static void assertNestedFieldsBound(String path, Object value) {
+        if (value.getClass().getName().startsWith(ModelsPackage) && !value.getClass().isEnum()) {
+            assertAllFieldsBound(path, value);
+        }
+    }
+
+    private static Object getValue(Field field, Object target) {
+        try {
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static boolean isDefault(Object value) {
+        return value == null ||
+                (value instanceof Number && ((Number) value).doubleValue() == 0) ||
+                Boolean.FALSE.equals(value) ||
+                (value instanceof String && ((String) value).isEmpty()) ||
+                (value instanceof List && ((List) value).isEmpty()) ||
+                (value instanceof JsonObject && ((JsonObject) value).entrySet().isEmpty());
+    }
+}
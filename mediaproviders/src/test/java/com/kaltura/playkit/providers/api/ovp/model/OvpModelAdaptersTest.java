@@ -0,0 +1,64 @@
+package com.kaltura.playkit.providers.api.ovp.model;
+
+import com.kaltura.playkit.providers.api.base.model.BaseModelAdaptersTest;
+import com.kaltura.playkit.providers.api.ovp.KalturaOvpParser;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import static com.kaltura.playkit.providers.api.base.model.ModelAdapterAsserts.assertAllFieldsBound;
+import static com.kaltura.playkit.providers.api.base.model.ModelAdapterAsserts.assertRoundTrip;
+
+public class OvpModelAdaptersTest extends TestCase {
+
+    private static final String EntryFieldsJson = "\"msDuration\":120000,\"dvrStatus\":1,\"id\":\"0_abc\",\"name\":\"name\",\"tags\":\"tag1,tag2\",\"dataUrl\":\"https://cdn/0_abc\"," +
+            "\"description\":\"description\",\"thumbnailUrl\":\"https://cdn/thumb\",\"flavorParamsIds\":\"0,1\",\"mediaType\":1";
+    private static final String MediaEntryJson = "{\"objectType\":\"KalturaMediaEntry\"," + EntryFieldsJson + ",\"type\":\"1\"}";
+    private static final String FlavorAssetJson = "{\"objectType\":\"KalturaFlavorAsset\",\"id\":\"0_f1\",\"flavorParamsId\":\"1\",\"fileExt\":\"mp4\",\"bitrate\":800,\"width\":640,\"height\":360}";
+    private static final String PlaybackSourceJson = "{\"objectType\":\"KalturaPlaybackSource\",\"deliveryProfileId\":911,\"flavorIds\":\"0_f1\",\"format\":\"mpegdash\"," +
+            "\"url\":\"https://cdn/manifest.mpd\",\"protocols\":\"https\",\"drm\":[" + BaseModelAdaptersTest.DrmPlaybackPluginDataJson + "]}";
+    private static final String PlaybackCaptionJson = "{\"objectType\":\"KalturaCaptionPlaybackPluginData\",\"label\":\"English\",\"format\":\"1\",\"language\":\"English\"," +
+            "\"webVttUrl\":\"https://cdn/en.vtt\",\"url\":\"https://cdn/en.srt\",\"isDefault\":true,\"languageCode\":\"en\"}";
+    private static final String MetadataJson = "{\"objectType\":\"KalturaMetadata\",\"objectId\":\"0_abc\",\"xml\":\"<metadata><Year>2020</Year></metadata>\"}";
+
+    @Test
+    public void testMediaEntry() throws Exception {
+        KalturaMediaEntry entry = assertRoundTrip(OvpModelAdapters.MediaEntry, MediaEntryJson);
+        assertEquals(KalturaEntryType.MEDIA_CLIP, entry.getType());
+        assertEquals(KalturaMediaType.VIDEO, entry.getMediaType());
+    }
+
+    @Test
+    public void testLiveStreamEntry() throws Exception {
+        KalturaLiveStreamEntry entry = assertRoundTrip(OvpModelAdapters.LiveStreamEntry, "{\"objectType\":\"KalturaLiveStreamEntry\"," + EntryFieldsJson + ",\"type\":\"7\"}");
+        assertEquals(KalturaEntryType.LIVE_STREAM, entry.getType());
+    }
+
+    @Test
+    public void testBaseEntryListResponse() throws Exception {
+        assertRoundTrip(OvpModelAdapters.BaseEntryListResponse, "{\"objectType\":\"KalturaBaseEntryListResponse\",\"objects\":[" + MediaEntryJson + "],\"totalCount\":1}");
+    }
+
+    @Test
+    public void testPlaybackSource() throws Exception {
+        assertRoundTrip(OvpModelAdapters.PlaybackSource, PlaybackSourceJson);
+    }
+
+    @Test
+    public void testPlaybackContext() throws Exception {
+        assertRoundTrip(OvpModelAdapters.PlaybackContext, "{\"objectType\":\"KalturaPlaybackContext\",\"sources\":[" + PlaybackSourceJson + "]," +
+                "\"flavorAssets\":[" + FlavorAssetJson + "],\"playbackCaptions\":[" + PlaybackCaptionJson + "]," +
+                "\"actions\":[{\"objectType\":\"KalturaAccessControlDrmPolicyAction\",\"type\":\"DRM_POLICY\",\"policyId\":3}," +
+                "{\"objectType\":\"KalturaAccessControlLimitDeliveryProfilesAction\",\"type\":\"5\",\"deliveryProfileIds\":\"911,912\",\"isBlockedList\":true}]," +
+                "\"messages\":[" + BaseModelAdaptersTest.AccessControlMessageJson + "]}");
+    }
+
+    @Test
+    public void testMetadataListResponse() throws Exception {
+        // not on the adapters list, bound by the parser Gson
+        KalturaMetadataListResponse metadataList = KalturaOvpParser.getRuntimeGson(KalturaMetadataListResponse.class)
+                .fromJson("{\"objectType\":\"KalturaMetadataListResponse\",\"objects\":[" + MetadataJson + "],\"totalCount\":1}", KalturaMetadataListResponse.class);
+        assertAllFieldsBound("KalturaMetadataListResponse", metadataList);
+    }
+}
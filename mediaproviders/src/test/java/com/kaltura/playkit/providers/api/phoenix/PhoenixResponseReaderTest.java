@@ -0,0 +1,142 @@
+package com.kaltura.playkit.providers.api.phoenix;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.playkit.providers.api.KalturaAPIException;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLicensedUrl;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginResponse;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginSession;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackContext;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaSession;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static com.kaltura.playkit.providers.api.phoenix.model.OttModelAdaptersTest.AssetFieldsJson;
+import static com.kaltura.playkit.providers.api.phoenix.model.OttModelAdaptersTest.PlaybackSourceJson;
+
+/**
+ * The single pass reader must give the same results as the tree parse it replaced.
+ */
+public class PhoenixResponseReaderTest extends TestCase {
+
+    private static final String MediaAssetJson = "{\"objectType\":\"KalturaMediaAsset\"," + AssetFieldsJson + "}";
+    private static final String LoginSessionJson = "{\"objectType\":\"KalturaLoginSession\",\"ks\":\"ks1\",\"refreshToken\":\"rt1\"}";
+    private static final String APIExceptionJson = "{\"objectType\":\"KalturaAPIException\",\"code\":\"500016\",\"message\":\"KS expired\"}";
+
+    private static final Gson gson = new Gson();
+
+    /**
+     * @return - the streamed result, after checking the tree parse gives the same.
+     */
+    private static Object assertSameAsTreeParse(String response) throws Exception {
+        JsonReader reader = new JsonReader(new StringReader(response));
+        reader.setLenient(true);
+        Object streamed = PhoenixResponseReader.read(reader);
+        Object parsed = PhoenixParser.parse(new JsonParser().parse(response));
+
+        if (parsed == null) {
+            assertNull(streamed);
+            return null;
+        }
+        assertNotNull(streamed);
+        assertEquals(parsed.getClass(), streamed.getClass());
+        if (parsed instanceof List) {
+            List<?> parsedList = (List<?>) parsed;
+            List<?> streamedList = (List<?>) streamed;
+            assertEquals(parsedList.size(), streamedList.size());
+            for (int i = 0; i < parsedList.size(); i++) {
+                assertEquals(parsedList.get(i) == null ? null : parsedList.get(i).getClass(), streamedList.get(i) == null ? null : streamedList.get(i).getClass());
+            }
+        }
+        assertEquals(gson.toJson(parsed), gson.toJson(streamed));
+        return streamed;
+    }
+
+    @Test
+    public void testSingleResult() throws Exception {
+        Object result = assertSameAsTreeParse("{\"executionTime\":0.01,\"result\":" + MediaAssetJson + "}");
+
+        assertTrue(result instanceof KalturaMediaAsset);
+        assertEquals(12, ((KalturaMediaAsset) result).getId());
+    }
+
+    @Test
+    public void testResultsWithoutModelAdapter() throws Exception {
+        List<BaseResult> results = (List<BaseResult>) assertSameAsTreeParse("{\"result\":[" +
+                "{\"objectType\":\"KalturaSession\",\"ks\":\"ks1\",\"udid\":\"d1\",\"sessionType\":\"USER\",\"expiry\":1700000000,\"userId\":\"u1\"}," +
+                "{\"objectType\":\"KalturaLoginResponse\",\"loginSession\":" + LoginSessionJson + ",\"user\":{\"objectType\":\"KalturaOTTUser\",\"id\":\"u1\"}}," +
+                "{\"objectType\":\"KalturaLicensedUrl\",\"mainUrl\":\"https://cdn/main.m3u8\",\"altUrl\":\"https://cdn/alt.m3u8\"}]}");
+
+        KalturaSession session = (KalturaSession) results.get(0);
+        assertEquals("ks1", session.getKs());
+        assertEquals(1700000000, session.getExpiry());
+        assertEquals("u1", session.getUserId());
+        assertEquals("rt1", ((KalturaLoginResponse) results.get(1)).getLoginSession().getRefreshToken());
+        assertEquals("u1", ((KalturaLoginResponse) results.get(1)).getUser().getId());
+        assertEquals("https://cdn/alt.m3u8", ((KalturaLicensedUrl) results.get(2)).getAltUrl());
+    }
+
+    @Test
+    public void testObjectTypeNotFirst() throws Exception {
+        Object result = assertSameAsTreeParse("{\"result\":{\"ks\":\"ks1\",\"objectType\":\"KalturaLoginSession\",\"refreshToken\":\"rt1\"}}");
+
+        assertTrue(result instanceof KalturaLoginSession);
+        assertEquals("rt1", ((KalturaLoginSession) result).getRefreshToken());
+    }
+
+    @Test
+    public void testMultiRequestResults() throws Exception {
+        List<BaseResult> results = (List<BaseResult>) assertSameAsTreeParse("{\"executionTime\":0.2,\"result\":[" + LoginSessionJson + "," + MediaAssetJson + "," +
+                "{\"objectType\":\"KalturaPlaybackContext\",\"sources\":[" + PlaybackSourceJson + "]}," + APIExceptionJson + "]}");
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0) instanceof KalturaLoginSession);
+        assertTrue(results.get(1) instanceof KalturaMediaAsset);
+        assertTrue(results.get(2) instanceof KalturaPlaybackContext);
+        assertTrue(results.get(3) instanceof KalturaAPIException);
+        assertEquals("500016", results.get(3).error.getCode());
+    }
+
+    @Test
+    public void testErrorResults() throws Exception {
+        BaseResult wrapped = (BaseResult) assertSameAsTreeParse("{\"result\":{\"error\":" + APIExceptionJson + "}}");
+        assertTrue(wrapped instanceof KalturaAPIException);
+        assertEquals("KS expired", wrapped.error.getMessage());
+
+        BaseResult plain = (BaseResult) assertSameAsTreeParse("{\"result\":{\"error\":{\"code\":\"1\",\"message\":\"failed\"}}}");
+        assertNotNull(plain.error);
+
+        assertSameAsTreeParse("{\"executionTime\":0.01,\"error\":" + APIExceptionJson + "}"); // without "result"
+    }
+
+    @Test
+    public void testUnknownObjectType() throws Exception {
+        assertNull(assertSameAsTreeParse("{\"result\":{\"objectType\":\"KalturaSomethingNew\",\"id\":1}}"));
+
+        List<?> results = (List<?>) assertSameAsTreeParse("{\"result\":[{\"objectType\":\"KalturaSomethingNew\",\"id\":1}," + LoginSessionJson + "]}");
+        assertNull(results.get(0));
+        assertTrue(results.get(1) instanceof KalturaLoginSession);
+    }
+
+    @Test
+    public void testPrimitiveResults() throws Exception {
+        assertEquals("true", assertSameAsTreeParse("{\"result\":true}"));
+        assertEquals("5", assertSameAsTreeParse("{\"result\":5}"));
+        assertEquals("done", assertSameAsTreeParse("{\"result\":\"done\"}"));
+    }
+
+    @Test
+    public void testFieldsAfterResultAreSkipped() throws Exception {
+        Object result = assertSameAsTreeParse("{\"result\":" + LoginSessionJson + ",\"executionTime\":0.01}");
+
+        assertEquals("ks1", ((KalturaLoginSession) result).getKs());
+    }
+}
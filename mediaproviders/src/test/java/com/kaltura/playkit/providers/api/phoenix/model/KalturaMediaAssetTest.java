@@ -0,0 +1,62 @@
+package com.kaltura.playkit.providers.api.phoenix.model;
+
+import com.google.gson.JsonObject;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class KalturaMediaAssetTest extends TestCase {
+
+    private static KalturaRecordingAsset createAsset() {
+        KalturaRecordingAsset asset = new KalturaRecordingAsset();
+        asset.id = 12;
+        asset.name = "name";
+        asset.recordingId = "rec1";
+        asset.tags = new JsonObject();
+        asset.tags.addProperty("Genre", "drama");
+        asset.metas = new JsonObject();
+        asset.metas.addProperty("Year", "2020");
+        asset.images = new ArrayList<>();
+        asset.images.add(new KalturaThumbnail());
+
+        KalturaMediaFile mediaFile = new KalturaMediaFile();
+        mediaFile.setId(3);
+        mediaFile.setUrl("https://cdn/a.m3u8");
+        asset.mediaFiles = new ArrayList<>();
+        asset.mediaFiles.add(mediaFile);
+        return asset;
+    }
+
+    @Test
+    public void testCopyKeepsAssetClassAndFields() {
+        KalturaMediaAsset copy = createAsset().copy();
+
+        assertTrue(copy instanceof KalturaRecordingAsset);
+        assertEquals(12, copy.getId());
+        assertEquals("name", copy.getName());
+        assertEquals("rec1", ((KalturaRecordingAsset) copy).getRecordingId());
+        assertEquals("drama", copy.getTags().get("Genre").getAsString());
+        assertEquals("2020", copy.getMetas().get("Year").getAsString());
+        assertEquals(1, copy.getImages().size());
+        assertEquals("https://cdn/a.m3u8", copy.getMediaFiles().get(0).getUrl());
+    }
+
+    @Test
+    public void testCopySharesNoMutableState() {
+        KalturaRecordingAsset asset = createAsset();
+        KalturaMediaAsset copy = asset.copy();
+
+        copy.getTags().addProperty("Genre", "comedy");
+        copy.getMetas().remove("Year");
+        copy.getImages().clear();
+        copy.getMediaFiles().get(0).setUrl("https://other/b.m3u8");
+
+        assertEquals("drama", asset.getTags().get("Genre").getAsString());
+        assertEquals("2020", asset.getMetas().get("Year").getAsString());
+        assertEquals(1, asset.getImages().size());
+        assertEquals("https://cdn/a.m3u8", asset.getMediaFiles().get(0).getUrl());
+    }
+}
@@ -0,0 +1,60 @@
+package com.kaltura.playkit.providers.api.phoenix.model;
+
+import com.kaltura.playkit.providers.api.base.model.BaseModelAdaptersTest;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import static com.kaltura.playkit.providers.api.base.model.ModelAdapterAsserts.assertRoundTrip;
+
+public class OttModelAdaptersTest extends TestCase {
+
+    private static final String ThumbnailJson = "{\"objectType\":\"KalturaMediaImage\",\"width\":640,\"height\":360,\"version\":2,\"id\":\"img1\",\"url\":\"https://images/img1\",\"ratio\":\"16:9\",\"isDefault\":true}";
+    private static final String MediaFileJson = "{\"objectType\":\"KalturaMediaFile\",\"duration\":120,\"id\":7,\"assetId\":12,\"url\":\"https://cdn/a.m3u8\",\"type\":\"HLS_Main\"}";
+    public static final String AssetFieldsJson = "\"id\":12,\"entryId\":\"0_abc\",\"type\":605,\"endDate\":1700000000,\"startDate\":1600000000,\"externalIds\":\"ext1\",\"name\":\"name\"," +
+            "\"tags\":{\"Genre\":{\"objects\":[{\"value\":\"drama\"}]}},\"metas\":{\"Year\":{\"value\":2020}},\"description\":\"description\",\"enableTrickPlay\":true," +
+            "\"images\":[" + ThumbnailJson + "],\"mediaFiles\":[" + MediaFileJson + "]";
+    public static final String PlaybackSourceJson = "{\"objectType\":\"KalturaPlaybackSource\",\"assetId\":12,\"id\":7,\"type\":\"HLS_Main\",\"duration\":120,\"externalId\":\"ext7\"," +
+            "\"format\":\"applehttp\",\"url\":\"https://cdn/a.m3u8\",\"protocols\":\"https\",\"drm\":[" + BaseModelAdaptersTest.DrmPlaybackPluginDataJson + "]}";
+    private static final String PlaybackCaptionJson = "{\"objectType\":\"KalturaCaptionPlaybackPluginData\",\"label\":\"English\",\"format\":\"vtt\",\"language\":\"eng\",\"url\":\"https://cdn/en.vtt\"}";
+
+    @Test
+    public void testMediaAsset() throws Exception {
+        KalturaMediaAsset asset = assertRoundTrip(OttModelAdapters.MediaAsset, "{\"objectType\":\"KalturaMediaAsset\"," + AssetFieldsJson + "}");
+        assertEquals("https://cdn/a.m3u8", asset.getMediaFiles().get(0).getUrl()); // nested models are bound by Gson
+        assertEquals("drama", asset.getTags().getAsJsonObject("Genre").getAsJsonArray("objects").get(0).getAsJsonObject().get("value").getAsString());
+    }
+
+    @Test
+    public void testLiveAsset() throws Exception {
+        assertRoundTrip(OttModelAdapters.LiveAsset, "{\"objectType\":\"KalturaLiveAsset\"," + AssetFieldsJson + "}");
+    }
+
+    @Test
+    public void testProgramAsset() throws Exception {
+        assertRoundTrip(OttModelAdapters.ProgramAsset, "{\"objectType\":\"KalturaProgramAsset\"," + AssetFieldsJson + "}");
+    }
+
+    @Test
+    public void testRecordingAsset() throws Exception {
+        KalturaRecordingAsset asset = assertRoundTrip(OttModelAdapters.RecordingAsset, "{\"objectType\":\"KalturaRecordingAsset\"," + AssetFieldsJson +
+                ",\"recordingId\":\"rec1\",\"recordingType\":\"SINGLE\",\"enableCatchUp\":true,\"enableCdvr\":true,\"epgId\":\"epg1\",\"epgChannelId\":3," +
+                "\"linearAssetId\":4,\"enableStartOver\":true}");
+        assertEquals(KalturaRecordingType.SINGLE, asset.getRecordingType());
+        assertTrue(asset.isEnableTrickPlay());
+        assertTrue(asset.getEnableTrickPlay());
+    }
+
+    @Test
+    public void testPlaybackSource() throws Exception {
+        assertRoundTrip(OttModelAdapters.PlaybackSource, PlaybackSourceJson);
+    }
+
+    @Test
+    public void testPlaybackContext() throws Exception {
+        assertRoundTrip(OttModelAdapters.PlaybackContext, "{\"objectType\":\"KalturaPlaybackContext\",\"sources\":[" + PlaybackSourceJson + "]," +
+                "\"playbackCaptions\":[" + PlaybackCaptionJson + "],\"actions\":[{\"objectType\":\"KalturaRuleAction\",\"type\":\"BLOCK\"}]," +
+                "\"messages\":[" + BaseModelAdaptersTest.AccessControlMessageJson + "]}");
+    }
+}
@@ -0,0 +1,97 @@
+package com.kaltura.playkit.providers.base;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class AdaptiveChunkSizerTest extends TestCase {
+
+    private static AdaptiveChunkSizer sizer(int initial) {
+        return new AdaptiveChunkSizer(initial, 10, 200, 1000, 100000);
+    }
+
+    @Test
+    public void testGrowthIsAtMostDouble() {
+        AdaptiveChunkSizer sizer = sizer(20);
+
+        sizer.onChunkLoaded(20, 20, 200); // 1ms and 10 chars per item
+        assertEquals(40, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testShrinkIsAtMostHalf() {
+        AdaptiveChunkSizer sizer = sizer(100);
+
+        sizer.onChunkLoaded(100, 100000, 1000); // 1s per item
+        assertEquals(50, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testFollowsTargetLatency() {
+        AdaptiveChunkSizer sizer = sizer(50);
+
+        sizer.onChunkLoaded(50, 1250, 500); // 25ms per item, 40 items in 1s
+        assertEquals(40, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testFollowsTargetResponseSize() {
+        AdaptiveChunkSizer sizer = sizer(50);
+
+        sizer.onChunkLoaded(50, 50, 125000); // 2500 chars per item, 40 items in 100000 chars
+        assertEquals(40, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testStaysWithinBounds() {
+        AdaptiveChunkSizer sizer = sizer(150);
+        sizer.onChunkLoaded(150, 0, 0);
+        assertEquals(200, sizer.getChunkSize());
+
+        sizer = sizer(15);
+        sizer.onChunkLoaded(15, 150000, 0);
+        assertEquals(10, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testIgnoresEmptyChunk() {
+        AdaptiveChunkSizer sizer = sizer(50);
+
+        sizer.onChunkLoaded(0, 100000, 100000);
+        assertEquals(50, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testSmoothsMeasurements() {
+        AdaptiveChunkSizer sizer = sizer(40);
+        sizer.onChunkLoaded(40, 1000, 0); // 25ms per item
+        assertEquals(40, sizer.getChunkSize());
+
+        // a single fast chunk moves the average by 30%: 25 + 0.3 * (5 - 25) = 19ms per item
+        sizer.onChunkLoaded(40, 200, 0);
+        assertEquals(52, sizer.getChunkSize());
+    }
+
+    @Test
+    public void testDefaultBoundsIncludeInitialSize() {
+        assertEquals(5, new AdaptiveChunkSizer(5).getChunkSize());
+        assertEquals(500, new AdaptiveChunkSizer(500).getChunkSize());
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        int[][] configurations = {{5, 10, 200}, {300, 10, 200}, {10, 0, 200}, {50, 100, 20}};
+        for (int[] configuration : configurations) {
+            try {
+                new AdaptiveChunkSizer(configuration[0], configuration[1], configuration[2], 1000, 1000);
+                fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        try {
+            new AdaptiveChunkSizer(50, 10, 200, 0, 1000);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
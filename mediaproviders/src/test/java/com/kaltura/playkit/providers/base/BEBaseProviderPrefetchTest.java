@@ -0,0 +1,136 @@
+package com.kaltura.playkit.providers.base;
+
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BEBaseProviderPrefetchTest extends TestCase {
+
+    private static final long WaitMs = 2000;
+    private static final long HoldBackMs = 300;
+
+    private static class TestProvider extends BEBaseProvider<String> {
+
+        Callable<Void> nextLoader;
+
+        TestProvider() {
+            super("TestProvider");
+        }
+
+        @Override
+        protected ErrorElement validateParams() {
+            return null;
+        }
+
+        @Override
+        protected Callable<Void> createNewLoader(OnCompletion<ResultElement<String>> completion) {
+            return nextLoader;
+        }
+    }
+
+    /**
+     * A loader that reports its start and runs until released.
+     */
+    private static class BlockingLoader implements Callable<Void> {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public Void call() throws InterruptedException {
+            started.countDown();
+            released.await();
+            return null;
+        }
+
+        boolean awaitStarted(long timeoutMs) throws InterruptedException {
+            return started.await(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        boolean hasStarted() {
+            return started.getCount() == 0;
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+
+    private final TestProvider provider = new TestProvider();
+    private final BlockingLoader foreground = new BlockingLoader();
+    private BELoadHandle foregroundLoad;
+
+    @Override
+    protected void tearDown() {
+        foreground.release();
+        provider.cancelPrefetch();
+    }
+
+    private void startForegroundLoad() throws InterruptedException {
+        provider.nextLoader = foreground;
+        foregroundLoad = provider.startLoad(null);
+        assertTrue(foreground.awaitStarted(WaitMs));
+    }
+
+    @Test
+    public void testPrefetchWaitsForForegroundLoads() throws InterruptedException {
+        startForegroundLoad();
+
+        BlockingLoader prefetch = new BlockingLoader();
+        provider.submitPrefetchLoader(prefetch);
+        assertFalse(prefetch.awaitStarted(HoldBackMs));
+
+        foreground.release();
+        assertTrue(prefetch.awaitStarted(WaitMs));
+        prefetch.release();
+    }
+
+    @Test
+    public void testPrefetchesRunOneAtATime() throws InterruptedException {
+        BlockingLoader first = new BlockingLoader();
+        BlockingLoader second = new BlockingLoader();
+        provider.submitPrefetchLoader(first);
+        provider.submitPrefetchLoader(second);
+
+        assertTrue(first.awaitStarted(WaitMs));
+        assertFalse(second.awaitStarted(HoldBackMs));
+
+        first.release();
+        assertTrue(second.awaitStarted(WaitMs));
+        second.release();
+    }
+
+    @Test
+    public void testCancelPrefetchCancelsAllPrefetchesOfProvider() throws InterruptedException {
+        startForegroundLoad();
+
+        BlockingLoader first = new BlockingLoader();
+        BlockingLoader second = new BlockingLoader();
+        BELoadHandle firstHandle = provider.submitPrefetchLoader(first);
+        BELoadHandle secondHandle = provider.submitPrefetchLoader(second);
+
+        TestProvider otherProvider = new TestProvider();
+        BlockingLoader other = new BlockingLoader();
+        otherProvider.submitPrefetchLoader(other);
+
+        provider.cancelPrefetch();
+        assertTrue(firstHandle.isDone());
+        assertTrue(secondHandle.isDone());
+        assertFalse(foregroundLoad.isDone());
+
+        // the prefetches of other providers still run, once the foreground load is done
+        foreground.release();
+        assertTrue(other.awaitStarted(WaitMs));
+        other.release();
+        assertFalse(first.hasStarted());
+        assertFalse(second.hasStarted());
+    }
+}
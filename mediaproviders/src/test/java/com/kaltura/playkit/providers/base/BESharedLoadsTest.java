@@ -0,0 +1,258 @@
+package com.kaltura.playkit.providers.base;
+
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.netkit.utils.SessionProvider;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.api.SimpleSessionProvider;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BESharedLoadsTest extends TestCase {
+
+    private final SessionProvider sessionProvider = new SimpleSessionProvider("https://api.test", 1, "ks");
+
+    /**
+     * Starts fake loaders, keeps their completions so the test decides when they end.
+     */
+    private static class FakeStarter implements BESharedLoads.LoaderStarter<String> {
+
+        final List<OnCompletion<ResultElement<String>>> completions = new ArrayList<>();
+        final List<Runnable> loaderEnds = new ArrayList<>();
+        final List<FakeLoader> loaders = new ArrayList<>();
+
+        @Override
+        public BELoadHandle start(OnCompletion<ResultElement<String>> completion, Runnable onLoaderEnd) {
+            completions.add(completion);
+            loaderEnds.add(onLoaderEnd);
+            FakeLoader loader = new FakeLoader();
+            loaders.add(loader);
+            return loader;
+        }
+
+        void complete(int loader, String result) {
+            completions.get(loader).onComplete(Accessories.buildResult(result, null));
+            loaderEnds.get(loader).run();
+        }
+    }
+
+    private static class FakeLoader implements BELoadHandle {
+
+        boolean canceled;
+
+        @Override
+        public boolean cancel() {
+            canceled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isDone() {
+            return canceled;
+        }
+    }
+
+    private static class Results implements OnCompletion<ResultElement<String>> {
+
+        final List<String> received = new ArrayList<>();
+        final List<ErrorElement> errors = new ArrayList<>();
+
+        @Override
+        public void onComplete(ResultElement<String> result) {
+            received.add(result.getResponse());
+            errors.add(result.getError());
+        }
+    }
+
+    private BESharedLoads.LoadKey key(String requestKey) {
+        return new BESharedLoads.LoadKey(getClass(), sessionProvider, requestKey);
+    }
+
+    @Test
+    public void testIdenticalLoadsShareOneLoader() {
+        FakeStarter starter = new FakeStarter();
+        Results first = new Results();
+        Results second = new Results();
+
+        BEBaseProvider.TrackedLoad<String> firstLoad = BESharedLoads.join(key("a1"), first, starter);
+        BEBaseProvider.TrackedLoad<String> secondLoad = BESharedLoads.join(key("a1"), second, starter);
+        assertEquals(1, starter.loaders.size());
+        assertFalse(firstLoad.isDone());
+
+        starter.complete(0, "entry");
+
+        assertEquals(1, first.received.size());
+        assertEquals("entry", first.received.get(0));
+        assertEquals(1, second.received.size());
+        assertTrue(firstLoad.isDone());
+        assertTrue(secondLoad.isDone());
+        assertFalse(secondLoad.cancel()); // already done
+    }
+
+    @Test
+    public void testDifferentKeysDontShare() {
+        FakeStarter starter = new FakeStarter();
+
+        BESharedLoads.join(key("b1"), new Results(), starter);
+        BESharedLoads.join(key("b2"), new Results(), starter);
+        BESharedLoads.join(new BESharedLoads.LoadKey(getClass(), new SimpleSessionProvider("https://api.test", 1, "ks"), "b1"), new Results(), starter);
+
+        assertEquals(3, starter.loaders.size());
+        for (int i = 0; i < 3; i++) {
+            starter.complete(i, "entry");
+        }
+    }
+
+    @Test
+    public void testCancelOfOneWaiterKeepsTheLoad() {
+        FakeStarter starter = new FakeStarter();
+        Results canceled = new Results();
+        Results waiting = new Results();
+
+        BEBaseProvider.TrackedLoad<String> canceledLoad = BESharedLoads.join(key("c1"), canceled, starter);
+        BESharedLoads.join(key("c1"), waiting, starter);
+
+        assertTrue(canceledLoad.cancel());
+        assertTrue(canceledLoad.isCancelled());
+        assertFalse(starter.loaders.get(0).canceled);
+
+        starter.complete(0, "entry");
+        assertTrue(canceled.received.isEmpty());
+        assertEquals(1, waiting.received.size());
+    }
+
+    @Test
+    public void testCancelOfLastWaiterCancelsTheLoader() {
+        FakeStarter starter = new FakeStarter();
+        Results first = new Results();
+        Results second = new Results();
+
+        BEBaseProvider.TrackedLoad<String> firstLoad = BESharedLoads.join(key("d1"), first, starter);
+        BEBaseProvider.TrackedLoad<String> secondLoad = BESharedLoads.join(key("d1"), second, starter);
+        firstLoad.cancel();
+        secondLoad.cancel();
+
+        assertTrue(starter.loaders.get(0).canceled);
+
+        // the canceled load is not joined anymore
+        Results third = new Results();
+        BESharedLoads.join(key("d1"), third, starter);
+        assertEquals(2, starter.loaders.size());
+
+        starter.complete(0, "late");
+        starter.complete(1, "entry");
+        assertTrue(first.received.isEmpty());
+        assertTrue(second.received.isEmpty());
+        assertEquals(1, third.received.size());
+        assertEquals("entry", third.received.get(0));
+    }
+
+    @Test
+    public void testCompletedLoadIsNotJoined() {
+        FakeStarter starter = new FakeStarter();
+
+        BESharedLoads.join(key("e1"), new Results(), starter);
+        starter.complete(0, "entry");
+        BESharedLoads.join(key("e1"), new Results(), starter);
+
+        assertEquals(2, starter.loaders.size());
+        starter.complete(1, "entry");
+    }
+
+    @Test
+    public void testLoaderEndWithoutResultFailsWaiters() {
+        FakeStarter starter = new FakeStarter();
+        Results first = new Results();
+        Results second = new Results();
+
+        BESharedLoads.join(key("f1"), first, starter);
+        BESharedLoads.join(key("f1"), second, starter);
+        starter.loaderEnds.get(0).run(); // e.g the loader thread was interrupted
+
+        assertNull(first.received.get(0));
+        assertNotNull(first.errors.get(0));
+        assertNotNull(second.errors.get(0));
+
+        // the ended load is not joined anymore, and a late result is dropped
+        Results third = new Results();
+        BESharedLoads.join(key("f1"), third, starter);
+        assertEquals(2, starter.loaders.size());
+        starter.complete(0, "late");
+        assertEquals(1, first.received.size());
+        assertTrue(third.received.isEmpty());
+        starter.complete(1, "entry");
+        assertEquals("entry", third.received.get(0));
+    }
+
+    @Test
+    public void testFailedStartIsNotJoined() {
+        final RuntimeException rejected = new RuntimeException("rejected");
+        Results first = new Results();
+        try {
+            BESharedLoads.join(key("g1"), first, (completion, onLoaderEnd) -> {
+                throw rejected;
+            });
+            fail("expected the start exception");
+        } catch (RuntimeException e) {
+            assertSame(rejected, e);
+        }
+        assertTrue(first.received.isEmpty()); // the starting load got the exception
+
+        FakeStarter starter = new FakeStarter();
+        Results second = new Results();
+        BESharedLoads.join(key("g1"), second, starter);
+        assertEquals(1, starter.loaders.size());
+        starter.complete(0, "entry");
+        assertEquals("entry", second.received.get(0));
+    }
+
+    @Test
+    public void testLoadsJoinedDuringStartFailWithIt() {
+        final Results joined = new Results();
+        Results first = new Results();
+        try {
+            BESharedLoads.join(key("h1"), first, (completion, onLoaderEnd) -> {
+                BESharedLoads.join(key("h1"), joined, new FakeStarter());
+                throw new IllegalStateException("rejected");
+            });
+            fail("expected the start exception");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(1, joined.errors.size());
+        assertNotNull(joined.errors.get(0));
+        assertTrue(first.received.isEmpty());
+    }
+
+    @Test
+    public void testEachJoinedLoadGetsItsOwnEntry() {
+        final List<OnCompletion<ResultElement<PKMediaEntry>>> completions = new ArrayList<>();
+        BESharedLoads.LoaderStarter<PKMediaEntry> starter = (completion, onLoaderEnd) -> {
+            completions.add(completion);
+            return new FakeLoader();
+        };
+        final List<PKMediaEntry> received = new ArrayList<>();
+        OnCompletion<ResultElement<PKMediaEntry>> receiver = result -> received.add(result.getResponse());
+
+        BESharedLoads.join(key("i1"), receiver, starter);
+        BESharedLoads.join(key("i1"), receiver, starter);
+        BESharedLoads.join(key("i1"), receiver, starter);
+        PKMediaEntry entry = new PKMediaEntry().setId("i1");
+        completions.get(0).onComplete(Accessories.buildResult(entry, null));
+
+        assertEquals(1, completions.size());
+        assertEquals(3, received.size());
+        assertSame(entry, received.get(0));
+        assertNotSame(entry, received.get(1));
+        assertNotSame(received.get(1), received.get(2));
+        assertEquals("i1", received.get(1).getId());
+        assertEquals("i1", received.get(2).getId());
+    }
+}
@@ -0,0 +1,99 @@
+package com.kaltura.playkit.providers.base;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class KsInfoTest extends TestCase {
+
+    private static final String Signature = "0123456789abcdef0123456789abcdef01234567";
+
+    private static String v1(long expiry, String privileges) {
+        return Signature + "|1234;1234;" + expiry + ";0;987654;user@mail.com;" + privileges + ";;";
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    @Test
+    public void testV1Fields() {
+        long expiry = now() + 3600;
+        KsInfo ksInfo = KsInfo.parseDecoded(v1(expiry, "sview:*,disableentitlement"));
+
+        assertNotNull(ksInfo);
+        assertEquals(1, ksInfo.getVersion());
+        assertEquals(1234, ksInfo.getPartnerId());
+        assertEquals(expiry, ksInfo.getExpiry());
+        assertEquals(0, ksInfo.getType());
+        assertEquals("user@mail.com", ksInfo.getUserId());
+        assertEquals(2, ksInfo.getPrivileges().size());
+        assertTrue(ksInfo.hasPrivilege("sview"));
+        assertTrue(ksInfo.hasPrivilege("disableentitlement"));
+        assertFalse(ksInfo.hasPrivilege("edit"));
+    }
+
+    @Test
+    public void testV1WithoutPrivileges() {
+        KsInfo ksInfo = KsInfo.parseDecoded(v1(now() + 3600, ""));
+
+        assertNotNull(ksInfo);
+        assertTrue(ksInfo.getPrivileges().isEmpty());
+    }
+
+    @Test
+    public void testV1Expiry() {
+        KsInfo valid = KsInfo.parseDecoded(v1(now() + 3600, ""));
+        KsInfo expired = KsInfo.parseDecoded(v1(now() - 600, ""));
+
+        assertFalse(valid.isExpired(0));
+        assertTrue(valid.getTimeToExpiryMs() > 0 && valid.getTimeToExpiryMs() <= 3600 * 1000);
+        assertTrue(expired.isExpired(0));
+        assertTrue(expired.isExpired(300));
+        assertFalse(expired.isExpired(3600)); // within the tolerance
+        assertTrue(expired.getTimeToExpiryMs() < 0);
+    }
+
+    @Test
+    public void testV2PartnerOnly() {
+        KsInfo ksInfo = KsInfo.parseDecoded("v2|4321|\u0001\u00ff\u0010encrypted");
+
+        assertNotNull(ksInfo);
+        assertEquals(2, ksInfo.getVersion());
+        assertEquals(4321, ksInfo.getPartnerId());
+        assertEquals(0, ksInfo.getExpiry());
+        assertEquals(-1, ksInfo.getType());
+        assertNull(ksInfo.getUserId());
+        assertTrue(ksInfo.getPrivileges().isEmpty());
+        assertFalse(ksInfo.isExpired(0));
+        assertEquals(Long.MAX_VALUE, ksInfo.getTimeToExpiryMs());
+    }
+
+    @Test
+    public void testUnrecognizedFormats() {
+        assertNull(KsInfo.parseDecoded("v2|notanumber|data"));
+        assertNull(KsInfo.parseDecoded("v2|4321"));
+        assertNull(KsInfo.parseDecoded("short|1234;1234;0;0;1;user"));
+        assertNull(KsInfo.parseDecoded(Signature + "|1234;1234;" + (now() + 3600) + ";0")); // too few fields
+        assertNull(KsInfo.parseDecoded(Signature + "|1234;1234;soon;0;1;user;;")); // bad expiry
+    }
+
+    @Test
+    public void testSessionIdentity() {
+        KsInfo ksInfo = KsInfo.parseDecoded(v1(now() + 3600, "sview:*,disableentitlement"));
+        KsInfo renewed = KsInfo.parseDecoded(v1(now() + 7200, "disableentitlement,sview:*"));
+        KsInfo otherPrivileges = KsInfo.parseDecoded(v1(now() + 3600, "sview:0_abc"));
+        KsInfo otherUser = KsInfo.parseDecoded(Signature + "|1234;1234;" + (now() + 3600) + ";0;987654;other@mail.com;sview:*,disableentitlement;;");
+
+        assertNotNull(ksInfo.getSessionIdentity());
+        assertEquals(ksInfo.getSessionIdentity(), renewed.getSessionIdentity());
+        assertFalse(ksInfo.getSessionIdentity().equals(otherPrivileges.getSessionIdentity()));
+        assertFalse(ksInfo.getSessionIdentity().equals(otherUser.getSessionIdentity()));
+    }
+
+    @Test
+    public void testSessionIdentityFallsBackToKs() {
+        assertNull(KsInfo.parseDecoded("v2|4321|\u0001\u00ff\u0010encrypted").getSessionIdentity());
+        assertEquals("not a ks", KsInfo.getSessionIdentity("not a ks"));
+    }
+}
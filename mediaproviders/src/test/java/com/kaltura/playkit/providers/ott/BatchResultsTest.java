@@ -0,0 +1,164 @@
+package com.kaltura.playkit.providers.ott;
+
+import com.google.gson.Gson;
+import com.kaltura.netkit.connect.response.BaseResult;
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaLoginSession;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaPlaybackContext;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BatchResultsTest extends TestCase {
+
+    private static class Delivered implements OnCompletion<List<ResultElement<PKMediaEntry>>> {
+
+        List<ResultElement<PKMediaEntry>> results;
+        int count;
+
+        @Override
+        public void onComplete(List<ResultElement<PKMediaEntry>> results) {
+            this.results = results;
+            count++;
+        }
+    }
+
+    /**
+     * Builds an entry named after the ids of the results it got, to check their alignment.
+     */
+    private static final BatchResults.EntryBuilder EntryBuilder = (index, playbackContext, asset) ->
+            Accessories.buildResult(new PKMediaEntry().setId(index + ":" + asset.getId()), null);
+
+    private final Delivered delivered = new Delivered();
+
+    private static List<ResultElement<PKMediaEntry>> pending(int count) {
+        List<ResultElement<PKMediaEntry>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(null);
+        }
+        return results;
+    }
+
+    private static KalturaMediaAsset asset(int id) {
+        return new Gson().fromJson("{\"id\":" + id + "}", KalturaMediaAsset.class);
+    }
+
+    private static BaseResult failed(String code) {
+        return new BaseResult(new ErrorElement("failed " + code, code));
+    }
+
+    private static KalturaLoginSession login() {
+        return new KalturaLoginSession();
+    }
+
+    @Test
+    public void testLayoutWithSharedLogin() {
+        List<ResultElement<PKMediaEntry>> results = pending(3);
+        results.set(1, Accessories.buildResult(null, ErrorElement.BadRequestError));
+        BatchResults batchResults = new BatchResults(results, delivered);
+
+        assertEquals(Arrays.asList(0, 2), batchResults.layout(true));
+        assertTrue(batchResults.isRequested(0));
+        assertFalse(batchResults.isRequested(1));
+        assertTrue(batchResults.isRequested(2));
+
+        KalturaLoginSession login = login();
+        assertSame(login, batchResults.getLoginResult(Arrays.asList(login, new KalturaPlaybackContext(), asset(1))));
+    }
+
+    @Test
+    public void testLayoutWithoutLogin() {
+        BatchResults batchResults = new BatchResults(pending(2), delivered);
+
+        assertEquals(Arrays.asList(0, 1), batchResults.layout(false));
+        assertNull(batchResults.getLoginResult(Arrays.asList(new KalturaPlaybackContext(), asset(1))));
+
+        batchResults.setResults(Arrays.asList(new KalturaPlaybackContext(), asset(1), new KalturaPlaybackContext(), asset(2)), EntryBuilder);
+        assertEquals("0:1", batchResults.getResult(0).getResponse().getId());
+        assertEquals("1:2", batchResults.getResult(1).getResponse().getId());
+    }
+
+    @Test
+    public void testResultsFollowAssetOrder() {
+        List<ResultElement<PKMediaEntry>> results = pending(3);
+        ResultElement<PKMediaEntry> invalid = Accessories.buildResult(null, ErrorElement.BadRequestError);
+        results.set(1, invalid);
+        BatchResults batchResults = new BatchResults(results, delivered);
+        batchResults.layout(true);
+
+        batchResults.setResults(Arrays.asList(login(), new KalturaPlaybackContext(), asset(10), new KalturaPlaybackContext(), asset(30)), EntryBuilder);
+        batchResults.deliver();
+
+        assertEquals(1, delivered.count);
+        assertEquals(3, delivered.results.size());
+        assertEquals("0:10", delivered.results.get(0).getResponse().getId());
+        assertSame(invalid, delivered.results.get(1));
+        assertEquals("2:30", delivered.results.get(2).getResponse().getId());
+    }
+
+    @Test
+    public void testPerAssetErrors() {
+        BatchResults batchResults = new BatchResults(pending(3), delivered);
+        batchResults.layout(true);
+
+        batchResults.setResults(Arrays.asList(login(),
+                failed("3039"), asset(10),
+                new KalturaPlaybackContext(), asset(20),
+                new KalturaPlaybackContext(), failed("500007")), EntryBuilder);
+
+        assertEquals("3039", batchResults.getResult(0).getError().getCode());
+        assertNull(batchResults.getResult(0).getResponse());
+        assertNull(batchResults.getResult(1).getError());
+        assertEquals("1:20", batchResults.getResult(1).getResponse().getId());
+        assertEquals("500007", batchResults.getResult(2).getError().getCode());
+    }
+
+    @Test
+    public void testMissingResultsFailTheirAssets() {
+        BatchResults batchResults = new BatchResults(pending(2), delivered);
+        batchResults.layout(false);
+
+        batchResults.setResults(Arrays.asList(new KalturaPlaybackContext(), asset(10), new KalturaPlaybackContext()), EntryBuilder);
+
+        assertEquals("0:10", batchResults.getResult(0).getResponse().getId());
+        assertNotNull(batchResults.getResult(1).getError());
+        assertNull(batchResults.getResult(1).getResponse());
+    }
+
+    @Test
+    public void testFailedLoginFailsAllAssets() {
+        BatchResults batchResults = new BatchResults(pending(2), delivered);
+        batchResults.layout(true);
+
+        batchResults.setResults(Arrays.asList(failed("1003"), new KalturaPlaybackContext(), asset(10), new KalturaPlaybackContext(), asset(20)), EntryBuilder);
+
+        assertEquals("1003", batchResults.getResult(0).getError().getCode());
+        assertEquals("1003", batchResults.getResult(1).getError().getCode());
+    }
+
+    @Test
+    public void testLoaderFailureFailsPendingAssetsOnly() {
+        List<ResultElement<PKMediaEntry>> results = pending(3);
+        ResultElement<PKMediaEntry> cached = Accessories.buildResult(new PKMediaEntry().setId("cached"), null);
+        results.set(0, cached);
+        BatchResults batchResults = new BatchResults(results, delivered);
+
+        ErrorElement error = ErrorElement.SessionError.message("no ks");
+        batchResults.onComplete(Accessories.buildResult(null, error));
+
+        assertEquals(1, delivered.count);
+        assertSame(cached, delivered.results.get(0));
+        assertSame(error, delivered.results.get(1).getError());
+        assertSame(error, delivered.results.get(2).getError());
+    }
+}
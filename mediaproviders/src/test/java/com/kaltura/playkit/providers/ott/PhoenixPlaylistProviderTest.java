@@ -0,0 +1,249 @@
+package com.kaltura.playkit.providers.ott;
+
+import com.kaltura.netkit.connect.executor.RequestQueue;
+import com.kaltura.netkit.connect.request.RequestConfiguration;
+import com.kaltura.netkit.connect.request.RequestElement;
+import com.kaltura.netkit.connect.response.ResponseElement;
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.Accessories;
+import com.kaltura.netkit.utils.NetworkErrorEventListener;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.PKPlaylist;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.providers.PlaylistMetadata;
+import com.kaltura.playkit.providers.api.SimpleSessionProvider;
+import com.kaltura.playkit.providers.base.BEPlaylistMediaListener;
+import com.kaltura.playkit.providers.base.MediaEntryCache;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PhoenixPlaylistProviderTest extends TestCase {
+
+    private static final long WaitMs = 2000;
+    private static final String BaseUrl = "https://api.test/api_v3/";
+
+    /**
+     * Keeps the queued requests, the test passes their responses.
+     */
+    private static class FakeQueue implements RequestQueue {
+
+        final List<RequestElement> requests = Collections.synchronizedList(new ArrayList<RequestElement>());
+
+        @Override
+        public void setRequestConfiguration(RequestConfiguration config) {
+        }
+
+        @Override
+        public String queue(RequestElement request) {
+            requests.add(request);
+            return String.valueOf(requests.size());
+        }
+
+        @Override
+        public String queue(RequestElement request, int retryCount) {
+            return queue(request);
+        }
+
+        @Override
+        public ResponseElement execute(RequestElement request) {
+            return null;
+        }
+
+        @Override
+        public void cancelRequest(String reqId) {
+        }
+
+        @Override
+        public void clearRequests() {
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return requests.isEmpty();
+        }
+
+        @Override
+        public void setNetworkErrorEventListener(NetworkErrorEventListener networkErrorEventListener) {
+        }
+
+        // requests are queued by the loader thread
+        RequestElement awaitRequest(int index) throws InterruptedException {
+            long end = System.currentTimeMillis() + WaitMs;
+            while (requests.size() <= index && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertTrue("request " + index + " was not queued", requests.size() > index);
+            return requests.get(index);
+        }
+    }
+
+    /**
+     * Records the playlist medias and the load completion, in the order they were passed.
+     */
+    private static class Events implements BEPlaylistMediaListener, OnCompletion<ResultElement<PKPlaylist>> {
+
+        final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch completed = new CountDownLatch(1);
+        ResultElement<PKPlaylist> result;
+
+        @Override
+        public void onPlaylistMedia(int index, PKPlaylistMedia playlistMedia) {
+            received.add(index + ":" + playlistMedia.getId());
+        }
+
+        @Override
+        public void onComplete(ResultElement<PKPlaylist> result) {
+            this.result = result;
+            received.add("completed");
+            completed.countDown();
+        }
+    }
+
+    private final FakeQueue queue = new FakeQueue();
+    private final Events events = new Events();
+    private PhoenixPlaylistProvider provider;
+
+    private static String assetJson(String id) {
+        return "{\"objectType\":\"KalturaMediaAsset\",\"id\":" + id + ",\"name\":\"asset " + id + "\",\"mediaFiles\":[{\"objectType\":\"KalturaMediaFile\",\"id\":1,\"duration\":10}]}";
+    }
+
+    private static String errorJson(String code) {
+        return "{\"objectType\":\"KalturaAPIException\",\"code\":\"" + code + "\",\"message\":\"asset not found\"}";
+    }
+
+    private static String playbackContextJson(String id) {
+        return "{\"objectType\":\"KalturaPlaybackContext\",\"sources\":[{\"objectType\":\"KalturaPlaybackSource\",\"id\":" + id +
+                ",\"type\":\"HD\",\"format\":\"applehttp\",\"url\":\"https://cdn.test/" + id + ".m3u8\",\"duration\":10}]}";
+    }
+
+    private static void respond(RequestElement request, String... results) {
+        request.onComplete(Accessories.buildResponse("{\"result\":[" + String.join(",", results) + "]}", null));
+    }
+
+    private static List<OTTMediaAsset> assets(String... assetIds) {
+        List<OTTMediaAsset> mediaAssets = new ArrayList<>();
+        for (String assetId : assetIds) {
+            mediaAssets.add(new OTTMediaAsset().setAssetId(assetId).setProtocol(PhoenixMediaProvider.HttpProtocol.All));
+        }
+        return mediaAssets;
+    }
+
+    /**
+     * @return - the entry a media provider load of the asset would find in the cache.
+     */
+    private static PKMediaEntry getCachedEntry(MediaEntryCache mediaEntryCache, OTTMediaAsset mediaAsset) {
+        OTTMediaAsset loadAsset = PhoenixMediaProvider.applyDefaults(new OTTMediaAsset(mediaAsset));
+        return mediaEntryCache.get(PhoenixMediaProvider.getCacheKey(new SimpleSessionProvider(BaseUrl, 1, "ks1"), loadAsset), "ks1");
+    }
+
+    private void createProvider(List<OTTMediaAsset> mediaAssets) {
+        provider = new PhoenixPlaylistProvider(BaseUrl, 1, "ks1")
+                .setPlaylistParams(new PlaylistMetadata().setId("p1"), mediaAssets)
+                .setRequestExecutor(queue)
+                .setPlaylistMediaListener(events);
+    }
+
+    @Test
+    public void testChunkMediasArePassedAsChunksArrive() throws InterruptedException {
+        createProvider(assets("1", "2", "3", "4", "5"));
+        // all three chunks go out at once
+        provider.setChunkSize(2).setMaxParallelChunks(3).load(events);
+
+        RequestElement first = queue.awaitRequest(0);
+        RequestElement second = queue.awaitRequest(1);
+        RequestElement last = queue.awaitRequest(2);
+
+        respond(last, assetJson("5"));
+        assertEquals(Arrays.asList("4:5"), events.received);
+
+        respond(first, assetJson("1"), assetJson("2"));
+        assertEquals(Arrays.asList("4:5", "0:1", "1:2"), events.received);
+
+        // a failed asset leaves a null slot, and is not passed
+        respond(second, assetJson("3"), errorJson("500007"));
+        assertTrue(events.completed.await(WaitMs, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList("4:5", "0:1", "1:2", "2:3", "completed"), events.received);
+
+        List<PKPlaylistMedia> mediaList = events.result.getResponse().getMediaList();
+        assertEquals(5, mediaList.size());
+        assertEquals("3", mediaList.get(2).getId());
+        assertNull(mediaList.get(3));
+        assertEquals("5", mediaList.get(4).getId());
+    }
+
+    @Test
+    public void testSingleRequestMediasArePassedBeforeCompletion() throws InterruptedException {
+        createProvider(assets("1", "2"));
+        provider.setChunkSize(0).load(events);
+
+        respond(queue.awaitRequest(0), errorJson("500007"), assetJson("2"));
+        assertTrue(events.completed.await(WaitMs, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList("1:2", "completed"), events.received);
+    }
+
+    @Test
+    public void testCanceledLoadPassesNoMoreMedias() throws InterruptedException {
+        createProvider(assets("1", "2", "3", "4"));
+        // an async load is canceled right away, a blocking one once its thread handles the interrupt
+        provider.setAsyncLoad(true).setChunkSize(2).setMaxParallelChunks(2).load(events);
+
+        RequestElement first = queue.awaitRequest(0);
+        RequestElement second = queue.awaitRequest(1);
+        respond(first, assetJson("1"), assetJson("2"));
+
+        provider.cancel();
+        respond(second, assetJson("3"), assetJson("4"));
+        assertEquals(Arrays.asList("0:1", "1:2"), events.received);
+    }
+
+    @Test
+    public void testPlayableEntriesAreCached() throws InterruptedException {
+        List<OTTMediaAsset> mediaAssets = assets("1", "2", "3", "4");
+        mediaAssets.get(2).setKs("ks-own");
+        MediaEntryCache mediaEntryCache = new MediaEntryCache();
+        createProvider(mediaAssets);
+        provider.setChunkSize(0).setPlayableEntries(3, mediaEntryCache).load(events);
+
+        // the playback contexts of the playable assets follow the asset.get results
+        respond(queue.awaitRequest(0), assetJson("1"), assetJson("2"), assetJson("3"), assetJson("4"),
+                playbackContextJson("1"), errorJson("3039"), playbackContextJson("3"));
+        assertTrue(events.completed.await(WaitMs, TimeUnit.MILLISECONDS));
+
+        PKMediaEntry entry = getCachedEntry(mediaEntryCache, mediaAssets.get(0));
+        assertEquals("1", entry.getId());
+        assertEquals("https://cdn.test/1.m3u8", entry.getSources().get(0).getUrl());
+        assertNull(getCachedEntry(mediaEntryCache, mediaAssets.get(1))); // failed playback context
+        assertEquals(1, mediaEntryCache.size()); // an asset with its own ks, and one beyond the playable count
+    }
+
+    @Test
+    public void testPlayableEntriesOfChunkFollowPlaylistIndex() throws InterruptedException {
+        List<OTTMediaAsset> mediaAssets = assets("1", "2", "3", "4");
+        MediaEntryCache mediaEntryCache = new MediaEntryCache();
+        createProvider(mediaAssets);
+        provider.setChunkSize(2).setMaxParallelChunks(2).setPlayableEntries(3, mediaEntryCache).load(events);
+
+        RequestElement first = queue.awaitRequest(0);
+        RequestElement second = queue.awaitRequest(1);
+        // only the first asset of the second chunk is playable
+        respond(second, assetJson("3"), assetJson("4"), playbackContextJson("3"));
+        assertEquals("3", getCachedEntry(mediaEntryCache, mediaAssets.get(2)).getId());
+        assertNull(getCachedEntry(mediaEntryCache, mediaAssets.get(3)));
+
+        respond(first, assetJson("1"), assetJson("2"), playbackContextJson("1"), playbackContextJson("2"));
+        assertTrue(events.completed.await(WaitMs, TimeUnit.MILLISECONDS));
+        assertEquals("1", getCachedEntry(mediaEntryCache, mediaAssets.get(0)).getId());
+        assertEquals("2", getCachedEntry(mediaEntryCache, mediaAssets.get(1)).getId());
+        assertEquals(3, mediaEntryCache.size());
+    }
+}
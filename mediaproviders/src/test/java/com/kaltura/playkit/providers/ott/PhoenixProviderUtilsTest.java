@@ -0,0 +1,30 @@
+package com.kaltura.playkit.providers.ott;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import static com.kaltura.playkit.providers.ott.PhoenixProviderUtils.keepLastResults;
+
+public class PhoenixProviderUtilsTest extends TestCase {
+
+    @Test
+    public void testKeepLastResultsDropsLogin() {
+        String response = "{\"executionTime\":0.1,\"result\":[{\"objectType\":\"KalturaLoginSession\",\"ks\":\"secret\",\"refreshToken\":\"token\"}," +
+                "{\"objectType\":\"KalturaPlaybackContext\"},{\"objectType\":\"KalturaMediaAsset\",\"id\":1}]}";
+
+        String stored = keepLastResults(response, 2);
+        assertFalse(stored.contains("secret"));
+        assertFalse(stored.contains("token"));
+        assertEquals("{\"result\":[{\"objectType\":\"KalturaPlaybackContext\"},{\"objectType\":\"KalturaMediaAsset\",\"id\":1}]}", stored);
+    }
+
+    @Test
+    public void testKeepLastResultsKeepsShorterResponses() {
+        String response = "{\"result\":[{\"objectType\":\"KalturaPlaybackContext\"},{\"objectType\":\"KalturaMediaAsset\",\"id\":1}]}";
+        assertSame(response, keepLastResults(response, 2));
+
+        String single = "{\"result\":{\"objectType\":\"KalturaMediaAsset\",\"id\":1}}";
+        assertSame(single, keepLastResults(single, 2));
+    }
+}
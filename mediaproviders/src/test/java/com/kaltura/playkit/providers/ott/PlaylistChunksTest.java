@@ -0,0 +1,115 @@
+package com.kaltura.playkit.providers.ott;
+
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.providers.api.phoenix.model.KalturaMediaAsset;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlaylistChunksTest extends TestCase {
+
+    private final KalturaMediaAsset[] playlistAssets = new KalturaMediaAsset[5];
+    private final PKPlaylistMedia[] playlistMedia = new PKPlaylistMedia[5];
+
+    @Override
+    protected void setUp() {
+        for (int i = 0; i < playlistAssets.length; i++) {
+            playlistAssets[i] = new KalturaMediaAsset();
+            playlistMedia[i] = new PKPlaylistMedia().setId(String.valueOf(i));
+        }
+    }
+
+    private List<KalturaMediaAsset> assets(int start, int end) {
+        return new ArrayList<>(Arrays.asList(playlistAssets).subList(start, end));
+    }
+
+    private List<PKPlaylistMedia> media(int start, int end) {
+        return new ArrayList<>(Arrays.asList(playlistMedia).subList(start, end));
+    }
+
+    @Test
+    public void testChunkRanges() {
+        PlaylistChunks chunks = new PlaylistChunks(5);
+
+        assertRange(0, 2, chunks.next(2));
+        assertRange(2, 5, chunks.next(3));
+        assertNull(chunks.next(3));
+    }
+
+    @Test
+    public void testMergesOutOfOrderChunksByPosition() {
+        PlaylistChunks chunks = new PlaylistChunks(5);
+        chunks.next(2);
+        chunks.next(2);
+        chunks.next(2);
+
+        assertFalse(chunks.onChunkLoaded(4, assets(4, 5), media(4, 5)));
+        assertFalse(chunks.onChunkLoaded(0, assets(0, 2), media(0, 2)));
+        assertTrue(chunks.onChunkLoaded(2, assets(2, 4), media(2, 4)));
+
+        assertEquals(3, chunks.getLoadedChunks());
+        assertNull(chunks.getError());
+        for (int i = 0; i < 5; i++) {
+            assertSame(playlistAssets[i], chunks.getAssets().get(i));
+            assertSame(playlistMedia[i], chunks.getMedia().get(i));
+        }
+    }
+
+    @Test
+    public void testFailedChunkLeavesNullSlots() {
+        PlaylistChunks chunks = new PlaylistChunks(4);
+        chunks.next(2);
+        chunks.next(2);
+
+        assertFalse(chunks.onChunkFailed(ErrorElement.LoadError));
+        assertTrue(chunks.onChunkLoaded(2, assets(2, 4), media(2, 4)));
+
+        assertEquals(1, chunks.getLoadedChunks());
+        assertSame(ErrorElement.LoadError, chunks.getError());
+        List<KalturaMediaAsset> assets = chunks.getAssets();
+        List<PKPlaylistMedia> media = chunks.getMedia();
+        assertEquals(4, assets.size());
+        assertNull(assets.get(0));
+        assertNull(assets.get(1));
+        assertNull(media.get(0));
+        assertNull(media.get(1));
+        assertSame(playlistAssets[2], assets.get(2));
+        assertSame(playlistMedia[3], media.get(3));
+    }
+
+    @Test
+    public void testKeepsFirstError() {
+        PlaylistChunks chunks = new PlaylistChunks(2);
+        chunks.next(1);
+        chunks.next(1);
+
+        assertFalse(chunks.onChunkFailed(ErrorElement.SessionError));
+        assertTrue(chunks.onChunkFailed(ErrorElement.LoadError));
+
+        assertEquals(0, chunks.getLoadedChunks());
+        assertSame(ErrorElement.SessionError, chunks.getError());
+    }
+
+    @Test
+    public void testNotDoneWhileChunksRemain() {
+        PlaylistChunks chunks = new PlaylistChunks(4);
+        chunks.next(2);
+
+        // the only pending chunk is done, but [2, 4) wasn't requested yet
+        assertFalse(chunks.onChunkLoaded(0, assets(0, 2), media(0, 2)));
+        chunks.next(2);
+        assertTrue(chunks.onChunkLoaded(2, assets(2, 4), media(2, 4)));
+    }
+
+    private static void assertRange(int start, int end, int[] range) {
+        assertNotNull(range);
+        assertEquals(start, range[0]);
+        assertEquals(end, range[1]);
+    }
+}
@@ -0,0 +1,113 @@
+package com.kaltura.playkit.providers.ovp;
+
+import com.kaltura.playkit.PKDrmParams;
+import com.kaltura.playkit.PKMediaEntry;
+import com.kaltura.playkit.PKMediaFormat;
+import com.kaltura.playkit.PKMediaSource;
+import com.kaltura.playkit.providers.MediaProvidersUtils;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.KsSlot;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.fillKsSlot;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.fillKsSlots;
+import static com.kaltura.playkit.providers.ovp.KalturaOvpProviderUtils.keepLastResults;
+
+public class KalturaOvpProviderUtilsTest extends TestCase {
+
+    private static final String PathUrl = "https://cdn/p/1/sp/100/playManifest/entryId/0_abc/format/url/protocol/https/ks/" + KsSlot + "/a.mp4";
+    private static final String QueryUrl = "https://cdn/api_v3/index.php?service=caption&id=1&ks=" + KsSlot;
+
+    @Test
+    public void testFillKsSlotSetsKs() {
+        assertEquals("https://cdn/p/1/sp/100/playManifest/entryId/0_abc/format/url/protocol/https/ks/myks/a.mp4", fillKsSlot(PathUrl, "myks"));
+        assertEquals("https://cdn/api_v3/index.php?service=caption&id=1&ks=myks", fillKsSlot(QueryUrl, "myks"));
+    }
+
+    @Test
+    public void testFillKsSlotRemovesSlotWithoutKs() {
+        assertEquals("https://cdn/p/1/sp/100/playManifest/entryId/0_abc/format/url/protocol/https/a.mp4", fillKsSlot(PathUrl, ""));
+        assertEquals("https://cdn/api_v3/index.php?service=caption&id=1", fillKsSlot(QueryUrl, null));
+    }
+
+    @Test
+    public void testFillKsSlotKeepsUrlWithoutSlot() {
+        String url = "https://cdn/p/1/playManifest/entryId/0_abc/a.mp4";
+        assertSame(url, fillKsSlot(url, "myks"));
+        assertNull(fillKsSlot(null, "myks"));
+    }
+
+    @Test
+    public void testFillKsSlotsOnCopyKeepsTemplate() {
+        PKMediaEntry template = createTemplate();
+
+        PKMediaEntry mediaEntry = fillKsSlots(MediaProvidersUtils.copyMediaEntry(template), "myks");
+
+        assertNotSame(template, mediaEntry);
+        assertEquals(PathUrl, template.getSources().get(0).getUrl());
+        assertEquals(fillKsSlot(PathUrl, "myks"), mediaEntry.getSources().get(0).getUrl());
+    }
+
+    @Test
+    public void testCopyMediaEntry() {
+        PKMediaEntry template = createTemplate();
+
+        PKMediaEntry mediaEntry = MediaProvidersUtils.copyMediaEntry(template);
+
+        assertEquals("0_abc", mediaEntry.getId());
+        assertEquals("name", mediaEntry.getName());
+        assertEquals(60000, mediaEntry.getDuration());
+        assertEquals(PKMediaEntry.MediaEntryType.Vod, mediaEntry.getMediaType());
+        assertEquals(template.getMetadata(), mediaEntry.getMetadata());
+        assertNotSame(template.getMetadata(), mediaEntry.getMetadata());
+
+        PKMediaSource source = mediaEntry.getSources().get(0);
+        PKMediaSource templateSource = template.getSources().get(0);
+        assertNotSame(templateSource, source);
+        assertEquals("0_abc_1", source.getId());
+        assertEquals(PathUrl, source.getUrl());
+        assertEquals(PKMediaFormat.dash, source.getMediaFormat());
+        assertEquals(1, source.getDrmData().size());
+        assertNotSame(templateSource.getDrmData().get(0), source.getDrmData().get(0));
+        assertEquals("https://license", source.getDrmData().get(0).getLicenseUri());
+        assertEquals(PKDrmParams.Scheme.WidevineCENC, source.getDrmData().get(0).getScheme());
+    }
+
+    private static PKMediaEntry createTemplate() {
+        PKMediaSource source = new PKMediaSource().setId("0_abc_1").setUrl(PathUrl).setMediaFormat(PKMediaFormat.dash);
+        source.setDrmData(new ArrayList<>(Collections.singletonList(new PKDrmParams("https://license", PKDrmParams.Scheme.WidevineCENC))));
+        List<PKMediaSource> sources = new ArrayList<>();
+        sources.add(source);
+
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("entryId", "0_abc");
+
+        PKMediaEntry template = new PKMediaEntry().setId("0_abc");
+        template.setName("name");
+        template.setDuration(60000);
+        template.setMediaType(PKMediaEntry.MediaEntryType.Vod);
+        template.setMetadata(metadata);
+        template.setSources(sources);
+        return template;
+    }
+
+    @Test
+    public void testKeepLastResultsDropsWidgetSession() {
+        String response = "[{\"objectType\":\"KalturaStartWidgetSessionResponse\",\"ks\":\"secret\"},{\"objectType\":\"KalturaBaseEntryListResponse\"}," +
+                "{\"objectType\":\"KalturaPlaybackContext\"},{\"objectType\":\"KalturaMetadataListResponse\"}]";
+
+        String stored = keepLastResults(response, 3);
+        assertFalse(stored.contains("secret"));
+        assertEquals("[{\"objectType\":\"KalturaBaseEntryListResponse\"},{\"objectType\":\"KalturaPlaybackContext\"},{\"objectType\":\"KalturaMetadataListResponse\"}]", stored);
+
+        assertSame(stored, keepLastResults(stored, 3)); // nothing to drop
+    }
+}
@@ -0,0 +1,101 @@
+package com.kaltura.playkit.providers.ovp;
+
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMediaEntry;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadata;
+import com.kaltura.playkit.providers.api.ovp.model.KalturaMetadataListResponse;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class OVPBulkEntriesTest extends TestCase {
+
+    private static final List<String> EntryIds = Arrays.asList("0_a", "0_b", "0_c");
+
+    private static KalturaMediaEntry entry(String id) {
+        KalturaMediaEntry entry = new KalturaMediaEntry();
+        entry.setId(id);
+        return entry;
+    }
+
+    private static KalturaMetadata metadata(String objectId, String xml) {
+        KalturaMetadata metadata = new KalturaMetadata();
+        metadata.objectId = objectId;
+        metadata.xml = xml;
+        return metadata;
+    }
+
+    private static KalturaMetadataListResponse metadataList(KalturaMetadata... objects) {
+        KalturaMetadataListResponse metadataList = new KalturaMetadataListResponse();
+        metadataList.objects = new ArrayList<>(Arrays.asList(objects));
+        return metadataList;
+    }
+
+    @Test
+    public void testEntriesFollowRequestedOrder() {
+        KalturaMediaEntry a = entry("0_a");
+        KalturaMediaEntry b = entry("0_b");
+        KalturaMediaEntry c = entry("0_c");
+
+        List<KalturaMediaEntry> entries = OVPBulkEntries.matchEntries(EntryIds, Arrays.asList(c, a, b));
+
+        assertEquals(3, entries.size());
+        assertSame(a, entries.get(0));
+        assertSame(b, entries.get(1));
+        assertSame(c, entries.get(2));
+    }
+
+    @Test
+    public void testMissingEntryLeavesNullSlot() {
+        KalturaMediaEntry c = entry("0_c");
+        KalturaMediaEntry a = entry("0_a");
+
+        List<KalturaMediaEntry> entries = OVPBulkEntries.matchEntries(EntryIds, Arrays.asList(c, entry("1_other"), a));
+
+        assertEquals(3, entries.size());
+        assertSame(a, entries.get(0));
+        assertNull(entries.get(1));
+        assertSame(c, entries.get(2));
+    }
+
+    @Test
+    public void testNoEntries() {
+        List<KalturaMediaEntry> entries = OVPBulkEntries.matchEntries(EntryIds, null);
+
+        assertEquals(3, entries.size());
+        for (KalturaMediaEntry entry : entries) {
+            assertNull(entry);
+        }
+    }
+
+    @Test
+    public void testMetadataGroupedByObjectId() {
+        KalturaMetadata c1 = metadata("0_c", "<c1/>");
+        KalturaMetadata a1 = metadata("0_a", "<a1/>");
+        KalturaMetadata c2 = metadata("0_c", "<c2/>");
+
+        List<KalturaMetadataListResponse> metadataLists = OVPBulkEntries.matchMetadata(EntryIds, metadataList(c1, a1, c2));
+
+        assertEquals(3, metadataLists.size());
+        assertEquals(1, metadataLists.get(0).objects.size());
+        assertSame(a1, metadataLists.get(0).objects.get(0));
+        assertNull(metadataLists.get(1));
+        assertEquals(2, metadataLists.get(2).objects.size());
+        assertSame(c1, metadataLists.get(2).objects.get(0));
+        assertSame(c2, metadataLists.get(2).objects.get(1));
+    }
+
+    @Test
+    public void testFailedMetadataListDoesntShiftEntries() {
+        List<KalturaMetadataListResponse> metadataLists = OVPBulkEntries.matchMetadata(EntryIds, null);
+
+        assertEquals(3, metadataLists.size());
+        for (KalturaMetadataListResponse metadataList : metadataLists) {
+            assertNull(metadataList);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.kaltura.playkit.providers.ovp;
+
+import com.kaltura.netkit.connect.response.ResultElement;
+import com.kaltura.netkit.utils.ErrorElement;
+import com.kaltura.netkit.utils.OnCompletion;
+import com.kaltura.playkit.PKPlaylistMedia;
+import com.kaltura.playkit.providers.api.SimpleSessionProvider;
+import com.kaltura.playkit.providers.base.BELoadHandle;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class OVPPagedPlaylistTest extends TestCase {
+
+    private static final int PageSize = 2;
+
+    /**
+     * Keeps the page loaders instead of running them, the test completes the pages.
+     */
+    private static class TestProvider extends KalturaOvpPlaylistProvider {
+
+        final List<OVPPagedPlaylist.PageLoader> pageLoaders = new ArrayList<>();
+
+        @Override
+        BELoadHandle submitPageLoader(Callable<Void> pageLoader) {
+            pageLoaders.add((OVPPagedPlaylist.PageLoader) pageLoader);
+            return CompletedLoad;
+        }
+    }
+
+    private static class Pages implements OnCompletion<ResultElement<List<PKPlaylistMedia>>> {
+
+        final List<ResultElement<List<PKPlaylistMedia>>> received = new ArrayList<>();
+
+        @Override
+        public void onComplete(ResultElement<List<PKPlaylistMedia>> result) {
+            received.add(result);
+        }
+    }
+
+    private TestProvider provider;
+    private OVPPagedPlaylist playlist;
+
+    @Override
+    protected void setUp() {
+        provider = new TestProvider();
+        playlist = new OVPPagedPlaylist(provider, null, new SimpleSessionProvider("https://api.test", 1, "ks"), "0_pl", PageSize);
+    }
+
+    private List<Integer> requestedPages() {
+        List<Integer> pageIndexes = new ArrayList<>();
+        for (OVPPagedPlaylist.PageLoader pageLoader : provider.pageLoaders) {
+            pageIndexes.add(pageLoader.pageIndex);
+        }
+        return pageIndexes;
+    }
+
+    private void completePage(int pageIndex, int mediaCount) {
+        List<PKPlaylistMedia> page = new ArrayList<>();
+        for (int i = 0; i < mediaCount; i++) {
+            page.add(new PKPlaylistMedia().setId("m" + (pageIndex * PageSize + i)));
+        }
+        for (OVPPagedPlaylist.PageLoader pageLoader : provider.pageLoaders) {
+            if (pageLoader.pageIndex == pageIndex) {
+                playlist.onPageLoaded(pageLoader.requestGeneration, pageIndex, page, null);
+            }
+        }
+    }
+
+    @Test
+    public void testFetchesPageAndReadsAhead() {
+        Pages pages = new Pages();
+        playlist.getPage(0, pages);
+
+        assertEquals(2, provider.pageLoaders.size());
+        assertEquals(0, (int) requestedPages().get(0));
+        assertEquals(1, (int) requestedPages().get(1));
+        assertTrue(pages.received.isEmpty());
+
+        completePage(0, PageSize);
+        assertEquals(1, pages.received.size());
+        assertEquals("m0", pages.received.get(0).getResponse().get(0).getId());
+        assertEquals(-1, playlist.getSize());
+    }
+
+    @Test
+    public void testPageInMemoryIsNotFetchedAgain() {
+        playlist.setPrefetchPages(0);
+        playlist.getPage(0, null);
+        completePage(0, PageSize);
+
+        Pages pages = new Pages();
+        playlist.getPage(0, pages);
+
+        assertEquals(1, provider.pageLoaders.size());
+        assertEquals(1, pages.received.size());
+        assertEquals("m1", playlist.peekMedia(1).getId());
+    }
+
+    @Test
+    public void testShortPageIsLastPage() {
+        playlist.getPage(0, null);
+        completePage(0, PageSize);
+        completePage(1, 1);
+
+        assertEquals(3, playlist.getSize());
+
+        // no read ahead past the last page
+        playlist.getPage(1, null);
+        assertEquals(2, provider.pageLoaders.size());
+    }
+
+    @Test
+    public void testEarlierShortPageWins() {
+        playlist.setPrefetchPages(0);
+        playlist.getPage(3, null);
+        playlist.getPage(1, null);
+        completePage(3, 0);
+        assertEquals(6, playlist.getSize());
+
+        completePage(1, 1);
+        assertEquals(3, playlist.getSize());
+    }
+
+    @Test
+    public void testEvictsFarthestPages() {
+        playlist.setPrefetchPages(0).setMaxPages(2);
+        for (int i = 0; i < 3; i++) {
+            playlist.getPage(i, null);
+            completePage(i, PageSize);
+        }
+
+        assertNull(playlist.peekMedia(0));
+        assertNotNull(playlist.peekMedia(2));
+        assertNotNull(playlist.peekMedia(4));
+
+        // back to the start, the page farthest from it goes
+        provider.pageLoaders.clear();
+        playlist.getPage(0, null);
+        completePage(0, PageSize);
+        assertNotNull(playlist.peekMedia(0));
+        assertNotNull(playlist.peekMedia(2));
+        assertNull(playlist.peekMedia(4));
+    }
+
+    @Test
+    public void testMediaOutOfPlaylist() {
+        final List<ResultElement<PKPlaylistMedia>> results = new ArrayList<>();
+        playlist.getMedia(1, results::add);
+        playlist.getMedia(2, results::add);
+        completePage(0, 1);
+        completePage(1, 0);
+
+        assertEquals(2, results.size());
+        assertEquals(ErrorElement.NotFound.getCode(), results.get(0).getError().getCode());
+        assertEquals(ErrorElement.NotFound.getCode(), results.get(1).getError().getCode());
+        assertEquals(1, playlist.getSize());
+    }
+
+    @Test
+    public void testCancelDropsPagesAndPendingResponses() {
+        Pages pages = new Pages();
+        playlist.getPage(0, pages);
+        playlist.cancel();
+        completePage(0, PageSize);
+
+        assertTrue(pages.received.isEmpty());
+        assertNull(playlist.peekMedia(0));
+    }
+
+    @Test
+    public void testInvalidPageIndex() {
+        Pages pages = new Pages();
+        playlist.getPage(-1, pages);
+
+        assertTrue(provider.pageLoaders.isEmpty());
+        assertEquals(ErrorElement.BadRequestError.getCode(), pages.received.get(0).getError().getCode());
+    }
+}